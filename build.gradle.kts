@@ -2,14 +2,21 @@ plugins {
     java
     id("org.springframework.boot") version "4.0.0"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
+// AOT 플러그인은 플러그인 포털에 따로 배포되지 않으므로 Spring Boot 플러그인 jar에서 ID로 적용한다
+apply(plugin = "org.springframework.boot.aot")
+
 group = "com.cjenm"
 version = "0.0.1-SNAPSHOT"
 
+// 기본은 Java 17. 가상 스레드 변형은 -PjavaVersion=21 (또는 그 이상)로 빌드한다
+val targetJavaVersion = providers.gradleProperty("javaVersion").map { it.toInt() }.getOrElse(17)
+
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(targetJavaVersion)
     }
 }
 
@@ -28,11 +35,87 @@ dependencyManagement {
 
 dependencies {
     implementation("org.springframework.ai:spring-ai-starter-mcp-server-webmvc")
-    implementation("com.vladsch.flexmark:flexmark-all:0.64.8")
+    implementation("com.vladsch.flexmark:flexmark:0.64.8")
+    implementation("com.vladsch.flexmark:flexmark-ext-tables:0.64.8")
+    implementation("com.vladsch.flexmark:flexmark-ext-gfm-strikethrough:0.64.8")
+    implementation("com.vladsch.flexmark:flexmark-ext-gfm-tasklist:0.64.8")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    if (targetJavaVersion >= 21) {
+        // 가상 스레드가 캐리어 스레드에 고정되면 스택을 출력한다 (VirtualThreadPinningTest)
+        jvmArgs("-Djdk.tracePinnedThreads=full")
+    }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    benchmarkMode = listOf("thrpt", "avgt", "sample")
+    timeUnit = "us"
+    profilers = listOf("gc")
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+}
+
+// stdio 빠른 시작: AOT 초기화 코드는 stdio 프로파일 기준으로 만든다 (-Dspring.aot.enabled=true일 때만 사용)
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=stdio")
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds/application")
+val cdsJar = cdsDirectory.map { it.file("${project.name}-${project.version}.jar") }
+val cdsArchive = layout.buildDirectory.file("cds/application.jsa")
+val javaExecutable = javaToolchains.launcherFor(java.toolchain).map { it.executablePath.asFile.absolutePath }
+
+val extractCdsJar by tasks.registering(Exec::class) {
+    description = "CDS 아카이브를 만들 수 있도록 실행 jar를 풀어 놓는다"
+    group = "build"
+    dependsOn(tasks.bootJar)
+    inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+    outputs.dir(cdsDirectory)
+    doFirst { delete(cdsDirectory) }
+    commandLine(javaExecutable.get(), "-Djarmode=tools", "-jar",
+        tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+        "extract", "--destination", cdsDirectory.get().asFile.absolutePath)
+}
+
+val trainCdsArchive by tasks.registering(JavaExec::class) {
+    description = "stdio 세션으로 변환을 수행하는 훈련 실행으로 CDS 아카이브(build/cds/application.jsa)를 만든다"
+    group = "build"
+    dependsOn(extractCdsJar)
+    inputs.file(cdsJar)
+    outputs.file(cdsArchive)
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "com.cjenm.confluence.mcp.startup.CdsTrainingRun"
+    args(javaExecutable.get(), cdsJar.get().asFile.absolutePath, cdsArchive.get().asFile.absolutePath)
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    description = "stdio 모드의 실행부터 첫 도구 응답까지 걸리는 시간을 시작 방식별로 측정한다"
+    group = "verification"
+    dependsOn(trainCdsArchive)
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "com.cjenm.confluence.mcp.startup.StartupBenchmark"
+    args(javaExecutable.get(), tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+        cdsJar.get().asFile.absolutePath, cdsArchive.get().asFile.absolutePath,
+        providers.gradleProperty("startupRuns").getOrElse("10"))
+}
+
+tasks.register<JavaExec>("loadTest") {
+    description = "HTTP 모드에서 동시 세션 수만큼 도구를 호출하여 플랫폼 스레드와 가상 스레드의 처리량, p99를 비교한다"
+    group = "verification"
+    dependsOn(tasks.bootJar)
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "com.cjenm.confluence.mcp.load.LoadTest"
+    args(javaExecutable.get(), tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+        providers.gradleProperty("loadSessions").getOrElse("1000"),
+        providers.gradleProperty("loadCallsPerSession").getOrElse("20"))
 }
@@ -0,0 +1,196 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.template.TemplateRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link ConfluenceConverter#convert(String, ConvertOptions)} 벤치마크.
+ * <p>
+ * 처리량, 평균/p99 지연(sample 모드), gc 프로파일러의 op당 할당 바이트를 함께 측정한다.
+ * 실행: {@code ./gradlew jmh}
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConversionBenchmark {
+
+    /**
+     * 입력 크기와 기능 구성별 코퍼스.
+     */
+    @State(Scope.Benchmark)
+    public static class CorpusState {
+
+        @Param({"1KB", "64KB", "1MB", "5MB"})
+        public String size;
+
+        @Param({"MIXED", "TABLE", "CODE", "NESTED_LIST"})
+        public MarkdownCorpus.Mix mix;
+
+        ConfluenceConverter converter;
+        ConfluenceConverter parallelConverter;
+        String markdown;
+        ConvertOptions options;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            converter = new ConfluenceConverter();
+            parallelConverter = new ConfluenceConverter(ConversionMetrics.noop(), ConverterProperties.defaults());
+            markdown = MarkdownCorpus.generate(mix, MarkdownCorpus.parseSize(size));
+            options = ConvertOptions.withTheme("Midnight");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            parallelConverter.shutdown();
+        }
+    }
+
+    /**
+     * 내장 템플릿 코퍼스.
+     */
+    @State(Scope.Benchmark)
+    public static class TemplateState {
+
+        @Param({"basic-doc", "table-doc", "api-doc", "meeting-note"})
+        public String templateId;
+
+        ConfluenceConverter converter;
+        String markdown;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            converter = new ConfluenceConverter();
+            markdown = new TemplateRepository().findById(templateId).orElseThrow().content();
+        }
+    }
+
+    /**
+     * 깊게 중첩된 단일 리스트. 아이템 수에 대해 선형으로 늘어나는지 확인한다.
+     */
+    @State(Scope.Benchmark)
+    public static class DeepListState {
+
+        @Param({"1000", "10000"})
+        public int items;
+
+        @Param({"8"})
+        public int depth;
+
+        ConfluenceConverter converter;
+        String markdown;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            converter = new ConfluenceConverter();
+            markdown = MarkdownCorpus.nestedList(items, depth);
+        }
+    }
+
+    /**
+     * 단락만 있는 짧은 입력. 빠른 경로와 AST를 거치는 전체 파이프라인을 비교한다.
+     */
+    @State(Scope.Benchmark)
+    public static class PlainTextState {
+
+        @Param({"1", "5", "20"})
+        public int paragraphs;
+
+        ConfluenceConverter converter;
+        String markdown;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            converter = new ConfluenceConverter();
+            markdown = MarkdownCorpus.plainParagraphs(paragraphs);
+        }
+    }
+
+    /**
+     * 여러 스레드가 계속 변환하는 부하. 출력 버퍼 풀({@link RenderBuffers})을 켜고 끈 경우의
+     * 할당률(gc.alloc.rate, gc.alloc.rate.norm)과 young GC 횟수(gc.count)를 비교한다.
+     */
+    @State(Scope.Benchmark)
+    public static class SustainedLoadState {
+
+        @Param({"4KB", "16KB", "64KB", "256KB"})
+        public String size;
+
+        @Param({"true", "false"})
+        public boolean pooled;
+
+        ConfluenceConverter converter;
+        String markdown;
+        ConvertOptions options;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RenderBuffers.setEnabled(pooled);
+            converter = new ConfluenceConverter();
+            markdown = MarkdownCorpus.generate(MarkdownCorpus.Mix.MIXED, MarkdownCorpus.parseSize(size));
+            options = ConvertOptions.withTheme("Midnight");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            RenderBuffers.setEnabled(true);
+        }
+    }
+
+    @Benchmark
+    public String convertCorpus(CorpusState state) {
+        return state.converter.convert(state.markdown, state.options);
+    }
+
+    /**
+     * 기본 설정(1MB 이상 병렬)의 변환기. 1MB 미만 코퍼스에서는 convertCorpus와 같은 순차 경로다.
+     */
+    @Benchmark
+    public String convertCorpusParallel(CorpusState state) {
+        return state.parallelConverter.convert(state.markdown, state.options);
+    }
+
+    @Benchmark
+    public void convertCorpusStreaming(CorpusState state) throws IOException {
+        state.converter.convert(new StringReader(state.markdown), Writer.nullWriter(), state.options);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String convertSustained(SustainedLoadState state) {
+        return state.converter.convert(state.markdown, state.options);
+    }
+
+    @Benchmark
+    public String convertTemplate(TemplateState state) {
+        return state.converter.convert(state.markdown, ConvertOptions.defaults());
+    }
+
+    @Benchmark
+    public String convertDeepList(DeepListState state) {
+        return state.converter.convert(state.markdown, ConvertOptions.defaults());
+    }
+
+    @Benchmark
+    public String convertPlainText(PlainTextState state) {
+        return state.converter.convert(state.markdown, ConvertOptions.defaults());
+    }
+
+    @Benchmark
+    public String convertPlainTextFullPipeline(PlainTextState state) {
+        String raw = state.converter.renderFragment(state.markdown, ConvertOptions.defaults());
+        return ConfluencePostProcessor.process(raw);
+    }
+}
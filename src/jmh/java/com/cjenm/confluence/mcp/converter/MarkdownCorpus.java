@@ -0,0 +1,133 @@
+package com.cjenm.confluence.mcp.converter;
+
+/**
+ * 벤치마크용 마크다운 코퍼스 생성기.
+ * <p>
+ * 기능 구성별 섹션을 목표 크기에 도달할 때까지 반복하여 결정적인 입력을 만든다.
+ */
+public final class MarkdownCorpus {
+
+    /**
+     * 코퍼스의 기능 구성.
+     */
+    public enum Mix {
+        /** 제목, 단락, 리스트, 코드, 테이블, 인용문이 골고루 섞인 일반 문서 */
+        MIXED,
+        /** 테이블 위주 문서 */
+        TABLE,
+        /** 코드 블록 위주 문서 */
+        CODE,
+        /** 깊게 중첩된 리스트 위주 문서 */
+        NESTED_LIST
+    }
+
+    private MarkdownCorpus() {
+    }
+
+    /**
+     * 크기 표기("1KB", "64KB", "1MB", "5MB")를 바이트 수로 해석한다.
+     */
+    public static int parseSize(String size) {
+        String upper = size.trim().toUpperCase();
+        if (upper.endsWith("MB")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 2)) * 1024 * 1024;
+        }
+        if (upper.endsWith("KB")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(upper);
+    }
+
+    /**
+     * 지정한 구성으로 대략 targetSize 문자 길이의 마크다운을 생성한다.
+     */
+    public static String generate(Mix mix, int targetSize) {
+        var sb = new StringBuilder(targetSize + 4096);
+        int section = 0;
+        while (sb.length() < targetSize) {
+            switch (mix) {
+                case MIXED -> appendMixedSection(sb, section);
+                case TABLE -> appendTableSection(sb, section);
+                case CODE -> appendCodeSection(sb, section);
+                case NESTED_LIST -> appendNestedListSection(sb, section, 8);
+            }
+            section++;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * items개의 아이템이 depth 단계까지 톱니 모양으로 중첩된 하나의 리스트를 생성한다.
+     * 단계마다 글머리 기호와 번호 리스트를 번갈아 사용한다.
+     */
+    public static String nestedList(int items, int depth) {
+        var sb = new StringBuilder(items * 32);
+        for (int i = 0; i < items; i++) {
+            int level = i % depth;
+            sb.append("  ".repeat(level * 2))
+                    .append(level % 2 == 0 ? "- " : "1. ")
+                    .append("항목 ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 굵게, 기울임, 인라인 코드, 링크만 있는 짧은 단락 paragraphs개. 빠른 경로로 변환되는 입력이다.
+     */
+    public static String plainParagraphs(int paragraphs) {
+        var sb = new StringBuilder(paragraphs * 160);
+        for (int i = 0; i < paragraphs; i++) {
+            sb.append("변경 사항 ").append(i).append("은 **중요**하며 *검토*가 필요합니다. `config.yml`의 ")
+                    .append("설정을 확인하세요.\n자세한 내용은 [문서](https://example.com/docs/").append(i)
+                    .append(")를 참고하세요.\n\n");
+        }
+        return sb.toString();
+    }
+
+    private static void appendMixedSection(StringBuilder sb, int n) {
+        sb.append("## 섹션 ").append(n).append("\n\n");
+        sb.append("이 단락은 **굵은 글씨**와 _기울임_, ~~취소선~~, `inline {code}`, ")
+                .append("[링크](https://example.com/docs/").append(n).append(")를 포함합니다.\n")
+                .append("두 번째 줄은 {중괄호}와 일반 텍스트로 구성됩니다.\n\n");
+        sb.append("- 항목 하나\n  - 하위 항목\n- 항목 둘\n- [ ] 할 일\n- [x] 완료\n\n");
+        sb.append("1. 첫째\n2. 둘째\n\n");
+        sb.append("> 인용문 ").append(n).append("\n\n");
+        appendTable(sb, n, 3);
+        sb.append("```java\npublic int section").append(n).append("() {\n    return ")
+                .append(n).append(";\n}\n```\n\n");
+        sb.append("---\n\n");
+    }
+
+    private static void appendTableSection(StringBuilder sb, int n) {
+        sb.append("### 테이블 ").append(n).append("\n\n");
+        appendTable(sb, n, 20);
+    }
+
+    private static void appendTable(StringBuilder sb, int n, int rows) {
+        sb.append("| 코드 | 상태 | 설명 | 비고 |\n|------|------|------|------|\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append("| ").append(n * 100 + i).append(" | **OK** | 요청 `").append(i)
+                    .append("` 처리 | {값} |\n");
+        }
+        sb.append('\n');
+    }
+
+    private static void appendCodeSection(StringBuilder sb, int n) {
+        sb.append("### 예제 ").append(n).append("\n\n");
+        sb.append("```json\n{\n  \"id\": ").append(n).append(",\n  \"items\": [\n");
+        for (int i = 0; i < 10; i++) {
+            sb.append("    { \"name\": \"item-").append(i).append("\", \"value\": ").append(i).append(" },\n");
+        }
+        sb.append("  ]\n}\n```\n\n");
+        sb.append("    indented code ").append(n).append("\n    second line\n\n");
+    }
+
+    private static void appendNestedListSection(StringBuilder sb, int n, int depth) {
+        for (int level = 0; level < depth; level++) {
+            sb.append("  ".repeat(level * 2))
+                    .append(level % 2 == 0 ? "- " : "1. ")
+                    .append("항목 ").append(n).append('.').append(level).append(" **강조**\n");
+        }
+        sb.append('\n');
+    }
+}
@@ -0,0 +1,196 @@
+package com.cjenm.confluence.mcp.load;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cjenm.confluence.mcp.converter.MarkdownCorpus;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * HTTP(SSE) 모드 부하 테스트.
+ * <p>
+ * 서버를 플랫폼 스레드(기본 설정)와 가상 스레드({@code virtual-threads} 프로파일)로 차례로 띄우고,
+ * 동시 세션 수만큼 MCP 클라이언트를 연결해 세션마다 {@code convertMarkdown}을 연속 호출한다.
+ * 방식별 처리량(호출/초)과 지연 분포(p50, p99, 최대), 실패 수를 출력한다.
+ * 실행: {@code ./gradlew loadTest -PjavaVersion=21 [-PloadSessions=1000] [-PloadCallsPerSession=20]}
+ * <p>
+ * 진입 제어({@code converter.admission.*})가 과부하 요청을 거절하면 스레드 모델이 아니라 거절 수를 재게
+ * 되므로, 대기열을 세션 수만큼 늘리고 대기 시간을 길게 두어 요청이 모두 처리되게 한다.
+ * <p>
+ * 인자: java 실행 파일, 실행 jar, 동시 세션 수, 세션당 호출 수
+ */
+public final class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(120);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = args[0];
+        String jar = args[1];
+        int sessions = Integer.parseInt(args[2]);
+        int callsPerSession = Integer.parseInt(args[3]);
+        String markdown = MarkdownCorpus.generate(MarkdownCorpus.Mix.MIXED, 4 * 1024);
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java " + Runtime.version().feature()
+                    + "에서는 가상 스레드를 쓸 수 없어 두 방식이 같습니다. -PjavaVersion=21로 실행하세요.");
+        }
+        System.out.printf("%-9s %8s %10s %8s %8s %8s %8s  (ms, 세션 %d개 × 호출 %d회, 입력 %,d자)%n",
+                "threads", "calls", "calls/s", "p50", "p99", "max", "errors",
+                sessions, callsPerSession, markdown.length());
+        for (String mode : List.of("platform", "virtual")) {
+            int port = freePort();
+            List<String> command = new ArrayList<>(List.of(java, "-jar", jar,
+                    "--server.port=" + port,
+                    "--converter.admission.max-queued=" + sessions,
+                    "--converter.admission.queue-timeout-millis=" + REQUEST_TIMEOUT.toMillis()));
+            if (mode.equals("virtual")) {
+                command.add("--spring.profiles.active=virtual-threads");
+            }
+            Process server = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                String baseUrl = "http://localhost:" + port;
+                awaitHealthy(baseUrl);
+                Result result = run(baseUrl, sessions, callsPerSession, markdown);
+                long[] millis = result.latencyMillis();
+                System.out.printf("%-9s %8d %10.1f %8d %8d %8d %8d%n", mode, millis.length,
+                        result.callsPerSecond(), percentile(millis, 0.50), percentile(millis, 0.99),
+                        millis.length == 0 ? 0 : millis[millis.length - 1], result.errors());
+            } finally {
+                server.destroy();
+                if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                    server.destroyForcibly().waitFor();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param latencyMillis 성공한 호출의 지연 (오름차순)
+     */
+    private record Result(long[] latencyMillis, int errors, double callsPerSecond) {
+    }
+
+    /**
+     * 세션을 모두 연결한 뒤 동시에 호출을 시작하고, 마지막 호출이 끝날 때까지의 처리량과 지연을 잰다.
+     */
+    private static Result run(String baseUrl, int sessions, int callsPerSession, String markdown)
+            throws InterruptedException {
+        var connected = new CountDownLatch(sessions);
+        var start = new CountDownLatch(1);
+        var finished = new CountDownLatch(sessions);
+        var errors = new AtomicInteger();
+        var startNanos = new AtomicLong();
+        long[][] latencies = new long[sessions][];
+        var request = new McpSchema.CallToolRequest("convertMarkdown", Map.of("markdown", markdown));
+
+        for (int i = 0; i < sessions; i++) {
+            int session = i;
+            Thread thread = new Thread(() -> {
+                long[] nanos = new long[callsPerSession];
+                int completed = 0;
+                boolean ready = false;
+                McpSyncClient client = null;
+                try {
+                    client = McpClient.sync(HttpClientSseClientTransport.builder(baseUrl).build())
+                            .requestTimeout(REQUEST_TIMEOUT)
+                            .build();
+                    client.initialize();
+                    ready = true;
+                    connected.countDown();
+                    start.await();
+                    for (int call = 0; call < callsPerSession; call++) {
+                        long callStart = System.nanoTime();
+                        McpSchema.CallToolResult result = client.callTool(request);
+                        if (Boolean.TRUE.equals(result.isError())) {
+                            errors.incrementAndGet();
+                        } else {
+                            nanos[completed++] = System.nanoTime() - callStart;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    errors.addAndGet(callsPerSession - completed);
+                } finally {
+                    if (client != null) {
+                        client.closeGracefully();
+                    }
+                    if (!ready) {
+                        connected.countDown();
+                    }
+                    latencies[session] = Arrays.copyOf(nanos, completed);
+                    finished.countDown();
+                }
+            }, "load-session-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        connected.await();
+        startNanos.set(System.nanoTime());
+        start.countDown();
+        finished.await();
+        long elapsedNanos = System.nanoTime() - startNanos.get();
+
+        long[] millis = Arrays.stream(latencies)
+                .flatMapToLong(Arrays::stream)
+                .map(TimeUnit.NANOSECONDS::toMillis)
+                .sorted()
+                .toArray();
+        return new Result(millis, errors.get(), millis.length / (elapsedNanos / 1e9));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static void awaitHealthy(String baseUrl) throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newHttpClient();
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 시작 중
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("서버가 " + STARTUP_TIMEOUT.toSeconds() + "초 안에 시작되지 않았습니다: " + baseUrl);
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cjenm.confluence.mcp.startup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import com.cjenm.confluence.mcp.converter.MarkdownCorpus;
+
+/**
+ * stdio 빠른 시작용 CDS 아카이브를 만드는 훈련 실행.
+ * <p>
+ * 풀어 놓은 jar를 {@code -XX:ArchiveClassesAtExit}로 띄워 실제 세션처럼 초기화하고 여러 구성의 문서를
+ * 변환한 뒤 정상 종료시킨다. 스프링 컨텍스트뿐 아니라 첫 변환에 쓰이는 flexmark, 렌더러, JSON 직렬화
+ * 클래스까지 아카이브에 들어간다.
+ * 실행: {@code ./gradlew trainCdsArchive}
+ * <p>
+ * 인자: java 실행 파일, 풀어 놓은 jar, 아카이브 경로
+ */
+public final class CdsTrainingRun {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private CdsTrainingRun() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = args[0];
+        String jar = args[1];
+        Path archive = Path.of(args[2]);
+        Files.deleteIfExists(archive);
+
+        List<String> command = List.of(java, "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.aot.enabled=true", "-Dspring.profiles.active=stdio", "-jar", jar);
+        try (var session = StdioSession.start(command, TIMEOUT)) {
+            for (MarkdownCorpus.Mix mix : MarkdownCorpus.Mix.values()) {
+                convert(session, MarkdownCorpus.generate(mix, 16 * 1024));
+            }
+            convert(session, MarkdownCorpus.plainParagraphs(3));
+            session.callTool("convertTemplate", "{\"templateId\":\"api-doc\",\"theme\":\"Midnight\"}", TIMEOUT);
+        }
+
+        if (!Files.isRegularFile(archive)) {
+            throw new IllegalStateException("CDS 아카이브가 만들어지지 않았습니다: " + archive);
+        }
+        System.out.printf("CDS 아카이브: %s (%,d bytes)%n", archive, Files.size(archive));
+    }
+
+    private static void convert(StdioSession session, String markdown) throws Exception {
+        session.callTool("convertMarkdown",
+                "{\"markdown\":" + StdioSession.quote(markdown) + ",\"theme\":\"Midnight\"}", TIMEOUT);
+    }
+}
@@ -0,0 +1,104 @@
+package com.cjenm.confluence.mcp.startup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * stdio 모드의 시작 시간 벤치마크.
+ * <p>
+ * 에이전트가 세션마다 서버를 새로 띄우는 상황을 재현하여, 프로세스 실행부터 첫 {@code convertMarkdown}
+ * 성공 응답까지의 시간을 시작 방식별로 여러 번 측정하고 최소/중앙값/최대를 출력한다. 첫 응답 직후
+ * 서버 프로세스의 상주 메모리(RSS)와 실행 jar, 의존성 jar 크기도 함께 출력하여 의존성을 줄이기 전후를
+ * 비교할 수 있게 한다.
+ * 실행: {@code ./gradlew startupBenchmark [-PstartupRuns=10]}
+ * <ul>
+ *     <li>{@code jar} — 실행 jar를 그대로 실행</li>
+ *     <li>{@code aot} — 풀어 놓은 jar + Spring AOT 초기화 코드</li>
+ *     <li>{@code aot+cds} — 위에 훈련 실행으로 만든 CDS 아카이브 추가</li>
+ * </ul>
+ * 인자: java 실행 파일, 실행 jar, 풀어 놓은 jar, CDS 아카이브 경로, 방식별 측정 횟수
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+    private static final String FIRST_CALL = "{\"markdown\":"
+            + StdioSession.quote("# 시작\n\n**굵게** 와 `코드`\n\n| a | b |\n|---|---|\n| 1 | 2 |\n")
+            + "}";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = args[0];
+        String bootJar = args[1];
+        String extractedJar = args[2];
+        Path archive = Path.of(args[3]);
+        int runs = Integer.parseInt(args[4]);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jar", List.of(java, "-Dspring.profiles.active=stdio", "-jar", bootJar));
+        modes.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-Dspring.profiles.active=stdio",
+                "-jar", extractedJar));
+        if (Files.isRegularFile(archive)) {
+            modes.put("aot+cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+                    "-Dspring.aot.enabled=true", "-Dspring.profiles.active=stdio", "-jar", extractedJar));
+        }
+
+        // 디스크 캐시를 데우기 위한 실행은 측정하지 않는다
+        for (List<String> command : modes.values()) {
+            measure(command);
+        }
+
+        Path lib = Path.of(extractedJar).resolveSibling("lib");
+        System.out.printf("실행 jar: %,d bytes%n", Files.size(Path.of(bootJar)));
+        if (Files.isDirectory(lib)) {
+            try (Stream<Path> jars = Files.list(lib)) {
+                List<Path> dependencies = jars.toList();
+                long bytes = 0;
+                for (Path jar : dependencies) {
+                    bytes += Files.size(jar);
+                }
+                System.out.printf("의존성 jar: %d개, %,d bytes%n", dependencies.size(), bytes);
+            }
+        }
+
+        System.out.printf("%-8s %8s %8s %8s %10s  (ms, 실행부터 첫 도구 응답까지, %d회)%n",
+                "mode", "min", "median", "max", "RSS(MiB)", runs);
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] millis = new long[runs];
+            long[] residentKiB = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Sample sample = measure(mode.getValue());
+                millis[i] = sample.millis();
+                residentKiB[i] = sample.residentKiB();
+            }
+            Arrays.sort(millis);
+            Arrays.sort(residentKiB);
+            long medianKiB = residentKiB[runs / 2];
+            System.out.printf("%-8s %8d %8d %8d %10s%n", mode.getKey(), millis[0], millis[runs / 2], millis[runs - 1],
+                    medianKiB < 0 ? "-" : Long.toString(medianKiB / 1024));
+        }
+    }
+
+    /** 한 번의 측정. RSS를 알 수 없으면 residentKiB는 -1 */
+    private record Sample(long millis, long residentKiB) {
+    }
+
+    /**
+     * 서버를 띄워 첫 도구 호출에 성공할 때까지의 시간과 그 직후의 RSS를 잰다.
+     */
+    private static Sample measure(List<String> command) throws Exception {
+        long start = System.nanoTime();
+        try (var session = StdioSession.start(command, TIMEOUT)) {
+            session.callTool("convertMarkdown", FIRST_CALL, TIMEOUT);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return new Sample(millis, session.residentKiB());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.cjenm.confluence.mcp.startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * stdio 모드로 띄운 서버 프로세스와 JSON-RPC 메시지를 주고받는 최소한의 MCP 클라이언트.
+ * <p>
+ * 시작 시간 측정과 CDS 훈련 실행에서 함께 쓴다. 응답은 JSON으로 해석하지 않고 요청 id와 결과 필드만 확인한다.
+ */
+final class StdioSession implements AutoCloseable {
+
+    private static final String END_OF_OUTPUT = "\0EOF\0";
+
+    private final Process process;
+    private final OutputStream stdin;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private int nextId = 1;
+
+    private StdioSession(Process process) {
+        this.process = process;
+        this.stdin = process.getOutputStream();
+        Thread reader = new Thread(this::readOutput, "stdio-session-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * 명령을 실행하고 MCP 초기화 핸드셰이크까지 마친다.
+     */
+    static StdioSession start(List<String> command, Duration timeout) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        var session = new StdioSession(process);
+        try {
+            session.request("initialize", """
+                    {"protocolVersion":"2024-11-05","capabilities":{},\
+                    "clientInfo":{"name":"startup-benchmark","version":"1.0"}}""", timeout);
+            session.send("""
+                    {"jsonrpc":"2.0","method":"notifications/initialized"}""");
+            return session;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 도구를 호출하고 성공 응답을 받을 때까지 기다린다.
+     *
+     * @param arguments 도구 인자 JSON 객체
+     * @return 응답 메시지
+     */
+    String callTool(String name, String arguments, Duration timeout) throws IOException, InterruptedException {
+        String response = request("tools/call",
+                "{\"name\":" + quote(name) + ",\"arguments\":" + arguments + "}", timeout);
+        if (response.contains("\"isError\":true")) {
+            throw new IllegalStateException("도구 호출이 실패했습니다: " + response);
+        }
+        return response;
+    }
+
+    private String request(String method, String params, Duration timeout) throws IOException, InterruptedException {
+        int id = nextId++;
+        send("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":" + quote(method) + ",\"params\":" + params + "}");
+
+        String idField = "\"id\":" + id + ",";
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            String line = lines.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (line == null) {
+                throw new IllegalStateException(method + " 응답을 " + timeout.toSeconds() + "초 안에 받지 못했습니다");
+            }
+            if (line == END_OF_OUTPUT) {
+                throw new IllegalStateException("서버가 " + method + " 응답 전에 종료되었습니다");
+            }
+            if (line.contains(idField) || line.endsWith("\"id\":" + id + "}")) {
+                if (!line.contains("\"result\"")) {
+                    throw new IllegalStateException(method + " 요청이 실패했습니다: " + line);
+                }
+                return line;
+            }
+        }
+    }
+
+    /**
+     * 서버 프로세스의 상주 메모리(RSS, KiB). {@code /proc}이 없는 운영체제에서는 -1.
+     */
+    long residentKiB() {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // 지원하지 않는 운영체제
+        }
+        return -1;
+    }
+
+    private void send(String message) throws IOException {
+        stdin.write((message + "\n").getBytes(StandardCharsets.UTF_8));
+        stdin.flush();
+    }
+
+    /** 표준 출력에서 JSON 메시지 줄만 모은다 */
+    private void readOutput() {
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("{")) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료
+        } finally {
+            lines.add(END_OF_OUTPUT);
+        }
+    }
+
+    static String quote(String value) {
+        var sb = new StringBuilder(value.length() + 16).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * 서버를 정상 종료(SIGTERM)시키고 끝날 때까지 기다린다. CDS 아카이브는 이때 기록된다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            stdin.close();
+        } catch (IOException ignored) {
+            // 이미 종료됨
+        }
+        process.destroy();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
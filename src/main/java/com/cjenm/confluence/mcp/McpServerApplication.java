@@ -1,28 +1,73 @@
 package com.cjenm.confluence.mcp;
 
+import java.util.List;
+
+import com.cjenm.confluence.mcp.tool.ConversionPageTool;
 import com.cjenm.confluence.mcp.tool.ConverterTool;
+import com.cjenm.confluence.mcp.tool.ExportTool;
+import com.cjenm.confluence.mcp.tool.FileConverterTool;
+import com.cjenm.confluence.mcp.tool.MarkdownDiffTool;
+import com.cjenm.confluence.mcp.tool.MetricsTool;
 import com.cjenm.confluence.mcp.tool.TemplateTool;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServer;
 
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class McpServerApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(McpServerApplication.class, args);
     }
 
+    /**
+     * 지연 초기화(stdio 프로파일)에서도 MCP 서버는 시작할 때 만들어 바로 요청을 받게 한다.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter mcpServerEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(McpSyncServer.class);
+    }
+
     @Bean
     public ToolCallbackProvider converterTools(ConverterTool converterTool) {
         return MethodToolCallbackProvider.builder().toolObjects(converterTool).build();
     }
 
+    @Bean
+    public ToolCallbackProvider pageTools(ConversionPageTool conversionPageTool) {
+        return MethodToolCallbackProvider.builder().toolObjects(conversionPageTool).build();
+    }
+
+    @Bean
+    public ToolCallbackProvider diffTools(MarkdownDiffTool markdownDiffTool) {
+        return MethodToolCallbackProvider.builder().toolObjects(markdownDiffTool).build();
+    }
+
     @Bean
     public ToolCallbackProvider templateTools(TemplateTool templateTool) {
         return MethodToolCallbackProvider.builder().toolObjects(templateTool).build();
     }
+
+    @Bean
+    public ToolCallbackProvider fileTools(FileConverterTool fileConverterTool) {
+        return MethodToolCallbackProvider.builder().toolObjects(fileConverterTool).build();
+    }
+
+    @Bean
+    public List<SyncToolSpecification> exportTools(ExportTool exportTool) {
+        return exportTool.toolSpecifications();
+    }
+
+    @Bean
+    public ToolCallbackProvider metricsTools(MetricsTool metricsTool) {
+        return MethodToolCallbackProvider.builder().toolObjects(metricsTool).build();
+    }
 }
@@ -0,0 +1,176 @@
+package com.cjenm.confluence.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 변환기 설정 ({@code converter.*}).
+ *
+ * @param cache       변환 결과 캐시 설정
+ * @param batch       일괄 변환 설정
+ * @param incremental 증분 변환 설정
+ * @param parallel    큰 문서 병렬 변환 설정
+ * @param files       파일 변환 설정
+ * @param export      디렉터리 일괄 내보내기 설정
+ * @param admission   변환 도구 진입 제어 설정
+ * @param pages       변환 결과 페이지 조회 설정
+ */
+@ConfigurationProperties("converter")
+public record ConverterProperties(
+        @DefaultValue Cache cache,
+        @DefaultValue Batch batch,
+        @DefaultValue Incremental incremental,
+        @DefaultValue Parallel parallel,
+        @DefaultValue FileAccess files,
+        @DefaultValue Export export,
+        @DefaultValue Admission admission,
+        @DefaultValue Pages pages) {
+
+    /**
+     * 변환 결과 캐시 설정 ({@code converter.cache.*}).
+     *
+     * @param enabled            캐시 사용 여부. 기본값은 사용 안 함
+     * @param maximumWeightBytes 캐시에 보관할 마크다운과 결과의 합계 바이트 상한
+     */
+    public record Cache(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("67108864") long maximumWeightBytes) {
+    }
+
+    /**
+     * 일괄 변환 설정 ({@code converter.batch.*}).
+     *
+     * @param parallelism 일괄 변환에 쓰는 작업 스레드 수 상한. 0 이하이면 CPU 코어 수의 절반
+     * @param maxItems    한 번의 호출에서 받을 수 있는 최대 문서 수
+     */
+    public record Batch(
+            @DefaultValue("0") int parallelism,
+            @DefaultValue("500") int maxItems) {
+
+        public int effectiveParallelism() {
+            return parallelism > 0
+                    ? parallelism
+                    : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+    }
+
+    /**
+     * 증분 변환 설정 ({@code converter.incremental.*}).
+     *
+     * @param enabled            증분 변환 사용 여부. 기본값은 사용 안 함
+     * @param minDocumentChars   증분 변환을 적용할 최소 문서 크기 (문자 수)
+     * @param minChunkChars      문서를 나눌 조각의 최소 크기 (문자 수)
+     * @param maximumWeightBytes 조각별 렌더링 결과 캐시의 바이트 상한
+     */
+    public record Incremental(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("65536") int minDocumentChars,
+            @DefaultValue("2048") int minChunkChars,
+            @DefaultValue("67108864") long maximumWeightBytes) {
+    }
+
+    /**
+     * 큰 문서 병렬 변환 설정 ({@code converter.parallel.*}).
+     *
+     * @param thresholdChars 병렬 변환을 적용할 최소 문서 크기 (문자 수). 0 이하이면 사용 안 함
+     * @param parallelism    병렬 변환 작업 스레드 수. 0 이하이면 CPU 코어 수
+     * @param minChunkChars  문서를 나눌 조각의 최소 크기 (문자 수)
+     */
+    public record Parallel(
+            @DefaultValue("1048576") int thresholdChars,
+            @DefaultValue("0") int parallelism,
+            @DefaultValue("16384") int minChunkChars) {
+
+        public boolean enabled() {
+            return thresholdChars > 0;
+        }
+
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+
+        public static Parallel disabled() {
+            return new Parallel(0, 0, 16 * 1024);
+        }
+    }
+
+    /**
+     * 파일 변환 설정 ({@code converter.files.*}).
+     *
+     * @param root               변환할 파일을 읽고 결과를 쓸 수 있는 루트 디렉터리. 비어 있으면 파일 변환을 허용하지 않음
+     * @param mmapThresholdBytes 이 크기 이상인 파일은 메모리 매핑으로 읽음
+     * @param maxFileBytes       변환할 수 있는 최대 파일 크기
+     */
+    public record FileAccess(
+            @DefaultValue("") String root,
+            @DefaultValue("1048576") long mmapThresholdBytes,
+            @DefaultValue("268435456") long maxFileBytes) {
+    }
+
+    /**
+     * 디렉터리 일괄 내보내기 설정 ({@code converter.export.*}).
+     *
+     * @param parallelism   변환 작업 스레드 수. 0 이하이면 CPU 코어 수
+     * @param queueCapacity 단계 사이 큐에 쌓아 둘 수 있는 파일 수
+     * @param maxFiles      한 번에 내보낼 수 있는 최대 파일 수
+     * @param maxConcurrent 동시에 실행할 수 있는 내보내기 수. 넘으면 바로 거절
+     */
+    public record Export(
+            @DefaultValue("0") int parallelism,
+            @DefaultValue("64") int queueCapacity,
+            @DefaultValue("100000") int maxFiles,
+            @DefaultValue("1") int maxConcurrent) {
+
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * 변환 도구 진입 제어 설정 ({@code converter.admission.*}).
+     *
+     * @param maxConcurrent      동시에 실행할 수 있는 변환 도구 호출 수. 0 이하이면 CPU 코어 수
+     * @param maxInFlightChars   실행 중인 호출의 입력 문자 수 합계 상한
+     * @param maxInputChars      한 번의 호출에서 받을 수 있는 최대 입력 문자 수
+     * @param maxQueued          자리를 기다릴 수 있는 호출 수. 넘으면 바로 거절
+     * @param queueTimeoutMillis 자리를 기다리는 최대 시간. 넘으면 거절
+     */
+    public record Admission(
+            @DefaultValue("0") int maxConcurrent,
+            @DefaultValue("67108864") int maxInFlightChars,
+            @DefaultValue("16777216") int maxInputChars,
+            @DefaultValue("32") int maxQueued,
+            @DefaultValue("500") long queueTimeoutMillis) {
+
+        public int effectiveMaxConcurrent() {
+            return maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * 변환 결과 페이지 조회 설정 ({@code converter.pages.*}).
+     *
+     * @param ttlSeconds         마지막 조회 후 결과를 보관하는 시간 (초)
+     * @param maximumWeightBytes 보관할 결과의 합계 바이트 상한. 넘으면 오래 쓰지 않은 결과부터 제거
+     * @param defaultPageBytes   한 페이지의 기본 크기 (UTF-8 바이트)
+     * @param maxPageBytes       한 페이지의 최대 크기 (UTF-8 바이트)
+     */
+    public record Pages(
+            @DefaultValue("600") long ttlSeconds,
+            @DefaultValue("134217728") long maximumWeightBytes,
+            @DefaultValue("65536") int defaultPageBytes,
+            @DefaultValue("1048576") int maxPageBytes) {
+    }
+
+    public static ConverterProperties defaults() {
+        return new ConverterProperties(
+                new Cache(false, 64L * 1024 * 1024),
+                new Batch(0, 500),
+                new Incremental(false, 64 * 1024, 2 * 1024, 64L * 1024 * 1024),
+                new Parallel(1024 * 1024, 0, 16 * 1024),
+                new FileAccess("", 1024 * 1024, 256L * 1024 * 1024),
+                new Export(0, 64, 100_000, 1),
+                new Admission(0, 64 * 1024 * 1024, 16 * 1024 * 1024, 32, 500),
+                new Pages(600, 128L * 1024 * 1024, 64 * 1024, 1024 * 1024));
+    }
+}
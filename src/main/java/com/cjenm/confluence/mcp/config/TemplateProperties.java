@@ -0,0 +1,22 @@
+package com.cjenm.confluence.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 문서 템플릿 설정 ({@code templates.*}).
+ *
+ * @param directory         내장 템플릿에 더할 템플릿 파일({@code *.md}) 디렉터리. 비어 있으면 내장 템플릿만 사용
+ * @param watch             디렉터리 변경을 감시하여 템플릿을 다시 읽을지 여부
+ * @param reloadDelayMillis 마지막 변경 뒤 이 시간 동안 더 바뀌지 않으면 다시 읽음
+ */
+@ConfigurationProperties("templates")
+public record TemplateProperties(
+        @DefaultValue("") String directory,
+        @DefaultValue("true") boolean watch,
+        @DefaultValue("200") long reloadDelayMillis) {
+
+    public static TemplateProperties defaults() {
+        return new TemplateProperties("", true, 200);
+    }
+}
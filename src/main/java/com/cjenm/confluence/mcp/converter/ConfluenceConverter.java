@@ -1,9 +1,17 @@
 package com.cjenm.confluence.mcp.converter;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
 
 import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
 import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
@@ -11,8 +19,14 @@ import com.vladsch.flexmark.ext.tables.TablesExtension;
 import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import com.vladsch.flexmark.util.misc.Extension;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+
+import jakarta.annotation.PreDestroy;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -20,19 +34,104 @@ import org.springframework.stereotype.Component;
  * <p>
  * flexmark-java를 사용하여 마크다운을 파싱하고, {@link ConfluenceNodeRenderer}를 통해
  * Confluence 위키 마크업으로 변환한다.
+ * <p>
+ * {@link Parser}는 불변이며 스레드 안전하므로 확장 문법 조합({@link ConvertOptions#extensions()})별로
+ * 하나씩 공유하고, {@link HtmlRenderer}는 {@link ConvertOptions}별로 한 번만 생성하여 캐시한다.
+ * 변환 호출은 파싱과 렌더링만 수행한다.
+ * <p>
+ * 변환마다 파싱/렌더링/후처리 단계별 소요 시간과 입출력 크기를 {@link ConversionMetrics}에 기록한다.
+ * <p>
+ * {@code converter.parallel.threshold-chars} 이상인 문서는 {@link MarkdownChunker}로 최상위 블록 경계에서
+ * 나눠 조각별 파싱과 렌더링을 전용 fork/join 풀에서 병렬로 수행하고, 순서대로 이어 붙인 뒤 한 번
+ * 후처리한다. 결과는 순차 변환과 같다.
+ * <p>
+ * 단락과 굵게, 기울임, 인라인 코드, 링크만 있는 짧은 문서는 {@link ParagraphFastPath}로 AST를 만들지 않고
+ * 한 번에 렌더링한다. 그 밖의 요소가 있으면 전체 파이프라인으로 변환한다.
+ * <p>
+ * {@link ConvertOptions#format()}이 {@link ConvertOptions.Format#STORAGE}이면 같은 AST를
+ * {@link ConfluenceStorageNodeRenderer}로 저장 형식(XHTML)으로 렌더링한다. 저장 형식은 위키 마크업 후처리를
+ * 거치지 않고 {@link StorageFormatOutput}으로 바로 내보내며, 빠른 경로는 위키 마크업에만 쓴다.
+ * <p>
+ * 렌더링과 후처리 버퍼는 {@link RenderBuffers}에서 스레드별로 빌려 쓰고, 초기 용량은 입력 길이와
+ * 형식별로 관측한 출력/입력 비율의 이동 평균으로 정한다.
+ * <p>
+ * {@link Appendable}로 내보내는 스트리밍 변환은 {@link #STREAM_CHUNK_CHARS} 이상인 문서를 같은 경계에서 나눠
+ * 조각을 하나씩 파싱, 렌더링하여 후처리기에 넘긴다. 한 번에 살아 있는 AST와 렌더링 결과는 조각 하나 분량이다.
  */
 @Component
 public class ConfluenceConverter {
 
-    private static final Pattern CODE_BLOCK_PATTERN =
-            Pattern.compile("\\{code(?::[^}]*)?\\}[\\s\\S]*?\\{code\\}");
-    private static final Pattern RESIDUAL_BOLD_PATTERN =
-            Pattern.compile("\\*\\*(.+?)\\*\\*");
-    private static final Pattern EXCESS_NEWLINES_PATTERN =
-            Pattern.compile("\n{3,}");
+    /** 옵션별 렌더러 캐시 상한. 테마는 임의 문자열이므로 무한정 늘어나지 않도록 제한한다. */
+    static final int MAX_CACHED_RENDERERS = 32;
+
+    /** 빠른 경로를 시도할 최대 문서 크기 (문자 수) */
+    static final int FAST_PATH_MAX_CHARS = 16 * 1024;
+
+    /** 스트리밍 변환에서 한 번에 파싱하고 렌더링하는 조각의 최소 크기 (문자 수) */
+    static final int STREAM_CHUNK_CHARS = 64 * 1024;
+
+    /** 확장 문법 조합별 파서. 조합 수가 적으므로(최대 8개) 제한 없이 캐시한다. */
+    private static final Map<Set<ConvertOptions.Extension>, Syntax> SYNTAXES = new ConcurrentHashMap<>();
+
+    /**
+     * 확장 문법 조합 하나의 파서 설정과 파서.
+     */
+    private record Syntax(DataHolder options, Parser parser) {
+
+        static Syntax of(Set<ConvertOptions.Extension> extensions) {
+            List<Extension> enabled = new ArrayList<>(extensions.size());
+            if (extensions.contains(ConvertOptions.Extension.TABLES)) {
+                enabled.add(TablesExtension.create());
+            }
+            if (extensions.contains(ConvertOptions.Extension.STRIKETHROUGH)) {
+                enabled.add(StrikethroughExtension.create());
+            }
+            if (extensions.contains(ConvertOptions.Extension.TASK_LIST)) {
+                enabled.add(TaskListExtension.create());
+            }
+            // 위키 마크업과 저장 형식 모두 헤딩 앵커 ID를 쓰지 않으므로, 렌더링마다 AST 전체를 도는 ID 생성을 끈다
+            DataHolder options = new MutableDataSet()
+                    .set(Parser.EXTENSIONS, enabled)
+                    .set(HtmlRenderer.GENERATE_HEADER_ID, false)
+                    .toImmutable();
+            return new Syntax(options, Parser.builder(options).build());
+        }
+    }
+
+    private final Map<ConvertOptions, HtmlRenderer> renderers = new ConcurrentHashMap<>();
+    private final RenderBuffers.SizeEstimate wikiOutput = new RenderBuffers.SizeEstimate(1.0);
+    private final RenderBuffers.SizeEstimate storageOutput = new RenderBuffers.SizeEstimate(1.5);
+    private final ConversionMetrics metrics;
+    private final ConverterProperties.Parallel parallel;
+    private final ForkJoinPool pool;
+
+    /**
+     * 지표를 기록하지 않고 항상 순차로 변환하는 변환기를 생성한다.
+     */
+    public ConfluenceConverter() {
+        this(ConversionMetrics.noop());
+    }
+
+    /**
+     * 항상 순차로 변환하는 변환기를 생성한다.
+     */
+    public ConfluenceConverter(ConversionMetrics metrics) {
+        this(metrics, ConverterProperties.Parallel.disabled());
+    }
+
+    @Autowired
+    public ConfluenceConverter(ConversionMetrics metrics, ConverterProperties properties) {
+        this(metrics, properties.parallel());
+    }
+
+    ConfluenceConverter(ConversionMetrics metrics, ConverterProperties.Parallel parallel) {
+        this.metrics = metrics;
+        this.parallel = parallel;
+        this.pool = parallel.enabled() ? new ForkJoinPool(parallel.effectiveParallelism()) : null;
+    }
 
     /**
-     * 마크다운 텍스트를 Confluence 위키 마크업으로 변환한다.
+     * 마크다운 텍스트를 Confluence 위키 마크업(또는 옵션에 따라 저장 형식)으로 변환한다.
      *
      * @param markdown 변환할 마크다운 텍스트
      * @param options  변환 옵션
@@ -42,23 +141,37 @@ public class ConfluenceConverter {
         if (markdown == null || markdown.isBlank()) {
             return "";
         }
+        String result = convertDocument(markdown, options);
+        outputSize(options).observe(markdown.length(), result.length());
+        return result;
+    }
 
-        var dataSet = new MutableDataSet();
-        dataSet.set(Parser.EXTENSIONS, List.of(
-                TablesExtension.create(),
-                StrikethroughExtension.create(),
-                TaskListExtension.create()
-        ));
-
-        Parser parser = Parser.builder(dataSet).build();
-        Document document = parser.parse(markdown);
-
-        HtmlRenderer renderer = HtmlRenderer.builder(dataSet)
-                .nodeRendererFactory(new ConfluenceNodeRenderer.Factory(options))
-                .build();
+    private String convertDocument(String markdown, ConvertOptions options) {
+        if (markdown.length() <= FAST_PATH_MAX_CHARS && options.format() == ConvertOptions.Format.WIKI) {
+            String result = convertParagraphs(markdown);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (pool != null && markdown.length() >= parallel.thresholdChars()) {
+            List<String> chunks = MarkdownChunker.split(markdown, chunkChars(markdown.length()));
+            if (chunks.size() > 1) {
+                return convertChunks(markdown, chunks, options);
+            }
+        }
 
-        String raw = renderer.render(document);
-        return postProcess(raw);
+        long start = System.nanoTime();
+        Document document = parserFor(options).parse(markdown);
+        long parseNanos = System.nanoTime() - start;
+        StringBuilder result = RenderBuffers.acquire(outputCapacity(markdown.length(), options));
+        try {
+            render(document, options, result, parseNanos);
+            return result.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RenderBuffers.release(result);
+        }
     }
 
     /**
@@ -69,34 +182,261 @@ public class ConfluenceConverter {
     }
 
     /**
-     * 후처리: {code} 블록 보호, 잔여 bold 변환, 빈 줄 정리, 인라인 코드 복원
+     * 마크다운을 읽어 Confluence 위키 마크업을 출력 대상에 직접 쓴다.
+     * <p>
+     * 링크 참조 정의처럼 문서 전체에 영향을 주는 요소가 있는지 알아야 조각으로 나눌 수 있으므로 입력은 끝까지
+     * 읽어 둔다. 변환은 {@link #convert(CharSequence, Appendable, ConvertOptions)}와 같다.
+     *
+     * @param in      마크다운 입력
+     * @param out     위키 마크업 출력 대상
+     * @param options 변환 옵션
+     * @throws IOException 입력을 읽거나 출력에 쓰지 못한 경우
      */
-    private String postProcess(String text) {
-        // 1. {code} 블록을 플레이스홀더로 보호
-        List<String> codeBlocks = new ArrayList<>();
-        Matcher matcher = CODE_BLOCK_PATTERN.matcher(text);
-        StringBuilder sb = new StringBuilder();
-        while (matcher.find()) {
-            codeBlocks.add(matcher.group());
-            matcher.appendReplacement(sb, "\0CODE_BLOCK_" + (codeBlocks.size() - 1) + "\0");
+    public void convert(Reader in, Appendable out, ConvertOptions options) throws IOException {
+        var markdown = new StringBuilder();
+        char[] buffer = new char[8192];
+        for (int read; (read = in.read(buffer)) >= 0; ) {
+            markdown.append(buffer, 0, read);
         }
-        matcher.appendTail(sb);
-        String processed = sb.toString();
+        convert(markdown, out, options);
+    }
 
-        // 2. 잔여 **bold** → *bold* 변환
-        processed = RESIDUAL_BOLD_PATTERN.matcher(processed).replaceAll("*$1*");
+    /**
+     * 이미 메모리에 있는 문자 시퀀스를 변환하여 출력 대상에 직접 쓴다.
+     * <p>
+     * 입력을 String으로 복사하지 않고 flexmark 시퀀스로 감싸 파싱하므로, 파일에서 디코딩한
+     * {@link java.nio.CharBuffer}를 그대로 넘길 수 있다. 빈 문서이면 아무것도 쓰지 않는다.
+     * <p>
+     * {@link #STREAM_CHUNK_CHARS} 이상인 문서는 {@link MarkdownChunker}로 최상위 블록 경계에서 나눠 조각을 하나씩
+     * 변환하고 후처리기에 바로 넘기므로, 입력 외에 한 번에 잡는 메모리(AST, 렌더링 결과, 후처리 버퍼)는 조각
+     * 하나 분량이다. 조각은 {@code STREAM_CHUNK_CHARS}의 네 배를 넘기 전에 나누지만, 블록 하나(펜스 코드 블록,
+     * 리스트)가 그보다 길면 그 블록만큼 커진다. HTML 블록이나 링크 참조 정의가 있어 나눌 수 없는 문서는 한 번에
+     * 변환한다. 결과는 조각으로 나누지 않은 변환과 같다.
+     *
+     * @param markdown 마크다운 입력
+     * @param out      위키 마크업 출력 대상
+     * @param options  변환 옵션
+     * @throws IOException 출력에 쓰지 못한 경우
+     */
+    public void convert(CharSequence markdown, Appendable out, ConvertOptions options) throws IOException {
+        if (markdown.length() >= STREAM_CHUNK_CHARS * 2) {
+            int[] bounds = MarkdownChunker.boundaries(markdown, STREAM_CHUNK_CHARS);
+            if (bounds.length > 2) {
+                streamChunks(markdown, bounds, out, options);
+                return;
+            }
+        }
+        long start = System.nanoTime();
+        Document document = parserFor(options).parse(BasedSequence.of(markdown));
+        long parseNanos = System.nanoTime() - start;
+        if (!document.hasChildren()) {
+            return;
+        }
+        render(document, options, out, parseNanos);
+    }
 
-        // 3. 연속 3개 이상 빈 줄 → 2개로 축소
-        processed = EXCESS_NEWLINES_PATTERN.matcher(processed).replaceAll("\n\n");
+    private void render(Document document, ConvertOptions options, Appendable out, long parseNanos)
+            throws IOException {
+        if (options.format() == ConvertOptions.Format.STORAGE) {
+            var output = new StorageFormatOutput(out);
+            long start = System.nanoTime();
+            rendererFor(options).render(document, output);
+            long renderNanos = System.nanoTime() - start;
+            output.finish();
+            metrics.record(document.getChars().length(), parseNanos, renderNanos, 0, output.writtenChars());
+            return;
+        }
+        var processor = new ConfluencePostProcessor(out);
+        long start = System.nanoTime();
+        rendererFor(options).render(document, processor);
+        // 렌더링 중에 후처리기가 입력을 처리한 시간은 후처리 단계로 옮겨 집계한다
+        long renderNanos = System.nanoTime() - start - processor.processingNanos();
+        processor.finish();
+        metrics.record(document.getChars().length(), parseNanos, renderNanos,
+                processor.processingNanos(), processor.writtenChars());
+    }
 
-        // 4. {code} 블록 복원
-        for (int i = 0; i < codeBlocks.size(); i++) {
-            processed = processed.replace("\0CODE_BLOCK_" + i + "\0", codeBlocks.get(i));
+    /**
+     * 조각을 차례로 렌더링하여 후처리기에 넘긴다. 다음 조각은 앞 조각의 렌더링 결과를 넘긴 뒤에 파싱한다.
+     */
+    private void streamChunks(CharSequence markdown, int[] bounds, Appendable out, ConvertOptions options)
+            throws IOException {
+        var storage = options.format() == ConvertOptions.Format.STORAGE ? new StorageFormatOutput(out) : null;
+        var processor = storage == null ? new ConfluencePostProcessor(out) : null;
+        Appendable sink = storage != null ? storage : processor;
+        long start = System.nanoTime();
+        for (int i = 1; i < bounds.length; i++) {
+            sink.append(renderFragment(markdown.subSequence(bounds[i - 1], bounds[i]), options));
+        }
+        long written;
+        long postProcessNanos;
+        if (storage != null) {
+            storage.finish();
+            written = storage.writtenChars();
+            postProcessNanos = 0;
+        } else {
+            processor.finish();
+            written = processor.writtenChars();
+            postProcessNanos = processor.processingNanos();
         }
+        long renderNanos = System.nanoTime() - start - postProcessNanos;
+        metrics.recordChunked(markdown.length(), renderNanos, postProcessNanos, written, 0, bounds.length - 1);
+    }
 
-        // 5. 인라인 코드 플레이스홀더 → {{}} 복원
-        processed = processed.replace("\0CS\0", "{{").replace("\0CE\0", "}}");
+    /**
+     * 단락만으로 이루어진 문서를 빠른 경로로 변환한다. 빠른 경로로 처리할 수 없으면 null.
+     * 코드 블록과 확장 문법(테이블, 취소선, 체크박스)이 없으므로 결과는 옵션과 무관하다.
+     */
+    private String convertParagraphs(String markdown) {
+        long start = System.nanoTime();
+        StringBuilder raw = RenderBuffers.acquire(markdown.length() + 16);
+        try {
+            if (!ParagraphFastPath.render(markdown, raw)) {
+                return null;
+            }
+            long renderNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            String result = ConfluencePostProcessor.process(raw);
+            long postProcessNanos = System.nanoTime() - start;
 
-        return processed.strip() + "\n";
+            metrics.recordFastPath(markdown.length(), renderNanos, postProcessNanos, result.length());
+            return result;
+        } finally {
+            RenderBuffers.release(raw);
+        }
+    }
+
+    /**
+     * 조각들을 풀에서 병렬로 렌더링하고 순서대로 이어 붙여 후처리한다.
+     */
+    private String convertChunks(String markdown, List<String> chunks, ConvertOptions options) {
+        long start = System.nanoTime();
+        List<ForkJoinTask<String>> tasks = chunks.stream()
+                .map(chunk -> pool.submit(() -> renderFragment(chunk, options)))
+                .toList();
+        StringBuilder raw = RenderBuffers.acquire(outputCapacity(markdown.length(), options));
+        String result;
+        long renderNanos;
+        long postProcessNanos;
+        try {
+            for (ForkJoinTask<String> task : tasks) {
+                raw.append(task.join());
+            }
+            renderNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            result = finishFragments(raw, options);
+            postProcessNanos = System.nanoTime() - start;
+        } finally {
+            RenderBuffers.release(raw);
+        }
+
+        metrics.recordChunked(markdown.length(), renderNanos, postProcessNanos, result.length(), 0, chunks.size());
+        return result;
+    }
+
+    /**
+     * 작업 스레드마다 몇 개의 조각이 돌아가도록 조각 크기를 정한다.
+     */
+    private int chunkChars(int length) {
+        return Math.max(parallel.minChunkChars(), length / (parallel.effectiveParallelism() * 4));
+    }
+
+    /**
+     * 마크다운 조각을 후처리 전의 위키 마크업으로 렌더링한다.
+     * <p>
+     * flexmark는 렌더링 결과 끝의 빈 줄을 잘라내므로, 조각들을 이어 붙였을 때 문서 전체를 한 번에
+     * 렌더링한 결과와 같도록 블록 사이의 빈 줄({@code \n\n})을 다시 붙인다. 저장 형식은 블록 사이에 빈 줄이
+     * 없으므로 줄바꿈 하나로 맞춘다. 마지막 조각에 붙은 줄바꿈은 {@link #finishFragments}에서 정리된다.
+     * 문서 전체를 렌더링하면 조각 첫 단락의 맨 앞 줄바꿈(예: {@code \}만 있는 줄)이 앞 블록 뒤의 빈 줄에
+     * 흡수되므로, 위키 마크업 조각의 맨 앞 줄바꿈은 지운다.
+     * 조각은 {@link MarkdownChunker}가 나눈 것이어야 한다.
+     */
+    String renderFragment(CharSequence markdown, ConvertOptions options) {
+        Document document = parserFor(options).parse(BasedSequence.of(markdown));
+        if (!document.hasChildren()) {
+            return "";
+        }
+        StringBuilder raw = RenderBuffers.acquire(outputCapacity(markdown.length(), options));
+        try {
+            rendererFor(options).render(document, raw);
+            if (options.format() == ConvertOptions.Format.STORAGE) {
+                int end = raw.length();
+                while (end > 0 && raw.charAt(end - 1) == '\n') {
+                    end--;
+                }
+                raw.setLength(end);
+                return raw.append('\n').toString();
+            }
+            int leading = 0;
+            while (leading < raw.length() && raw.charAt(leading) == '\n') {
+                leading++;
+            }
+            raw.delete(0, leading);
+            int trailing = 0;
+            while (trailing < 2 && trailing < raw.length() && raw.charAt(raw.length() - 1 - trailing) == '\n') {
+                trailing++;
+            }
+            raw.append("\n\n", 0, 2 - trailing);
+            return raw.toString();
+        } finally {
+            RenderBuffers.release(raw);
+        }
+    }
+
+    /**
+     * 입력 길이와 지금까지 관측한 출력/입력 비율로 정한 출력 버퍼의 초기 용량.
+     */
+    int outputCapacity(int inputChars, ConvertOptions options) {
+        return outputSize(options).capacity(inputChars);
+    }
+
+    private RenderBuffers.SizeEstimate outputSize(ConvertOptions options) {
+        return options.format() == ConvertOptions.Format.STORAGE ? storageOutput : wikiOutput;
+    }
+
+    /**
+     * {@link #renderFragment}로 렌더링한 조각들을 이어 붙인 결과를 후처리하여 최종 결과를 만든다.
+     */
+    static String finishFragments(CharSequence raw, ConvertOptions options) {
+        return options.format() == ConvertOptions.Format.STORAGE
+                ? StorageFormatOutput.process(raw)
+                : ConfluencePostProcessor.process(raw);
+    }
+
+    private static Syntax syntaxFor(ConvertOptions options) {
+        return SYNTAXES.computeIfAbsent(options.extensions(), Syntax::of);
+    }
+
+    private static Parser parserFor(ConvertOptions options) {
+        return syntaxFor(options).parser();
+    }
+
+    /**
+     * 옵션에 해당하는 렌더러를 반환한다. 캐시가 가득 차면 캐시하지 않고 새로 생성한다.
+     */
+    HtmlRenderer rendererFor(ConvertOptions options) {
+        HtmlRenderer renderer = renderers.get(options);
+        if (renderer != null) {
+            return renderer;
+        }
+        renderer = HtmlRenderer.builder(syntaxFor(options).options())
+                .nodeRendererFactory(options.format() == ConvertOptions.Format.STORAGE
+                        ? new ConfluenceStorageNodeRenderer.Factory(options)
+                        : new ConfluenceNodeRenderer.Factory(options))
+                .build();
+        if (renderers.size() >= MAX_CACHED_RENDERERS) {
+            return renderer;
+        }
+        HtmlRenderer existing = renderers.putIfAbsent(options, renderer);
+        return existing != null ? existing : renderer;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
     }
 }
@@ -1,8 +1,10 @@
 package com.cjenm.confluence.mcp.converter;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.StringJoiner;
 
 import com.vladsch.flexmark.ast.*;
 import com.vladsch.flexmark.ext.gfm.strikethrough.Strikethrough;
@@ -10,28 +12,50 @@ import com.vladsch.flexmark.ext.gfm.tasklist.TaskListItem;
 import com.vladsch.flexmark.ext.tables.*;
 import com.vladsch.flexmark.html.HtmlWriter;
 import com.vladsch.flexmark.html.renderer.*;
+import com.vladsch.flexmark.util.ast.Document;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
 import com.vladsch.flexmark.util.data.DataHolder;
+import com.vladsch.flexmark.util.data.NullableDataKey;
 
 /**
  * flexmark AST 노드를 Confluence Wiki Markup으로 렌더링하는 NodeRenderer 구현.
  * <p>
  * 인라인 코드는 {@code \0CS\0}...{@code \0CE\0} 플레이스홀더로 보호하며,
  * 후처리에서 {@code \{\{...\}\}}로 복원한다.
+ * <p>
+ * 렌더러는 변경 가능한 상태를 갖지 않는다. 테이블 헤더 여부 같은 문맥은 AST에서 직접 판단하고,
+ * 리스트 접두사처럼 순회 중에 이어지는 문맥은 렌더링 중인 {@link Document}에 보관하므로
+ * 하나의 인스턴스를 여러 스레드의 렌더링이 함께 사용해도 안전하다.
+ * <p>
+ * 텍스트는 {@link BasedSequence}를 직접 훑어 이스케이프가 필요 없는 구간을 그대로 출력하므로,
+ * 노드마다 중간 문자열을 만들지 않는다.
  */
 public class ConfluenceNodeRenderer implements NodeRenderer {
 
     private static final String CODE_SPAN_START = "\0CS\0";
     private static final String CODE_SPAN_END = "\0CE\0";
 
+    /** 렌더링 중인 리스트 블록의 접두사 스택 (문서별) */
+    private static final NullableDataKey<Deque<String>> LIST_PREFIXES =
+            new NullableDataKey<>("CONFLUENCE_LIST_PREFIXES");
+
+    private static final String[] HEADING_PREFIXES = {"h0. ", "h1. ", "h2. ", "h3. ", "h4. ", "h5. ", "h6. "};
+
     private final ConvertOptions options;
+    private final Set<NodeRenderingHandler<?>> handlers;
 
     public ConfluenceNodeRenderer(ConvertOptions options) {
         this.options = options;
+        this.handlers = Collections.unmodifiableSet(createHandlers());
     }
 
     @Override
     public Set<NodeRenderingHandler<?>> getNodeRenderingHandlers() {
+        return handlers;
+    }
+
+    private Set<NodeRenderingHandler<?>> createHandlers() {
         Set<NodeRenderingHandler<?>> handlers = new HashSet<>();
 
         // 인라인
@@ -98,43 +122,37 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     private void renderCode(Code node, NodeRendererContext context, HtmlWriter html) {
-        String text = node.getText().toString();
-        String escaped = text
-                .replace("\\", "\\\\")
-                .replace("{", "\\{")
-                .replace("}", "\\}");
-        html.raw(CODE_SPAN_START + escaped + CODE_SPAN_END);
+        html.raw(CODE_SPAN_START);
+        rawEscaped(html, node.getText(), true);
+        html.raw(CODE_SPAN_END);
     }
 
     private void renderLink(Link node, NodeRendererContext context, HtmlWriter html) {
-        String url = node.getUrl().toString();
+        BasedSequence url = node.getUrl();
         // 인라인 텍스트를 별도 버퍼로 렌더링
-        String text = renderChildrenToString(node, context);
-        if (!text.isEmpty() && !text.equals(url)) {
-            html.raw("[" + text + "|" + url + "]");
+        CharSequence text = renderChildrenToString(node, context);
+        if (text.length() > 0 && CharSequence.compare(text, url) != 0) {
+            html.raw("[").raw(text).raw("|").raw(url).raw("]");
         } else {
-            html.raw("[" + url + "]");
+            html.raw("[").raw(url).raw("]");
         }
     }
 
     private void renderAutoLink(AutoLink node, NodeRendererContext context, HtmlWriter html) {
-        String url = node.getText().toString();
-        html.raw("[" + url + "]");
+        html.raw("[").raw(node.getText()).raw("]");
     }
 
     private void renderMailLink(MailLink node, NodeRendererContext context, HtmlWriter html) {
-        String email = node.getText().toString();
-        html.raw("[mailto:" + email + "]");
+        html.raw("[mailto:").raw(node.getText()).raw("]");
     }
 
     private void renderImage(Image node, NodeRendererContext context, HtmlWriter html) {
-        String url = node.getUrl().toString();
-        String alt = node.getText().toString();
+        BasedSequence alt = node.getText();
+        html.raw("!").raw(node.getUrl());
         if (!alt.isEmpty()) {
-            html.raw("!" + url + "|alt=" + alt + "!");
-        } else {
-            html.raw("!" + url + "!");
+            html.raw("|alt=").raw(alt);
         }
+        html.raw("!");
     }
 
     private void renderSoftLineBreak(SoftLineBreak node, NodeRendererContext context, HtmlWriter html) {
@@ -146,9 +164,7 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     private void renderText(Text node, NodeRendererContext context, HtmlWriter html) {
-        String text = node.getChars().toString();
-        text = text.replace("{", "\\{").replace("}", "\\}");
-        html.raw(text);
+        rawEscaped(html, node.getChars(), false);
     }
 
     private void renderTextBase(TextBase node, NodeRendererContext context, HtmlWriter html) {
@@ -156,17 +172,18 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     private void renderHtmlEntity(HtmlEntity node, NodeRendererContext context, HtmlWriter html) {
-        html.raw(node.getChars().toString());
+        html.raw(node.getChars());
     }
 
     private void renderHtmlInline(HtmlInline node, NodeRendererContext context, HtmlWriter html) {
-        html.raw(node.getChars().toString());
+        html.raw(node.getChars());
     }
 
     // ===== 블록 렌더러 =====
 
     private void renderHeading(Heading node, NodeRendererContext context, HtmlWriter html) {
-        html.raw("h" + node.getLevel() + ". ");
+        int level = node.getLevel();
+        html.raw(level > 0 && level < HEADING_PREFIXES.length ? HEADING_PREFIXES[level] : "h" + level + ". ");
         context.renderChildren(node);
         html.raw("\n\n");
     }
@@ -189,40 +206,30 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
 
     private void renderFencedCodeBlock(FencedCodeBlock node, NodeRendererContext context, HtmlWriter html) {
         String lang = node.getInfo().toString().trim();
-        String text = node.getContentChars().toString();
-        // 마지막 줄바꿈 제거
-        if (text.endsWith("\n")) {
-            text = text.substring(0, text.length() - 1);
-        }
-
-        var params = new StringJoiner("|");
         boolean isMermaid = "mermaid".equals(lang);
+
+        html.raw("{code");
+        String separator = ":";
         if (!lang.isEmpty()) {
-            params.add("language=" + (isMermaid ? "text" : lang));
+            html.raw(separator).raw("language=").raw(isMermaid ? "text" : lang);
+            separator = "|";
         }
         if (isMermaid) {
-            params.add("title=mermaid");
-            params.add("collapse=true");
+            html.raw(separator).raw("title=mermaid|collapse=true");
+            separator = "|";
         }
         if (options.theme() != null && !options.theme().isEmpty()) {
-            params.add("theme=" + options.theme());
+            html.raw(separator).raw("theme=").raw(options.theme());
         }
-
-        String paramStr = params.length() > 0 ? ":" + params : "";
-        html.raw("{code" + paramStr + "}\n" + text + "\n{code}\n\n");
+        html.raw("}\n").raw(withoutTrailingNewline(node.getContentChars())).raw("\n{code}\n\n");
     }
 
     private void renderIndentedCodeBlock(IndentedCodeBlock node, NodeRendererContext context, HtmlWriter html) {
-        String text = node.getContentChars().toString();
-        if (text.endsWith("\n")) {
-            text = text.substring(0, text.length() - 1);
-        }
-
-        String paramStr = "";
+        html.raw("{code");
         if (options.theme() != null && !options.theme().isEmpty()) {
-            paramStr = ":theme=" + options.theme();
+            html.raw(":theme=").raw(options.theme());
         }
-        html.raw("{code" + paramStr + "}\n" + text + "\n{code}\n\n");
+        html.raw("}\n").raw(withoutTrailingNewline(node.getContentChars())).raw("\n{code}\n\n");
     }
 
     private void renderThematicBreak(ThematicBreak node, NodeRendererContext context, HtmlWriter html) {
@@ -230,80 +237,77 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     private void renderHtmlBlock(HtmlBlock node, NodeRendererContext context, HtmlWriter html) {
-        html.raw(node.getChars().toString());
+        html.raw(node.getChars());
     }
 
     // ===== 리스트 렌더러 =====
 
     private void renderBulletList(BulletList node, NodeRendererContext context, HtmlWriter html) {
-        context.renderChildren(node);
-        // 최상위 리스트인 경우 뒤에 빈 줄 추가
-        if (!(node.getParent() instanceof ListItem)) {
-            html.raw("\n");
-        }
+        renderList(node, '*', context, html);
     }
 
     private void renderOrderedList(OrderedList node, NodeRendererContext context, HtmlWriter html) {
-        context.renderChildren(node);
+        renderList(node, '#', context, html);
+    }
+
+    /**
+     * 리스트 블록의 접두사를 스택에 올린 채 아이템을 렌더링한다.
+     * 접두사는 바깥 리스트의 접두사에 이 리스트의 마커를 붙인 것으로, 리스트 블록마다 한 번만 만든다.
+     * 예: 1단계 '*', 2단계 '**', 혼합 시 '*#' 등
+     */
+    private void renderList(ListBlock node, char marker, NodeRendererContext context, HtmlWriter html) {
+        Deque<String> prefixes = listPrefixes(context.getDocument());
+        // 부모가 ListItem이면 바깥 리스트의 접두사를 이어받고, 아니면 새로 시작
+        String parentPrefix = node.getParent() instanceof ListItem && !prefixes.isEmpty() ? prefixes.peek() : "";
+        prefixes.push(parentPrefix + marker);
+        try {
+            context.renderChildren(node);
+        } finally {
+            prefixes.pop();
+        }
+        // 최상위 리스트인 경우 뒤에 빈 줄 추가
         if (!(node.getParent() instanceof ListItem)) {
             html.raw("\n");
         }
     }
 
     private void renderBulletListItem(BulletListItem node, NodeRendererContext context, HtmlWriter html) {
-        String prefix = computeListPrefix(node, '*');
-        html.raw(prefix + " ");
+        String prefix = currentListPrefix(context, '*');
+        html.raw(prefix).raw(" ");
         renderListItemContent(node, context, html);
         html.raw("\n");
     }
 
     private void renderOrderedListItem(OrderedListItem node, NodeRendererContext context, HtmlWriter html) {
-        String prefix = computeListPrefix(node, '#');
-        html.raw(prefix + " ");
+        String prefix = currentListPrefix(context, '#');
+        html.raw(prefix).raw(" ");
         renderListItemContent(node, context, html);
         html.raw("\n");
     }
 
     private void renderTaskListItem(TaskListItem node, NodeRendererContext context, HtmlWriter html) {
-        String prefix = computeListPrefix(node, '*');
+        String prefix = currentListPrefix(context, '*');
         String marker = node.isItemDoneMarker() ? "(/) " : "(x) ";
-        html.raw(prefix + " " + marker);
+        html.raw(prefix).raw(" ").raw(marker);
         renderListItemContent(node, context, html);
         html.raw("\n");
     }
 
     /**
-     * 리스트 중첩 깊이에 따라 접두사 문자열을 계산한다.
-     * 예: 1단계 '*', 2단계 '**', 혼합 시 '*#' 등
+     * 현재 렌더링 중인 리스트 블록의 접두사를 반환한다. 리스트 밖이면 기본 마커를 사용한다.
      */
-    private String computeListPrefix(ListItem node, char marker) {
-        var sb = new StringBuilder();
-        // 현재 노드에서 부모를 따라 올라가며 접두사를 역순으로 구성
-        Node current = node.getParent(); // ListBlock (BulletList or OrderedList)
-        while (current != null) {
-            if (current instanceof BulletList) {
-                sb.insert(0, '*');
-                // 부모가 ListItem이면 계속 올라감
-                current = current.getParent();
-                if (current instanceof ListItem) {
-                    current = current.getParent();
-                } else {
-                    break;
-                }
-            } else if (current instanceof OrderedList) {
-                sb.insert(0, '#');
-                current = current.getParent();
-                if (current instanceof ListItem) {
-                    current = current.getParent();
-                } else {
-                    break;
-                }
-            } else {
-                break;
-            }
+    private static String currentListPrefix(NodeRendererContext context, char marker) {
+        String prefix = listPrefixes(context.getDocument()).peek();
+        return prefix != null ? prefix : String.valueOf(marker);
+    }
+
+    private static Deque<String> listPrefixes(Document document) {
+        Deque<String> prefixes = LIST_PREFIXES.get(document);
+        if (prefixes == null) {
+            prefixes = new ArrayDeque<>();
+            document.set(LIST_PREFIXES, prefixes);
         }
-        // sb가 비어있으면 기본 마커 사용
-        return sb.isEmpty() ? String.valueOf(marker) : sb.toString();
+        return prefixes;
     }
 
     /**
@@ -323,17 +327,13 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
 
     // ===== 테이블 렌더러 =====
 
-    private boolean isHeaderRow = false;
-
     private void renderTableBlock(TableBlock node, NodeRendererContext context, HtmlWriter html) {
         context.renderChildren(node);
         html.raw("\n");
     }
 
     private void renderTableHead(TableHead node, NodeRendererContext context, HtmlWriter html) {
-        isHeaderRow = true;
         context.renderChildren(node);
-        isHeaderRow = false;
     }
 
     private void renderTableBody(TableBody node, NodeRendererContext context, HtmlWriter html) {
@@ -341,7 +341,7 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     private void renderTableRow(TableRow node, NodeRendererContext context, HtmlWriter html) {
-        if (isHeaderRow) {
+        if (isHeaderRow(node)) {
             html.raw("|| ");
         } else {
             html.raw("| ");
@@ -351,6 +351,7 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     private void renderTableCell(TableCell node, NodeRendererContext context, HtmlWriter html) {
+        boolean isHeaderRow = isHeaderRow(node.getParent());
         context.renderChildren(node);
         if (node.getNext() != null) {
             if (isHeaderRow) {
@@ -372,30 +373,34 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
         // Confluence에서는 테이블 구분선을 렌더링하지 않음
     }
 
+    /**
+     * 행이 테이블 헤더({@link TableHead}) 안에 있는지 판단한다.
+     */
+    private static boolean isHeaderRow(Node row) {
+        return row != null && row.getParent() instanceof TableHead;
+    }
+
     // ===== 유틸리티 =====
 
     /**
      * 자식 노드를 별도 버퍼에 렌더링하여 문자열로 반환한다.
      */
-    private String renderChildrenToString(Node node, NodeRendererContext context) {
+    private CharSequence renderChildrenToString(Node node, NodeRendererContext context) {
         // HtmlWriter의 raw 출력을 직접 캡처할 수 없으므로,
         // 자식 텍스트 노드를 직접 순회하여 구성한다.
         var sb = new StringBuilder();
         collectInlineText(node, sb, context);
-        return sb.toString();
+        return sb;
     }
 
     private void collectInlineText(Node node, StringBuilder sb, NodeRendererContext context) {
         for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
             if (child instanceof Text) {
-                String text = child.getChars().toString();
-                sb.append(text.replace("{", "\\{").replace("}", "\\}"));
+                appendEscaped(sb, child.getChars(), false);
             } else if (child instanceof Code) {
-                String text = ((Code) child).getText().toString()
-                        .replace("\\", "\\\\")
-                        .replace("{", "\\{")
-                        .replace("}", "\\}");
-                sb.append(CODE_SPAN_START).append(text).append(CODE_SPAN_END);
+                sb.append(CODE_SPAN_START);
+                appendEscaped(sb, ((Code) child).getText(), true);
+                sb.append(CODE_SPAN_END);
             } else if (child instanceof StrongEmphasis) {
                 sb.append("*");
                 collectInlineText(child, sb, context);
@@ -411,7 +416,7 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
             } else if (child instanceof SoftLineBreak || child instanceof HardLineBreak) {
                 sb.append("\n");
             } else if (child instanceof HtmlEntity) {
-                sb.append(child.getChars().toString());
+                sb.append(child.getChars());
             } else {
                 collectInlineText(child, sb, context);
             }
@@ -419,18 +424,72 @@ public class ConfluenceNodeRenderer implements NodeRenderer {
     }
 
     /**
-     * NodeRendererFactory 구현.
+     * '{', '}'(escapeBackslash이면 '\\'도)를 이스케이프하며 출력한다.
+     * 이스케이프가 필요 없는 구간은 원본 시퀀스의 부분 시퀀스로 그대로 넘긴다.
+     */
+    private static void rawEscaped(HtmlWriter html, BasedSequence text, boolean escapeBackslash) {
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String escaped = escapeOf(text.charAt(i), escapeBackslash);
+            if (escaped != null) {
+                if (i > start) {
+                    html.raw(text.subSequence(start, i));
+                }
+                html.raw(escaped);
+                start = i + 1;
+            }
+        }
+        if (start == 0) {
+            html.raw(text);
+        } else if (start < length) {
+            html.raw(text.subSequence(start, length));
+        }
+    }
+
+    private static void appendEscaped(StringBuilder sb, CharSequence text, boolean escapeBackslash) {
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String escaped = escapeOf(text.charAt(i), escapeBackslash);
+            if (escaped != null) {
+                sb.append(text, start, i).append(escaped);
+                start = i + 1;
+            }
+        }
+        sb.append(text, start, length);
+    }
+
+    private static String escapeOf(char c, boolean escapeBackslash) {
+        return switch (c) {
+            case '{' -> "\\{";
+            case '}' -> "\\}";
+            case '\\' -> escapeBackslash ? "\\\\" : null;
+            default -> null;
+        };
+    }
+
+    /**
+     * 코드 블록 본문의 마지막 줄바꿈 하나를 제외한 부분 시퀀스를 반환한다.
+     */
+    private static BasedSequence withoutTrailingNewline(BasedSequence text) {
+        int length = text.length();
+        return length > 0 && text.charAt(length - 1) == '\n' ? text.subSequence(0, length - 1) : text;
+    }
+
+    /**
+     * NodeRendererFactory 구현. 상태가 없는 렌더러 하나를 모든 렌더링에 공유한다.
      */
     public static class Factory implements NodeRendererFactory {
-        private final ConvertOptions options;
+        private final ConfluenceNodeRenderer renderer;
 
         public Factory(ConvertOptions options) {
-            this.options = options;
+            this.renderer = new ConfluenceNodeRenderer(options);
         }
 
         @Override
         public NodeRenderer apply(DataHolder dataHolder) {
-            return new ConfluenceNodeRenderer(options);
+            return renderer;
         }
     }
 }
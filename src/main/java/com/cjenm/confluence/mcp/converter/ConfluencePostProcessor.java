@@ -0,0 +1,448 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 렌더링 결과를 한 번만 훑으며 후처리하는 상태 기계.
+ * <p>
+ * 기존 정규식 체인과 바이트 단위로 같은 결과를 만든다.
+ * <ol>
+ *     <li>{@code {code}} 블록은 그대로 보존한다</li>
+ *     <li>블록 밖의 잔여 {@code **bold**}를 {@code *bold*}로 바꾼다 (줄바꿈을 넘지 않음)</li>
+ *     <li>블록 밖의 연속 3개 이상 줄바꿈을 2개로 줄인다</li>
+ *     <li>인라인 코드 플레이스홀더 {@code \0CS\0}...{@code \0CE\0}를 {@code {{...}}}로 복원한다</li>
+ *     <li>앞뒤 공백을 제거하고 마지막에 줄바꿈 하나를 붙인다</li>
+ * </ol>
+ * 입력은 {@link #append(CharSequence)}로 나누어 넣을 수 있으며, 판단에 필요한 만큼만
+ * 내부에 버퍼링한 뒤 결과를 출력 대상에 바로 쓴다. 인스턴스는 스레드 안전하지 않다.
+ * <p>
+ * flexmark는 렌더링 결과를 내보낼 때 {@link IOException}을 삼키므로, 출력 오류를 기억해 두었다가
+ * {@link #finish()}에서 다시 던진다.
+ * <p>
+ * 렌더링 도중에도 입력이 들어오면 처리하므로, 후처리에 쓴 시간을 {@link #processingNanos()}로 따로 집계한다.
+ */
+final class ConfluencePostProcessor implements Appendable {
+
+    private static final String CODE_OPEN = "{code";
+    private static final String CODE_CLOSE = "{code}";
+    private static final String CODE_SPAN_START = "\0CS\0";
+    private static final String CODE_SPAN_END = "\0CE\0";
+
+    /** 판단에 더 많은 입력이 필요함 */
+    private static final int NEED_MORE = -2;
+    /** 일치하지 않음 */
+    private static final int NO_MATCH = -1;
+
+    private static final int MIN_DRAIN = 8 * 1024;
+    private static final int OUTPUT_FLUSH = 8 * 1024;
+
+    private final Appendable out;
+    private final StringBuilder pending;
+    private final StringBuilder output;
+    private final StringBuilder trailingWhitespace = new StringBuilder();
+    private int drainThreshold = MIN_DRAIN;
+    private int newlineRun;
+    private boolean started;
+    private IOException failure;
+    private long processingNanos;
+    private long writtenChars;
+
+    // 한 번의 처리 구간 안에서만 유효한 탐색 캐시 (source 기준 인덱스)
+    private CharSequence source;
+    private int limit;
+    private boolean complete;
+    private int noCloseFrom;
+    private int noBoldBefore;
+
+    ConfluencePostProcessor(Appendable out) {
+        this(out, RenderBuffers.acquire(MIN_DRAIN * 2), RenderBuffers.acquire(OUTPUT_FLUSH * 2));
+    }
+
+    private ConfluencePostProcessor(Appendable out, StringBuilder pending, StringBuilder output) {
+        this.out = out;
+        this.pending = pending;
+        this.output = output;
+    }
+
+    /**
+     * 전체 텍스트를 후처리하여 문자열로 반환한다.
+     * <p>
+     * 입력을 한 번에 처리하므로 내부 출력 버퍼와 결과 버퍼가 모두 입력 크기만큼 자란다.
+     * 두 버퍼는 입력 크기로 미리 잡아 {@link RenderBuffers}에서 빌려 쓴다.
+     */
+    static String process(CharSequence text) {
+        StringBuilder result = RenderBuffers.acquire(text.length() + 1);
+        StringBuilder output = RenderBuffers.acquire(text.length() + 1);
+        var processor = new ConfluencePostProcessor(result, new StringBuilder(0), output);
+        try {
+            processor.run(text, true);
+            processor.finishOutput();
+            return result.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RenderBuffers.release(output);
+            RenderBuffers.release(result);
+        }
+    }
+
+    @Override
+    public ConfluencePostProcessor append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public ConfluencePostProcessor append(CharSequence csq, int start, int end) throws IOException {
+        pending.append(csq, start, end);
+        if (pending.length() >= drainThreshold) {
+            drain();
+        }
+        return this;
+    }
+
+    @Override
+    public ConfluencePostProcessor append(char c) throws IOException {
+        pending.append(c);
+        if (pending.length() >= drainThreshold) {
+            drain();
+        }
+        return this;
+    }
+
+    /**
+     * 남은 입력을 모두 처리하고 결과를 출력 대상에 내보낸다.
+     * 내부 버퍼는 {@link RenderBuffers}에 돌려주므로 이후에는 입력을 넣을 수 없다.
+     */
+    void finish() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        long start = System.nanoTime();
+        run(pending, true);
+        pending.setLength(0);
+        finishOutput();
+        processingNanos += System.nanoTime() - start;
+        RenderBuffers.release(pending);
+        RenderBuffers.release(output);
+    }
+
+    /**
+     * 지금까지 입력을 처리하는 데 쓴 시간(나노초).
+     */
+    long processingNanos() {
+        return processingNanos;
+    }
+
+    /**
+     * 지금까지 출력 대상에 쓴 문자 수.
+     */
+    long writtenChars() {
+        return writtenChars;
+    }
+
+    private void drain() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        long start = System.nanoTime();
+        int consumed;
+        try {
+            consumed = run(pending, false);
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        pending.delete(0, consumed);
+        // 판단을 보류한 구간이 길면 입력이 두 배로 쌓일 때까지 다시 보지 않는다 (재탐색 비용 분할 상환)
+        drainThreshold = Math.max(MIN_DRAIN, pending.length() * 2);
+        processingNanos += System.nanoTime() - start;
+    }
+
+    private void finishOutput() throws IOException {
+        flushNewlines();
+        trailingWhitespace.setLength(0);
+        output.append('\n');
+        writeOutput();
+    }
+
+    private void writeOutput() throws IOException {
+        out.append(output);
+        writtenChars += output.length();
+        output.setLength(0);
+    }
+
+    /**
+     * text를 처음부터 처리하고 소비한 문자 수를 반환한다.
+     * complete가 false이면 뒤따르는 입력에 따라 결과가 달라지는 지점에서 멈춘다.
+     */
+    private int run(CharSequence text, boolean complete) throws IOException {
+        this.source = text;
+        this.limit = text.length();
+        this.complete = complete;
+        this.noCloseFrom = Integer.MAX_VALUE;
+        this.noBoldBefore = -1;
+
+        int p = 0;
+        while (p < limit) {
+            char c = text.charAt(p);
+            if (c == '\n') {
+                newlineRun++;
+                p++;
+                continue;
+            }
+            flushNewlines();
+            if (c == '{') {
+                int end = codeBlockEnd(p);
+                if (end == NEED_MORE) {
+                    break;
+                }
+                if (end >= 0) {
+                    appendVerbatim(p, end);
+                    p = end;
+                    continue;
+                }
+            } else if (c == '*') {
+                int close = boldClose(p);
+                if (close == NEED_MORE) {
+                    break;
+                }
+                if (close >= 0) {
+                    emit('*');
+                    appendVerbatim(p + 2, close);
+                    emit('*');
+                    p = close + 2;
+                    continue;
+                }
+            } else if (c == '\0') {
+                int consumed = marker(p, limit, complete);
+                if (consumed == NEED_MORE) {
+                    break;
+                }
+                if (consumed > 0) {
+                    p += consumed;
+                    continue;
+                }
+            }
+            emit(c);
+            p++;
+        }
+        if (output.length() >= OUTPUT_FLUSH) {
+            writeOutput();
+        }
+        this.source = null;
+        return p;
+    }
+
+    /**
+     * p에서 시작하는 {@code {code...}...{code}} 블록의 끝 인덱스를 반환한다.
+     */
+    private int codeBlockEnd(int p) {
+        int open = matchAt(p, CODE_OPEN);
+        if (open != 1) {
+            return open == 0 && !complete ? NEED_MORE : NO_MATCH;
+        }
+        if (p + 5 >= limit) {
+            return complete ? NO_MATCH : NEED_MORE;
+        }
+        int openEnd;
+        char c = source.charAt(p + 5);
+        if (c == '}') {
+            openEnd = p + 6;
+        } else if (c == ':') {
+            int brace = indexOf('}', p + 6);
+            if (brace < 0) {
+                return complete ? NO_MATCH : NEED_MORE;
+            }
+            openEnd = brace + 1;
+        } else {
+            return NO_MATCH;
+        }
+        if (openEnd >= noCloseFrom) {
+            return NO_MATCH;
+        }
+        int close = indexOf(CODE_CLOSE, openEnd);
+        if (close < 0) {
+            if (!complete) {
+                return NEED_MORE;
+            }
+            noCloseFrom = openEnd;
+            return NO_MATCH;
+        }
+        return close + CODE_CLOSE.length();
+    }
+
+    /**
+     * p의 {@code **}와 짝을 이루는 닫는 {@code **}의 인덱스를 반환한다.
+     * 정규식 {@code \*\*(.+?)\*\*}와 같이 최소 한 글자를 감싸며 줄 끝을 넘지 않는다.
+     * 사이의 {code} 블록은 한 덩어리로 취급한다.
+     */
+    private int boldClose(int p) {
+        if (p + 1 >= limit) {
+            return complete ? NO_MATCH : NEED_MORE;
+        }
+        if (source.charAt(p + 1) != '*' || p < noBoldBefore) {
+            return NO_MATCH;
+        }
+        int k = p + 2;
+        while (k < limit) {
+            char c = source.charAt(k);
+            if (c == '{') {
+                int end = codeBlockEnd(k);
+                if (end == NEED_MORE) {
+                    return NEED_MORE;
+                }
+                if (end >= 0) {
+                    k = end;
+                    continue;
+                }
+            } else if (isLineTerminator(c)) {
+                noBoldBefore = k;
+                return NO_MATCH;
+            } else if (c == '*' && k >= p + 3) {
+                if (k + 1 >= limit) {
+                    return complete ? NO_MATCH : NEED_MORE;
+                }
+                if (source.charAt(k + 1) == '*') {
+                    return k;
+                }
+            }
+            k++;
+        }
+        if (!complete) {
+            return NEED_MORE;
+        }
+        noBoldBefore = limit;
+        return NO_MATCH;
+    }
+
+    /**
+     * [from, to) 구간을 인라인 코드 플레이스홀더만 복원하며 그대로 출력한다.
+     */
+    private void appendVerbatim(int from, int to) {
+        int p = from;
+        while (p < to) {
+            char c = source.charAt(p);
+            if (c == '\0') {
+                int consumed = marker(p, to, true);
+                if (consumed > 0) {
+                    p += consumed;
+                    continue;
+                }
+            }
+            emit(c);
+            p++;
+        }
+    }
+
+    /**
+     * p의 인라인 코드 플레이스홀더를 복원하고 소비한 문자 수를 반환한다. 플레이스홀더가 아니면 0.
+     * <p>
+     * regionComplete가 false이고 end에서 잘린 경우 {@link #NEED_MORE}를 반환한다.
+     * <p>
+     * 기존 구현은 {@code \0CS\0}를 모두 바꾼 뒤 {@code \0CE\0}를 바꿨으므로, 뒤따르는
+     * {@code \0CS\0}와 마지막 {@code \0}를 공유하는 {@code \0CE\0}는 복원하지 않는다.
+     */
+    private int marker(int p, int end, boolean regionComplete) {
+        int start = matchAt(p, end, CODE_SPAN_START);
+        if (start == 1) {
+            emit('{');
+            emit('{');
+            return CODE_SPAN_START.length();
+        }
+        int close = matchAt(p, end, CODE_SPAN_END);
+        if (start == 0 || close == 0) {
+            return regionComplete ? 0 : NEED_MORE;
+        }
+        if (close != 1) {
+            return 0;
+        }
+        int following = matchAt(p + 3, end, CODE_SPAN_START);
+        if (following == 0 && !regionComplete) {
+            return NEED_MORE;
+        }
+        if (following == 1) {
+            emit('\0');
+            emit('C');
+            emit('E');
+            return 3;
+        }
+        emit('}');
+        emit('}');
+        return CODE_SPAN_END.length();
+    }
+
+    private void flushNewlines() {
+        if (newlineRun == 0) {
+            return;
+        }
+        int count = newlineRun >= 3 ? 2 : newlineRun;
+        newlineRun = 0;
+        for (int i = 0; i < count; i++) {
+            emit('\n');
+        }
+    }
+
+    /**
+     * 결과 문자를 출력한다. 앞쪽 공백은 버리고, 뒤쪽 공백은 다음 문자가 나올 때까지 보류한다.
+     */
+    private void emit(char c) {
+        if (Character.isWhitespace(c)) {
+            if (started) {
+                trailingWhitespace.append(c);
+            }
+            return;
+        }
+        if (!trailingWhitespace.isEmpty()) {
+            output.append(trailingWhitespace);
+            trailingWhitespace.setLength(0);
+        }
+        output.append(c);
+        started = true;
+    }
+
+    /**
+     * source의 p 위치가 token으로 시작하면 1, 입력 끝까지 일치하다 잘렸으면 0, 아니면 -1.
+     */
+    private int matchAt(int p, String token) {
+        return matchAt(p, limit, token);
+    }
+
+    private int matchAt(int p, int end, String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (p + i >= end) {
+                return 0;
+            }
+            if (source.charAt(p + i) != token.charAt(i)) {
+                return -1;
+            }
+        }
+        return 1;
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < limit; i++) {
+            if (source.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(String token, int from) {
+        char first = token.charAt(0);
+        for (int i = from; i + token.length() <= limit; i++) {
+            if (source.charAt(i) == first && matchAt(i, token) == 1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@link java.util.regex.Pattern}의 {@code .}이 일치하지 않는 줄 끝 문자.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,440 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.vladsch.flexmark.ast.*;
+import com.vladsch.flexmark.ext.gfm.strikethrough.Strikethrough;
+import com.vladsch.flexmark.ext.gfm.tasklist.TaskListItem;
+import com.vladsch.flexmark.ext.tables.*;
+import com.vladsch.flexmark.html.HtmlWriter;
+import com.vladsch.flexmark.html.renderer.*;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.DataHolder;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import com.vladsch.flexmark.util.sequence.Escaping;
+
+/**
+ * flexmark AST 노드를 Confluence 저장 형식(XHTML)으로 렌더링하는 NodeRenderer 구현.
+ * <p>
+ * 위키 마크업을 서버에서 저장 형식으로 다시 변환하지 않아도 되도록, {@link ConfluenceNodeRenderer}와 같은
+ * 요소를 Confluence가 저장하는 형태로 바로 출력한다. 코드 블록은 {@code code} 매크로
+ * ({@code ac:structured-macro}), 체크박스 리스트는 {@code ac:task-list}, 테이블은 {@code table}로 쓴다.
+ * 위키 마크업에서 이모티콘({@code (/)}, {@code (x)})으로 나타내던 체크박스는 일반 항목과 섞인 리스트에서만
+ * 이모티콘으로 남긴다.
+ * <p>
+ * 텍스트와 속성 값은 XML 이스케이프하며, 원문 HTML도 그대로 내보내지 않고 텍스트로 이스케이프한다.
+ * 블록 요소마다 끝에 줄바꿈 하나를 붙이고 빈 줄은 만들지 않으므로, 블록 경계에서 나눠 렌더링한 조각을
+ * 이어 붙여도 문서 전체를 한 번에 렌더링한 결과와 같다. 렌더러는 변경 가능한 상태를 갖지 않는다.
+ */
+public class ConfluenceStorageNodeRenderer implements NodeRenderer {
+
+    private final ConvertOptions options;
+    private final Set<NodeRenderingHandler<?>> handlers;
+
+    public ConfluenceStorageNodeRenderer(ConvertOptions options) {
+        this.options = options;
+        this.handlers = Collections.unmodifiableSet(createHandlers());
+    }
+
+    @Override
+    public Set<NodeRenderingHandler<?>> getNodeRenderingHandlers() {
+        return handlers;
+    }
+
+    private Set<NodeRenderingHandler<?>> createHandlers() {
+        Set<NodeRenderingHandler<?>> handlers = new HashSet<>();
+
+        // 인라인
+        handlers.add(new NodeRenderingHandler<>(StrongEmphasis.class, this::renderStrong));
+        handlers.add(new NodeRenderingHandler<>(Emphasis.class, this::renderEmphasis));
+        handlers.add(new NodeRenderingHandler<>(Strikethrough.class, this::renderStrikethrough));
+        handlers.add(new NodeRenderingHandler<>(Code.class, this::renderCode));
+        handlers.add(new NodeRenderingHandler<>(Link.class, this::renderLink));
+        handlers.add(new NodeRenderingHandler<>(AutoLink.class, this::renderAutoLink));
+        handlers.add(new NodeRenderingHandler<>(MailLink.class, this::renderMailLink));
+        handlers.add(new NodeRenderingHandler<>(Image.class, this::renderImage));
+        handlers.add(new NodeRenderingHandler<>(SoftLineBreak.class, this::renderLineBreak));
+        handlers.add(new NodeRenderingHandler<>(HardLineBreak.class, this::renderLineBreak));
+        handlers.add(new NodeRenderingHandler<>(Text.class, this::renderText));
+        handlers.add(new NodeRenderingHandler<>(TextBase.class, this::renderTextBase));
+        handlers.add(new NodeRenderingHandler<>(HtmlEntity.class, this::renderHtmlEntity));
+        handlers.add(new NodeRenderingHandler<>(HtmlInline.class, this::renderHtmlInline));
+
+        // 블록
+        handlers.add(new NodeRenderingHandler<>(Heading.class, this::renderHeading));
+        handlers.add(new NodeRenderingHandler<>(Paragraph.class, this::renderParagraph));
+        handlers.add(new NodeRenderingHandler<>(BlockQuote.class, this::renderBlockQuote));
+        handlers.add(new NodeRenderingHandler<>(FencedCodeBlock.class, this::renderFencedCodeBlock));
+        handlers.add(new NodeRenderingHandler<>(IndentedCodeBlock.class, this::renderIndentedCodeBlock));
+        handlers.add(new NodeRenderingHandler<>(ThematicBreak.class, this::renderThematicBreak));
+        handlers.add(new NodeRenderingHandler<>(HtmlBlock.class, this::renderHtmlBlock));
+
+        // 리스트
+        handlers.add(new NodeRenderingHandler<>(BulletList.class, this::renderBulletList));
+        handlers.add(new NodeRenderingHandler<>(OrderedList.class, this::renderOrderedList));
+        handlers.add(new NodeRenderingHandler<>(BulletListItem.class, this::renderListItem));
+        handlers.add(new NodeRenderingHandler<>(OrderedListItem.class, this::renderListItem));
+        handlers.add(new NodeRenderingHandler<>(TaskListItem.class, this::renderTaskListItem));
+
+        // 테이블
+        handlers.add(new NodeRenderingHandler<>(TableBlock.class, this::renderTableBlock));
+        handlers.add(new NodeRenderingHandler<>(TableHead.class, this::renderTableSection));
+        handlers.add(new NodeRenderingHandler<>(TableBody.class, this::renderTableSection));
+        handlers.add(new NodeRenderingHandler<>(TableRow.class, this::renderTableRow));
+        handlers.add(new NodeRenderingHandler<>(TableCell.class, this::renderTableCell));
+        handlers.add(new NodeRenderingHandler<>(TableSeparator.class, this::renderTableSeparator));
+
+        return handlers;
+    }
+
+    // ===== 인라인 렌더러 =====
+
+    private void renderStrong(StrongEmphasis node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<strong>");
+        context.renderChildren(node);
+        html.raw("</strong>");
+    }
+
+    private void renderEmphasis(Emphasis node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<em>");
+        context.renderChildren(node);
+        html.raw("</em>");
+    }
+
+    private void renderStrikethrough(Strikethrough node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<span style=\"text-decoration: line-through;\">");
+        context.renderChildren(node);
+        html.raw("</span>");
+    }
+
+    private void renderCode(Code node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<code>");
+        rawEscaped(html, node.getText());
+        html.raw("</code>");
+    }
+
+    private void renderLink(Link node, NodeRendererContext context, HtmlWriter html) {
+        String url = node.getUrl().unescape();
+        html.raw("<a href=\"");
+        rawEscaped(html, url);
+        html.raw("\">");
+        if (node.hasChildren()) {
+            context.renderChildren(node);
+        } else {
+            rawEscaped(html, url);
+        }
+        html.raw("</a>");
+    }
+
+    private void renderAutoLink(AutoLink node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<a href=\"");
+        rawEscaped(html, node.getText());
+        html.raw("\">");
+        rawEscaped(html, node.getText());
+        html.raw("</a>");
+    }
+
+    private void renderMailLink(MailLink node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<a href=\"mailto:");
+        rawEscaped(html, node.getText());
+        html.raw("\">");
+        rawEscaped(html, node.getText());
+        html.raw("</a>");
+    }
+
+    /**
+     * 주소에 스킴이 있으면 외부 이미지, 없으면 페이지 첨부 파일로 참조한다.
+     */
+    private void renderImage(Image node, NodeRendererContext context, HtmlWriter html) {
+        BasedSequence url = node.getUrl();
+        BasedSequence alt = node.getText();
+        html.raw("<ac:image");
+        if (!alt.isEmpty()) {
+            html.raw(" ac:alt=\"");
+            rawEscaped(html, alt);
+            html.raw("\"");
+        }
+        html.raw(url.indexOf(':') > 0 ? "><ri:url ri:value=\"" : "><ri:attachment ri:filename=\"");
+        rawEscaped(html, url);
+        html.raw("\" /></ac:image>");
+    }
+
+    /**
+     * 위키 마크업에서 단락 안의 줄바꿈이 줄바꿈으로 보이던 것과 같도록 {@code <br />}로 출력한다.
+     */
+    private void renderLineBreak(Node node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<br />");
+    }
+
+    /**
+     * 백슬래시 이스케이프와 엔터티를 푼 뒤 XML 이스케이프한다.
+     */
+    private void renderText(Text node, NodeRendererContext context, HtmlWriter html) {
+        BasedSequence text = node.getChars();
+        rawEscaped(html, text.indexOf('\\') < 0 && text.indexOf('&') < 0 ? text : text.unescape());
+    }
+
+    private void renderTextBase(TextBase node, NodeRendererContext context, HtmlWriter html) {
+        context.renderChildren(node);
+    }
+
+    /**
+     * 저장 형식은 XML이므로 HTML 이름 엔터티를 문자로 풀어 이스케이프한다.
+     */
+    private void renderHtmlEntity(HtmlEntity node, NodeRendererContext context, HtmlWriter html) {
+        rawEscaped(html, Escaping.unescapeString(node.getChars().toString()));
+    }
+
+    private void renderHtmlInline(HtmlInline node, NodeRendererContext context, HtmlWriter html) {
+        rawEscaped(html, node.getChars());
+    }
+
+    // ===== 블록 렌더러 =====
+
+    private void renderHeading(Heading node, NodeRendererContext context, HtmlWriter html) {
+        int level = Math.max(1, Math.min(6, node.getLevel()));
+        html.raw("<h").raw(String.valueOf(level)).raw(">");
+        context.renderChildren(node);
+        html.raw("</h").raw(String.valueOf(level)).raw(">\n");
+    }
+
+    private void renderParagraph(Paragraph node, NodeRendererContext context, HtmlWriter html) {
+        // 리스트 아이템의 첫 번째 Paragraph는 <p> 없이 인라인으로 처리
+        if (node.getParent() instanceof ListItem && node.getPrevious() == null) {
+            context.renderChildren(node);
+            return;
+        }
+        html.raw("<p>");
+        context.renderChildren(node);
+        html.raw("</p>\n");
+    }
+
+    private void renderBlockQuote(BlockQuote node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<blockquote>\n");
+        context.renderChildren(node);
+        html.raw("</blockquote>\n");
+    }
+
+    private void renderFencedCodeBlock(FencedCodeBlock node, NodeRendererContext context, HtmlWriter html) {
+        String lang = node.getInfo().toString().trim();
+        boolean isMermaid = "mermaid".equals(lang);
+
+        html.raw("<ac:structured-macro ac:name=\"code\">");
+        if (!lang.isEmpty()) {
+            parameter(html, "language", isMermaid ? "text" : lang);
+        }
+        if (isMermaid) {
+            parameter(html, "title", "mermaid");
+            parameter(html, "collapse", "true");
+        }
+        renderCodeBody(node.getContentChars(), html);
+    }
+
+    private void renderIndentedCodeBlock(IndentedCodeBlock node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<ac:structured-macro ac:name=\"code\">");
+        renderCodeBody(node.getContentChars(), html);
+    }
+
+    /**
+     * 테마 매개변수와 코드 본문(CDATA)을 쓰고 매크로를 닫는다.
+     * 본문은 들여쓰기가 그대로 남도록 preformatted 구간으로 출력하며, {@code ]]>}는 CDATA 구간을 나눠 보존한다.
+     */
+    private void renderCodeBody(BasedSequence content, HtmlWriter html) {
+        if (options.theme() != null && !options.theme().isEmpty()) {
+            parameter(html, "theme", options.theme());
+        }
+        html.raw("<ac:plain-text-body><![CDATA[");
+        html.openPre();
+        BasedSequence code = withoutTrailingNewline(content);
+        int start = 0;
+        for (int end = code.indexOf("]]>"); end >= 0; end = code.indexOf("]]>", start)) {
+            html.raw(code.subSequence(start, end + 2)).raw("]]><![CDATA[");
+            start = end + 2;
+        }
+        html.raw(start == 0 ? code : code.subSequence(start, code.length()));
+        html.closePre();
+        html.raw("]]></ac:plain-text-body></ac:structured-macro>\n");
+    }
+
+    private static void parameter(HtmlWriter html, String name, String value) {
+        html.raw("<ac:parameter ac:name=\"").raw(name).raw("\">");
+        rawEscaped(html, value);
+        html.raw("</ac:parameter>");
+    }
+
+    private void renderThematicBreak(ThematicBreak node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<hr />\n");
+    }
+
+    private void renderHtmlBlock(HtmlBlock node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<p>");
+        rawEscaped(html, withoutTrailingNewline(node.getChars()));
+        html.raw("</p>\n");
+    }
+
+    // ===== 리스트 렌더러 =====
+
+    private void renderBulletList(BulletList node, NodeRendererContext context, HtmlWriter html) {
+        renderList(node, "ul", context, html);
+    }
+
+    private void renderOrderedList(OrderedList node, NodeRendererContext context, HtmlWriter html) {
+        renderList(node, "ol", context, html);
+    }
+
+    /**
+     * 모든 아이템이 체크박스이면 Confluence 작업 목록으로, 아니면 HTML 리스트로 렌더링한다.
+     */
+    private void renderList(ListBlock node, String tag, NodeRendererContext context, HtmlWriter html) {
+        if (isTaskList(node)) {
+            html.raw("<ac:task-list>\n");
+            context.renderChildren(node);
+            html.raw("</ac:task-list>\n");
+            return;
+        }
+        html.raw("<").raw(tag).raw(">\n");
+        context.renderChildren(node);
+        html.raw("</").raw(tag).raw(">\n");
+    }
+
+    private void renderListItem(ListItem node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<li>");
+        renderListItemContent(node, context, html);
+        html.raw("</li>\n");
+    }
+
+    private void renderTaskListItem(TaskListItem node, NodeRendererContext context, HtmlWriter html) {
+        if (!isTaskList(node.getParent())) {
+            html.raw("<li>").raw(node.isItemDoneMarker()
+                    ? "<ac:emoticon ac:name=\"tick\" /> "
+                    : "<ac:emoticon ac:name=\"cross\" /> ");
+            renderListItemContent(node, context, html);
+            html.raw("</li>\n");
+            return;
+        }
+        html.raw("<ac:task>\n<ac:task-status>")
+                .raw(node.isItemDoneMarker() ? "complete" : "incomplete")
+                .raw("</ac:task-status>\n<ac:task-body>");
+        renderListItemContent(node, context, html);
+        html.raw("</ac:task-body>\n</ac:task>\n");
+    }
+
+    /**
+     * 리스트 아이템의 콘텐츠를 렌더링한다. 인라인으로 출력한 첫 단락 뒤의 블록은 줄을 바꿔 아이템 안에 넣는다.
+     * 블록 요소는 줄바꿈으로 끝나므로 그 뒤에는 줄을 더 바꾸지 않는다.
+     */
+    private void renderListItemContent(ListItem node, NodeRendererContext context, HtmlWriter html) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            if (child.getPrevious() instanceof Paragraph && child.getPrevious() == node.getFirstChild()) {
+                html.raw("\n");
+            }
+            context.render(child);
+        }
+    }
+
+    private static boolean isTaskList(Node list) {
+        if (!(list instanceof ListBlock) || !list.hasChildren()) {
+            return false;
+        }
+        for (Node item = list.getFirstChild(); item != null; item = item.getNext()) {
+            if (!(item instanceof TaskListItem)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===== 테이블 렌더러 =====
+
+    private void renderTableBlock(TableBlock node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<table><tbody>\n");
+        context.renderChildren(node);
+        html.raw("</tbody></table>\n");
+    }
+
+    /**
+     * Confluence는 헤더 행도 {@code tbody} 안에 두므로 헤더와 본문을 구분하지 않는다.
+     */
+    private void renderTableSection(Node node, NodeRendererContext context, HtmlWriter html) {
+        context.renderChildren(node);
+    }
+
+    private void renderTableRow(TableRow node, NodeRendererContext context, HtmlWriter html) {
+        html.raw("<tr>");
+        context.renderChildren(node);
+        html.raw("</tr>\n");
+    }
+
+    private void renderTableCell(TableCell node, NodeRendererContext context, HtmlWriter html) {
+        String tag = node.getParent() != null && node.getParent().getParent() instanceof TableHead ? "th" : "td";
+        html.raw("<").raw(tag).raw(">");
+        context.renderChildren(node);
+        html.raw("</").raw(tag).raw(">");
+    }
+
+    private void renderTableSeparator(TableSeparator node, NodeRendererContext context, HtmlWriter html) {
+        // 구분선은 출력하지 않음
+    }
+
+    // ===== 유틸리티 =====
+
+    /**
+     * XML 특수 문자를 이스케이프하며 출력한다.
+     * 이스케이프가 필요 없는 구간은 원본 시퀀스의 부분 시퀀스로 그대로 넘긴다.
+     */
+    private static void rawEscaped(HtmlWriter html, CharSequence text) {
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String escaped = escapeOf(text.charAt(i));
+            if (escaped != null) {
+                if (i > start) {
+                    html.raw(text.subSequence(start, i));
+                }
+                html.raw(escaped);
+                start = i + 1;
+            }
+        }
+        if (start == 0) {
+            html.raw(text);
+        } else if (start < length) {
+            html.raw(text.subSequence(start, length));
+        }
+    }
+
+    private static String escapeOf(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            default -> null;
+        };
+    }
+
+    /**
+     * 마지막 줄바꿈 하나를 제외한 부분 시퀀스를 반환한다.
+     */
+    private static BasedSequence withoutTrailingNewline(BasedSequence text) {
+        int length = text.length();
+        return length > 0 && text.charAt(length - 1) == '\n' ? text.subSequence(0, length - 1) : text;
+    }
+
+    /**
+     * NodeRendererFactory 구현. 상태가 없는 렌더러 하나를 모든 렌더링에 공유한다.
+     */
+    public static class Factory implements NodeRendererFactory {
+        private final ConfluenceStorageNodeRenderer renderer;
+
+        public Factory(ConvertOptions options) {
+            this.renderer = new ConfluenceStorageNodeRenderer(options);
+        }
+
+        @Override
+        public NodeRenderer apply(DataHolder dataHolder) {
+            return renderer;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cjenm.confluence.mcp.converter;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 변환기({@link IncrementalConverter}) 앞단의 변환 결과 캐시.
+ * <p>
+ * 마크다운 원문과 {@link ConvertOptions}를 키로 사용한다. 키 조회는 String의 캐시된 해시로 시작하고
+ * 원문 비교로 확정하므로 해시 충돌로 잘못된 결과를 돌려주지 않는다.
+ * 보관 용량은 원문과 결과의 바이트 합계로 제한하며 W-TinyLFU 정책으로 제거한다.
+ * {@code converter.cache.enabled}가 false이면 변환기를 그대로 호출한다.
+ */
+@Component
+public class ConversionCache {
+
+    /** 항목당 키/엔트리 객체 오버헤드 추정치 */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final IncrementalConverter converter;
+    private final Cache<Key, String> cache;
+
+    public ConversionCache(IncrementalConverter converter, ConverterProperties properties) {
+        this.converter = converter;
+        this.cache = properties.cache().enabled() ? buildCache(properties.cache()) : null;
+    }
+
+    private record Key(String markdown, ConvertOptions options) {
+    }
+
+    /**
+     * 캐시된 결과가 있으면 반환하고, 없으면 변환 후 저장한다.
+     */
+    public String convert(String markdown, ConvertOptions options) {
+        if (cache == null || markdown == null || markdown.isBlank()) {
+            return converter.convert(markdown, options);
+        }
+        var key = new Key(markdown, options);
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // 변환을 캐시 잠금 밖에서 수행한다. 동시 미스는 중복 변환될 수 있지만 결과는 같다.
+        String result = converter.convert(markdown, options);
+        cache.put(key, result);
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * 적중/미스/제거 횟수. 캐시를 사용하지 않으면 빈 통계를 반환한다.
+     */
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    private static Cache<Key, String> buildCache(ConverterProperties.Cache config) {
+        return Caffeine.newBuilder()
+                .maximumWeight(config.maximumWeightBytes())
+                .weigher(ConversionCache::weigh)
+                .recordStats()
+                .build();
+    }
+
+    private static int weigh(Key key, String result) {
+        long bytes = 2L * (key.markdown().length() + result.length()) + ENTRY_OVERHEAD_BYTES;
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+}
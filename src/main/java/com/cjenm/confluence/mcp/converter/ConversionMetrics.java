@@ -0,0 +1,120 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 변환 성능 지표.
+ * <p>
+ * 변환 한 건의 전체 소요 시간과 파싱/렌더링/후처리 단계별 시간, 입력과 출력의 문자 수 분포,
+ * 조각 단위 변환의 조각 재사용 수, AST 없이 처리한 빠른 경로 변환 수를 기록한다.
+ * 미터는 생성 시 한 번만 등록하므로 변환마다 레지스트리를 조회하지 않는다.
+ */
+@Component
+public class ConversionMetrics {
+
+    static final String CONVERSION = "confluence.conversion";
+    static final String PHASE = "confluence.conversion.phase";
+    static final String INPUT_SIZE = "confluence.conversion.input.size";
+    static final String OUTPUT_SIZE = "confluence.conversion.output.size";
+    static final String FRAGMENTS = "confluence.conversion.fragments";
+    static final String FAST_PATH = "confluence.conversion.fastpath";
+
+    private final Timer total;
+    private final Timer parse;
+    private final Timer render;
+    private final Timer postProcess;
+    private final DistributionSummary inputSize;
+    private final DistributionSummary outputSize;
+    private final Counter reusedFragments;
+    private final Counter renderedFragments;
+    private final Counter fastPath;
+
+    public ConversionMetrics(MeterRegistry registry) {
+        this.total = Timer.builder(CONVERSION)
+                .description("마크다운 한 건의 변환 소요 시간")
+                .register(registry);
+        this.parse = phaseTimer(registry, "parse");
+        this.render = phaseTimer(registry, "render");
+        this.postProcess = phaseTimer(registry, "postProcess");
+        this.inputSize = DistributionSummary.builder(INPUT_SIZE)
+                .description("변환 입력 마크다운의 문자 수")
+                .baseUnit("chars")
+                .register(registry);
+        this.outputSize = DistributionSummary.builder(OUTPUT_SIZE)
+                .description("변환 결과 위키 마크업의 문자 수")
+                .baseUnit("chars")
+                .register(registry);
+        this.reusedFragments = fragmentCounter(registry, "reused");
+        this.renderedFragments = fragmentCounter(registry, "rendered");
+        this.fastPath = Counter.builder(FAST_PATH)
+                .description("AST 없이 빠른 경로로 변환한 건수")
+                .register(registry);
+    }
+
+    /**
+     * 아무 곳에도 기록하지 않는 지표. 스프링 컨텍스트 밖에서 변환기를 직접 생성할 때 사용한다.
+     */
+    public static ConversionMetrics noop() {
+        return new ConversionMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * 변환 한 건의 단계별 소요 시간(나노초)과 입출력 크기를 기록한다.
+     */
+    void record(long inputChars, long parseNanos, long renderNanos, long postProcessNanos, long outputChars) {
+        parse.record(parseNanos, TimeUnit.NANOSECONDS);
+        render.record(renderNanos, TimeUnit.NANOSECONDS);
+        postProcess.record(postProcessNanos, TimeUnit.NANOSECONDS);
+        total.record(parseNanos + renderNanos + postProcessNanos, TimeUnit.NANOSECONDS);
+        inputSize.record(inputChars);
+        outputSize.record(outputChars);
+    }
+
+    /**
+     * 조각으로 나눠 변환한 한 건(증분, 병렬)을 기록한다. 조각의 파싱 시간은 렌더링 단계에 포함한다.
+     */
+    void recordChunked(long inputChars, long renderNanos, long postProcessNanos, long outputChars,
+                           int reused, int rendered) {
+        render.record(renderNanos, TimeUnit.NANOSECONDS);
+        postProcess.record(postProcessNanos, TimeUnit.NANOSECONDS);
+        total.record(renderNanos + postProcessNanos, TimeUnit.NANOSECONDS);
+        inputSize.record(inputChars);
+        outputSize.record(outputChars);
+        reusedFragments.increment(reused);
+        renderedFragments.increment(rendered);
+    }
+
+    /**
+     * 빠른 경로로 변환한 한 건을 기록한다. 단락을 훑은 시간은 렌더링 단계로 집계한다.
+     */
+    void recordFastPath(long inputChars, long renderNanos, long postProcessNanos, long outputChars) {
+        render.record(renderNanos, TimeUnit.NANOSECONDS);
+        postProcess.record(postProcessNanos, TimeUnit.NANOSECONDS);
+        total.record(renderNanos + postProcessNanos, TimeUnit.NANOSECONDS);
+        inputSize.record(inputChars);
+        outputSize.record(outputChars);
+        fastPath.increment();
+    }
+
+    private static Counter fragmentCounter(MeterRegistry registry, String result) {
+        return Counter.builder(FRAGMENTS)
+                .description("조각 단위 변환에서 재사용하거나 새로 렌더링한 조각 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer phaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder(PHASE)
+                .description("변환 단계별 소요 시간")
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
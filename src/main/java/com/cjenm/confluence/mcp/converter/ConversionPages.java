@@ -0,0 +1,188 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 큰 변환 결과를 서버에 보관하고 페이지 단위로 나눠 돌려주는 저장소.
+ * <p>
+ * 결과는 추측할 수 없는 핸들로 보관하며, 마지막 조회 후 {@code converter.pages.ttl-seconds}가 지나면 만료된다.
+ * 보관 용량은 결과의 바이트 합계로 제한하고, 넘으면 오래 쓰지 않은 결과부터 제거한다.
+ * <p>
+ * 페이지는 UTF-8 바이트 상한 안에서 블록 경계(빈 줄), 줄 경계 순으로 자르고, 한 줄이 상한보다 길 때만
+ * 문자 경계에서 자른다. 커서는 다음 페이지가 시작하는 문자 위치이므로 같은 커서로 다시 조회할 수 있다.
+ */
+@Component
+public class ConversionPages {
+
+    /** 페이지 크기 하한 (UTF-8 바이트) */
+    static final int MIN_PAGE_BYTES = 256;
+
+    /** 항목당 핸들/엔트리 객체 오버헤드 추정치 */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private static final int HANDLE_BYTES = 16;
+
+    private final ConverterProperties.Pages config;
+    private final Cache<String, String> results;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public ConversionPages(ConverterProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    ConversionPages(ConverterProperties properties, Ticker ticker) {
+        this.config = properties.pages();
+        this.results = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(config.ttlSeconds()))
+                .maximumWeight(config.maximumWeightBytes())
+                .weigher(ConversionPages::weigh)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * 변환 결과의 한 페이지.
+     *
+     * @param handle     결과 핸들. 결과가 첫 페이지에 모두 들어가 보관하지 않았으면 null
+     * @param content    페이지 내용
+     * @param nextCursor 다음 페이지 커서. 마지막 페이지이면 null
+     * @param offset     페이지가 시작하는 문자 위치
+     * @param totalChars 결과 전체의 문자 수
+     */
+    public record Page(@Nullable String handle, String content, @Nullable String nextCursor,
+                       int offset, int totalChars) {
+    }
+
+    /**
+     * 결과의 첫 페이지를 반환한다. 나머지가 있으면 결과를 보관하고 핸들을 함께 돌려준다.
+     *
+     * @param result   변환 결과
+     * @param maxBytes 페이지 크기 상한 (UTF-8 바이트). null이면 기본값
+     */
+    public Page open(String result, @Nullable Integer maxBytes) {
+        int end = pageEnd(result, 0, pageBytes(maxBytes));
+        if (end == result.length()) {
+            return new Page(null, result, null, 0, result.length());
+        }
+        String handle = newHandle();
+        results.put(handle, result);
+        return page(handle, result, 0, end);
+    }
+
+    /**
+     * 보관한 결과에서 커서 위치부터 한 페이지를 반환한다.
+     *
+     * @param handle   {@link #open}이 돌려준 핸들
+     * @param cursor   이전 페이지의 다음 커서. 비어 있으면 처음부터
+     * @param maxBytes 페이지 크기 상한 (UTF-8 바이트). null이면 기본값
+     * @throws IllegalArgumentException 핸들이 없거나 만료되었거나, 커서가 올바르지 않은 경우
+     */
+    public Page fetch(String handle, @Nullable String cursor, @Nullable Integer maxBytes) {
+        String result = handle == null ? null : results.getIfPresent(handle);
+        if (result == null) {
+            throw new IllegalArgumentException("없거나 만료된 핸들입니다. 다시 변환하세요: " + handle);
+        }
+        int offset = parseCursor(cursor, result.length());
+        return page(handle, result, offset, pageEnd(result, offset, pageBytes(maxBytes)));
+    }
+
+    /**
+     * 보관 중인 결과 수 (추정치).
+     */
+    long size() {
+        results.cleanUp();
+        return results.estimatedSize();
+    }
+
+    private static Page page(String handle, String result, int offset, int end) {
+        String next = end < result.length() ? Integer.toString(end) : null;
+        return new Page(handle, result.substring(offset, end), next, offset, result.length());
+    }
+
+    private int pageBytes(@Nullable Integer maxBytes) {
+        int bytes = maxBytes != null && maxBytes > 0 ? maxBytes : config.defaultPageBytes();
+        return Math.max(MIN_PAGE_BYTES, Math.min(bytes, config.maxPageBytes()));
+    }
+
+    private static int parseCursor(@Nullable String cursor, int length) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor.strip());
+            if (offset >= 0 && offset <= length) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            // 아래에서 거부
+        }
+        throw new IllegalArgumentException("올바르지 않은 커서입니다: " + cursor);
+    }
+
+    /**
+     * offset부터 UTF-8 maxBytes 안에 들어가는 페이지의 끝 위치를 반환한다.
+     * 남은 내용이 모두 들어가면 텍스트 끝, 아니면 페이지의 절반 이상을 채우는 마지막 빈 줄 뒤,
+     * 없으면 마지막 줄바꿈 뒤, 그것도 없으면 상한에 맞는 문자 경계다. 서로게이트 쌍은 나누지 않는다.
+     */
+    static int pageEnd(String text, int offset, int maxBytes) {
+        int length = text.length();
+        int limit = offset;
+        long bytes = 0;
+        while (limit < length) {
+            char c = text.charAt(limit);
+            int chars = 1;
+            int size;
+            if (c < 0x80) {
+                size = 1;
+            } else if (c < 0x800) {
+                size = 2;
+            } else if (Character.isHighSurrogate(c) && limit + 1 < length
+                    && Character.isLowSurrogate(text.charAt(limit + 1))) {
+                size = 4;
+                chars = 2;
+            } else {
+                size = 3;
+            }
+            if (bytes + size > maxBytes) {
+                break;
+            }
+            bytes += size;
+            limit += chars;
+        }
+        if (limit == length) {
+            return length;
+        }
+        int block = text.lastIndexOf("\n\n", limit - 2);
+        if (block >= offset && block + 2 - offset >= (limit - offset) / 2) {
+            return block + 2;
+        }
+        int line = text.lastIndexOf('\n', limit - 1);
+        if (line >= offset) {
+            return line + 1;
+        }
+        return limit;
+    }
+
+    private String newHandle() {
+        byte[] bytes = new byte[HANDLE_BYTES];
+        random.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static int weigh(String handle, String result) {
+        long bytes = 2L * (handle.length() + result.length()) + ENTRY_OVERHEAD_BYTES;
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+}
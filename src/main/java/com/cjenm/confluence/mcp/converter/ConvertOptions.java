@@ -1,11 +1,59 @@
 package com.cjenm.confluence.mcp.converter;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 변환 옵션 레코드.
  *
- * @param theme 코드 블록 테마 (예: DJango, Emacs, Midnight 등). null이면 테마 미적용
+ * @param theme      코드 블록 테마 (예: DJango, Emacs, Midnight 등). null이면 테마 미적용
+ * @param extensions 사용할 확장 문법. 빠진 확장의 문법은 일반 텍스트로 변환한다. null이면 모두 사용
+ * @param format     출력 형식. null이면 위키 마크업
  */
-public record ConvertOptions(String theme) {
+public record ConvertOptions(String theme, Set<Extension> extensions, Format format) {
+
+    /** Confluence 코드 매크로가 지원하는 테마 */
+    public static final List<String> SUPPORTED_THEMES =
+            List.of("DJango", "Emacs", "FadeToGrey", "Midnight", "RDark", "Eclipse", "Confluence");
+
+    /**
+     * CommonMark 외에 켜고 끌 수 있는 확장 문법.
+     */
+    public enum Extension {
+        /** GFM 테이블 */
+        TABLES,
+        /** 취소선 ({@code ~~text~~}) */
+        STRIKETHROUGH,
+        /** 체크박스 리스트 ({@code - [ ] 항목}) */
+        TASK_LIST
+    }
+
+    /**
+     * 출력 형식.
+     */
+    public enum Format {
+        /** Confluence 위키 마크업 ({@link ConfluenceNodeRenderer}) */
+        WIKI,
+        /** Confluence 저장 형식 XHTML ({@link ConfluenceStorageNodeRenderer}) */
+        STORAGE
+    }
+
+    /** 기본으로 사용하는 확장 문법 (전부) */
+    public static final Set<Extension> ALL_EXTENSIONS = Set.copyOf(EnumSet.allOf(Extension.class));
+
+    public ConvertOptions {
+        extensions = extensions == null ? ALL_EXTENSIONS : Set.copyOf(extensions);
+        format = format == null ? Format.WIKI : format;
+    }
+
+    public ConvertOptions(String theme, Set<Extension> extensions) {
+        this(theme, extensions, Format.WIKI);
+    }
+
+    public ConvertOptions(String theme) {
+        this(theme, ALL_EXTENSIONS);
+    }
 
     public static ConvertOptions defaults() {
         return new ConvertOptions(null);
@@ -14,4 +62,22 @@ public record ConvertOptions(String theme) {
     public static ConvertOptions withTheme(String theme) {
         return new ConvertOptions(theme);
     }
+
+    /**
+     * 테마는 그대로 두고 사용할 확장 문법만 바꾼 옵션을 반환한다.
+     */
+    public ConvertOptions withExtensions(Set<Extension> extensions) {
+        return new ConvertOptions(theme, extensions, format);
+    }
+
+    /**
+     * 테마와 확장 문법은 그대로 두고 출력 형식만 바꾼 옵션을 반환한다.
+     */
+    public ConvertOptions withFormat(Format format) {
+        return new ConvertOptions(theme, extensions, format);
+    }
+
+    public boolean enabled(Extension extension) {
+        return extensions.contains(extension);
+    }
 }
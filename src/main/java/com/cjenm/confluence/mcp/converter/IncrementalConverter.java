@@ -0,0 +1,145 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 바뀐 블록만 다시 렌더링하는 증분 변환기.
+ * <p>
+ * 큰 문서를 {@link MarkdownChunker}로 최상위 블록 경계에서 나누고, 조각 원문과 {@link ConvertOptions}를
+ * 키로 후처리 전 렌더링 결과를 캐시한다. 문서의 일부만 고쳐 다시 변환하면 바뀐 조각만
+ * {@link ConfluenceNodeRenderer}를 거치고 나머지는 캐시에서 가져온다.
+ * <p>
+ * 후처리는 코드 블록 보존과 줄바꿈 정리가 조각 경계를 넘을 수 있으므로, 이어 붙인 전체 결과에
+ * 한 번 적용한다. 따라서 결과는 {@link ConfluenceConverter#convert(String, ConvertOptions)}와 같다.
+ * {@code converter.incremental.enabled}가 false이거나 문서가 작으면 변환기를 그대로 호출한다.
+ */
+@Component
+public class IncrementalConverter {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ConfluenceConverter converter;
+    private final ConversionMetrics metrics;
+    private final Cache<Key, String> fragments;
+    private final int minDocumentChars;
+    private final int minChunkChars;
+
+    public IncrementalConverter(ConfluenceConverter converter, ConversionMetrics metrics,
+                                ConverterProperties properties) {
+        var config = properties.incremental();
+        this.converter = converter;
+        this.metrics = metrics;
+        this.fragments = config.enabled() ? buildCache(config) : null;
+        this.minDocumentChars = config.minDocumentChars();
+        this.minChunkChars = config.minChunkChars();
+    }
+
+    private record Key(String markdown, ConvertOptions options) {
+    }
+
+    /**
+     * 마크다운 텍스트를 Confluence 위키 마크업으로 변환한다. 바뀌지 않은 조각은 다시 렌더링하지 않는다.
+     */
+    public String convert(String markdown, ConvertOptions options) {
+        if (fragments == null || markdown == null || markdown.length() < minDocumentChars) {
+            return converter.convert(markdown, options);
+        }
+        List<String> chunks = MarkdownChunker.split(markdown, minChunkChars);
+        if (chunks.size() == 1) {
+            return converter.convert(markdown, options);
+        }
+        return assemble(markdown, chunks, options, fragments.asMap());
+    }
+
+    /**
+     * 두 개정판을 함께 변환한다.
+     * <p>
+     * 두 문서를 같은 방식으로 나누므로 공통 앞부분과 뒷부분은 같은 조각이 되고, 같은 조각은 한 번만
+     * 렌더링한다. 증분 변환을 사용하지 않아도 이 호출 안에서는 조각을 재사용한다.
+     * 결과는 각 문서를 {@link ConfluenceConverter#convert(String, ConvertOptions)}로 변환한 것과 같다.
+     */
+    public Revisions convertRevisions(String before, String after, ConvertOptions options) {
+        Map<Key, String> store = fragments != null ? fragments.asMap() : new HashMap<>();
+        return new Revisions(convertWith(before, options, store), convertWith(after, options, store));
+    }
+
+    /**
+     * 두 개정판의 변환 결과.
+     *
+     * @param before 이전 개정판의 변환 결과
+     * @param after  이후 개정판의 변환 결과
+     */
+    public record Revisions(String before, String after) {
+    }
+
+    private String convertWith(String markdown, ConvertOptions options, Map<Key, String> store) {
+        if (markdown == null || markdown.isBlank()) {
+            return converter.convert(markdown, options);
+        }
+        List<String> chunks = MarkdownChunker.split(markdown, minChunkChars);
+        if (chunks.size() == 1) {
+            return converter.convert(markdown, options);
+        }
+        return assemble(markdown, chunks, options, store);
+    }
+
+    /**
+     * 조각별 렌더링 결과를 store에서 찾거나 렌더링하여 이어 붙이고 후처리한다.
+     */
+    private String assemble(String markdown, List<String> chunks, ConvertOptions options, Map<Key, String> store) {
+        long start = System.nanoTime();
+        StringBuilder raw = RenderBuffers.acquire(converter.outputCapacity(markdown.length(), options));
+        int reused = 0;
+        String result;
+        long renderNanos;
+        long postProcessNanos;
+        try {
+            for (String chunk : chunks) {
+                var key = new Key(chunk, options);
+                String fragment = store.get(key);
+                if (fragment != null) {
+                    reused++;
+                } else {
+                    fragment = converter.renderFragment(chunk, options);
+                    store.put(key, fragment);
+                }
+                raw.append(fragment);
+            }
+            renderNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            result = ConfluenceConverter.finishFragments(raw, options);
+            postProcessNanos = System.nanoTime() - start;
+        } finally {
+            RenderBuffers.release(raw);
+        }
+
+        metrics.recordChunked(markdown.length(), renderNanos, postProcessNanos, result.length(),
+                reused, chunks.size() - reused);
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return fragments != null;
+    }
+
+    private static Cache<Key, String> buildCache(ConverterProperties.Incremental config) {
+        return Caffeine.newBuilder()
+                .maximumWeight(config.maximumWeightBytes())
+                .weigher(IncrementalConverter::weigh)
+                .build();
+    }
+
+    private static int weigh(Key key, String fragment) {
+        long bytes = 2L * (key.markdown().length() + fragment.length()) + ENTRY_OVERHEAD_BYTES;
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+}
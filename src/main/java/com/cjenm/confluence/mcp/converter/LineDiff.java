@@ -0,0 +1,240 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 두 텍스트의 줄 단위 차이를 unified diff 형식으로 만든다.
+ * <p>
+ * 공통 앞부분과 뒷부분 줄을 먼저 잘라 내고, 남은 구간에만 Myers O(ND) 알고리즘을 적용한다.
+ * 큰 문서를 조금 고친 경우 D가 작으므로 문서 크기와 거의 무관하게 빠르다. 줄은 비교 전에 정수 ID로
+ * 바꿔 같은 줄을 한 번만 문자열 비교한다.
+ * <p>
+ * 편집 거리가 {@link #MAX_EDIT_DISTANCE}를 넘으면 최단 편집을 찾지 않고 남은 구간 전체를 한 번에
+ * 바꾼 것으로 본다. 결과는 여전히 올바른 패치이지만 최소는 아니다.
+ */
+public final class LineDiff {
+
+    /** 최단 편집을 찾는 최대 편집 거리. 추적 메모리는 이 값의 제곱에 비례한다 */
+    static final int MAX_EDIT_DISTANCE = 1024;
+
+    /**
+     * 줄 단위 패치.
+     *
+     * @param text    unified diff 형식의 패치. 차이가 없으면 빈 문자열
+     * @param added   추가된 줄 수
+     * @param removed 삭제된 줄 수
+     */
+    public record Patch(String text, int added, int removed) {
+    }
+
+    private LineDiff() {
+    }
+
+    /**
+     * 두 텍스트의 unified diff를 만든다.
+     *
+     * @param before       이전 텍스트
+     * @param after        이후 텍스트
+     * @param contextLines 바뀐 줄 앞뒤로 함께 보여 줄 줄 수
+     */
+    public static Patch unified(String before, String after, int contextLines) {
+        if (contextLines < 0) {
+            throw new IllegalArgumentException("contextLines는 0 이상이어야 합니다: " + contextLines);
+        }
+        List<String> a = lines(before);
+        List<String> b = lines(after);
+        var ids = new HashMap<String, Integer>();
+        int[] x = toIds(a, ids);
+        int[] y = toIds(b, ids);
+
+        boolean[] removed = new boolean[x.length];
+        boolean[] added = new boolean[y.length];
+        int prefix = 0;
+        while (prefix < x.length && prefix < y.length && x[prefix] == y[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < x.length - prefix && suffix < y.length - prefix
+                && x[x.length - 1 - suffix] == y[y.length - 1 - suffix]) {
+            suffix++;
+        }
+        mark(x, prefix, x.length - suffix, y, prefix, y.length - suffix, removed, added);
+
+        return format(a, b, changes(removed, added), contextLines);
+    }
+
+    /**
+     * 줄바꿈으로 나눈 줄 목록. 마지막 줄바꿈 뒤의 빈 줄은 포함하지 않는다.
+     */
+    static List<String> lines(String text) {
+        var lines = new ArrayList<String>();
+        int start = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', start)) {
+            lines.add(text.substring(start, i));
+            start = i + 1;
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+
+    private static int[] toIds(List<String> lines, Map<String, Integer> ids) {
+        int[] result = new int[lines.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.computeIfAbsent(lines.get(i), line -> ids.size());
+        }
+        return result;
+    }
+
+    /**
+     * a[aFrom, aTo)를 b[bFrom, bTo)로 바꾸는 최단 편집을 찾아 삭제/추가할 줄을 표시한다.
+     */
+    private static void mark(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+                             boolean[] removed, boolean[] added) {
+        int n = aTo - aFrom;
+        int m = bTo - bFrom;
+        if (n == 0 || m == 0) {
+            Arrays.fill(removed, aFrom, aTo, true);
+            Arrays.fill(added, bFrom, bTo, true);
+            return;
+        }
+        int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        var trace = new ArrayList<int[]>();
+        for (int d = 0; d <= max; d++) {
+            // 이번 라운드에서 읽는 대각선 [-d-1, d+1]만 남긴다
+            trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]))
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[aFrom + x] == b[bFrom + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    backtrack(trace, n, m, aFrom, bFrom, removed, added);
+                    return;
+                }
+            }
+        }
+        // 편집 거리가 상한을 넘으면 구간 전체를 바꾼 것으로 본다
+        Arrays.fill(removed, aFrom, aTo, true);
+        Arrays.fill(added, bFrom, bTo, true);
+    }
+
+    private static void backtrack(List<int[]> trace, int n, int m, int aFrom, int bFrom,
+                                  boolean[] removed, boolean[] added) {
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d > 0; d--) {
+            int[] v = trace.get(d);
+            int base = d + 1;
+            int k = x - y;
+            int prevK = (k == -d || (k != d && v[base + k - 1] < v[base + k + 1])) ? k + 1 : k - 1;
+            int prevX = v[base + prevK];
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                x--;
+                y--;
+            }
+            if (x == prevX) {
+                added[bFrom + prevY] = true;
+            } else {
+                removed[aFrom + prevX] = true;
+            }
+            x = prevX;
+            y = prevY;
+        }
+    }
+
+    /**
+     * 바뀐 구간 [oldFrom, oldTo) → [newFrom, newTo).
+     */
+    private record Change(int oldFrom, int oldTo, int newFrom, int newTo) {
+    }
+
+    private static List<Change> changes(boolean[] removed, boolean[] added) {
+        var changes = new ArrayList<Change>();
+        int i = 0;
+        int j = 0;
+        while (i < removed.length || j < added.length) {
+            if (i < removed.length && j < added.length && !removed[i] && !added[j]) {
+                i++;
+                j++;
+                continue;
+            }
+            int oldFrom = i;
+            int newFrom = j;
+            while (i < removed.length && removed[i]) {
+                i++;
+            }
+            while (j < added.length && added[j]) {
+                j++;
+            }
+            changes.add(new Change(oldFrom, i, newFrom, j));
+        }
+        return changes;
+    }
+
+    /**
+     * 사이의 공통 줄이 context의 두 배 이하인 변경을 한 hunk로 묶어 출력한다.
+     */
+    private static Patch format(List<String> a, List<String> b, List<Change> changes, int context) {
+        var out = new StringBuilder();
+        int addedLines = 0;
+        int removedLines = 0;
+        for (int first = 0; first < changes.size(); ) {
+            int last = first;
+            while (last + 1 < changes.size()
+                    && changes.get(last + 1).oldFrom() - changes.get(last).oldTo() <= 2 * context) {
+                last++;
+            }
+            Change head = changes.get(first);
+            Change tail = changes.get(last);
+            int oldStart = Math.max(0, head.oldFrom() - context);
+            int newStart = head.newFrom() - (head.oldFrom() - oldStart);
+            int oldEnd = Math.min(a.size(), tail.oldTo() + context);
+            int newEnd = tail.newTo() + (oldEnd - tail.oldTo());
+
+            out.append("@@ -").append(range(oldStart, oldEnd)).append(" +").append(range(newStart, newEnd))
+                    .append(" @@\n");
+            int i = oldStart;
+            for (int c = first; c <= last; c++) {
+                Change change = changes.get(c);
+                for (; i < change.oldFrom(); i++) {
+                    out.append(' ').append(a.get(i)).append('\n');
+                }
+                for (; i < change.oldTo(); i++) {
+                    out.append('-').append(a.get(i)).append('\n');
+                }
+                for (int j = change.newFrom(); j < change.newTo(); j++) {
+                    out.append('+').append(b.get(j)).append('\n');
+                }
+                removedLines += change.oldTo() - change.oldFrom();
+                addedLines += change.newTo() - change.newFrom();
+            }
+            for (; i < oldEnd; i++) {
+                out.append(' ').append(a.get(i)).append('\n');
+            }
+            first = last + 1;
+        }
+        return new Patch(out.toString(), addedLines, removedLines);
+    }
+
+    /**
+     * hunk 머리의 범위. 줄 번호는 1부터 세며, 빈 범위는 바로 앞 줄 번호로 쓴다.
+     */
+    private static String range(int from, int to) {
+        int length = to - from;
+        return (length == 0 ? from : from + 1) + "," + length;
+    }
+}
@@ -0,0 +1,296 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 마크다운을 최상위 블록 경계에서 독립적으로 변환할 수 있는 조각으로 나눈다.
+ * <p>
+ * 경계는 빈 줄 다음에 들여쓰기 없이 시작하는 줄 중 리스트 마커가 아닌 줄이다. 이런 줄은 앞의
+ * 리스트, 인용문, 들여쓴 코드, 테이블, 단락을 모두 끝내므로 조각을 따로 파싱해도 결과가 같다.
+ * 열 0의 펜스 코드 블록 안은 나누지 않는다. 또한 flexmark는 리스트 항목 안에서 닫히지 않은 펜스가 있으면
+ * 리스트를 끝내는 첫 줄의 제목을 단락으로 파싱하므로, 그 줄에서도 나누지 않는다.
+ * <p>
+ * 다음 요소는 줄 단위 판단으로 범위를 확정할 수 없으므로, 펜스 밖에서 발견하면 나누지 않고
+ * 문서 전체를 하나의 조각으로 반환한다.
+ * <ul>
+ *     <li>HTML 블록이 될 수 있는 줄 ({@code <}로 시작, 들여쓰기 3칸 이하)</li>
+ *     <li>1~3칸 들여쓴 펜스 줄</li>
+ *     <li>링크 참조 정의 ({@code [id]: url}) — 문서 전체에 영향을 준다</li>
+ * </ul>
+ * 조각 크기는 경계 다음 줄의 해시로 정하므로(내용 기반 분할), 앞부분을 고쳐도 뒤쪽 조각의
+ * 경계는 대부분 그대로 유지된다. 모든 조각을 이어 붙이면 원문과 같다.
+ */
+final class MarkdownChunker {
+
+    /** 경계 줄 해시의 하위 비트가 모두 0일 때 나눈다 (평균 4개 후보마다 한 번) */
+    private static final int BOUNDARY_MASK = 3;
+    /** 조각이 최소 크기의 이 배수를 넘으면 해시와 관계없이 다음 후보에서 나눈다 */
+    private static final int MAX_CHUNK_FACTOR = 4;
+
+    private MarkdownChunker() {
+    }
+
+    /**
+     * 마크다운을 조각 목록으로 나눈다. 나눌 수 없으면 원문 하나만 담긴 목록을 반환한다.
+     *
+     * @param markdown      원문
+     * @param minChunkChars 조각의 최소 문자 수
+     */
+    static List<String> split(String markdown, int minChunkChars) {
+        int[] bounds = boundaries(markdown, minChunkChars);
+        if (bounds.length == 2) {
+            return List.of(markdown);
+        }
+        List<String> chunks = new ArrayList<>(bounds.length - 1);
+        for (int i = 1; i < bounds.length; i++) {
+            chunks.add(markdown.substring(bounds[i - 1], bounds[i]));
+        }
+        return chunks;
+    }
+
+    /**
+     * 조각 경계 위치를 반환한다. 첫 값은 0, 마지막 값은 원문 길이이며 i번째 조각은
+     * {@code [bounds[i], bounds[i + 1])}이다. 나눌 수 없으면 {@code {0, length}}.
+     * <p>
+     * 조각을 복사하지 않으므로, 조각을 하나씩 차례로 변환할 때 원문의 {@link CharSequence#subSequence} 뷰를
+     * 그대로 쓸 수 있다.
+     *
+     * @param markdown      원문
+     * @param minChunkChars 조각의 최소 문자 수
+     */
+    static int[] boundaries(CharSequence markdown, int minChunkChars) {
+        int length = markdown.length();
+        int[] bounds = new int[8];
+        int count = 1;
+        int chunkStart = 0;
+        char fenceChar = 0;
+        int fenceLength = 0;
+        char nestedFenceChar = 0;
+        int nestedFenceLength = 0;
+        boolean afterBlank = false;
+
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = indexOf(markdown, '\n', lineStart, length);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int indent = indentOf(markdown, lineStart, lineEnd);
+            // 탭 들여쓰기이면 실제 위치와 다를 수 있지만, 그때는 indent가 4 이상이라 사용하지 않는다
+            int contentStart = lineStart + indent;
+            boolean blank = isBlank(markdown, lineStart, lineEnd);
+
+            if (fenceChar != 0) {
+                if (indent > 0 && indent <= 3 && fenceRun(markdown, contentStart, lineEnd) > 0) {
+                    return new int[] {0, length};
+                }
+                if (indent == 0 && isFenceClose(markdown, contentStart, lineEnd, fenceChar, fenceLength)) {
+                    fenceChar = 0;
+                }
+                afterBlank = false;
+            } else if (blank) {
+                afterBlank = true;
+            } else {
+                if (indent <= 3 && isUndecidable(markdown, contentStart, lineEnd, indent)) {
+                    return new int[] {0, length};
+                }
+                boolean topLevel = indent == 0 && !isListMarker(markdown, contentStart, lineEnd);
+                if (topLevel && afterBlank && nestedFenceChar == 0) {
+                    int size = lineStart - chunkStart;
+                    if (size >= minChunkChars
+                            && ((lineHash(markdown, lineStart, lineEnd) & BOUNDARY_MASK) == 0
+                            || size >= minChunkChars * MAX_CHUNK_FACTOR)) {
+                        if (count == bounds.length) {
+                            bounds = Arrays.copyOf(bounds, count * 2);
+                        }
+                        bounds[count++] = lineStart;
+                        chunkStart = lineStart;
+                    }
+                }
+                if (topLevel) {
+                    // 리스트 항목 안의 펜스는 리스트가 끝나면 함께 닫힌다
+                    nestedFenceChar = 0;
+                }
+                int from = containerContentStart(markdown, lineStart, lineEnd);
+                int run = from < lineEnd ? fenceRun(markdown, from, lineEnd) : 0;
+                if (run > 0 && from == lineStart) {
+                    fenceChar = markdown.charAt(from);
+                    fenceLength = run;
+                } else if (nestedFenceChar != 0) {
+                    // 펜스 안의 리스트 마커는 코드 내용이므로 닫는 펜스는 들여쓰기 바로 뒤에서만 찾는다
+                    if (isFenceClose(markdown, contentStart, lineEnd, nestedFenceChar, nestedFenceLength)) {
+                        nestedFenceChar = 0;
+                    }
+                } else if (run > 0) {
+                    nestedFenceChar = markdown.charAt(from);
+                    nestedFenceLength = run;
+                }
+                afterBlank = false;
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        bounds = Arrays.copyOf(bounds, count + 1);
+        bounds[count] = length;
+        return bounds;
+    }
+
+    /**
+     * 들여쓰기와 앞의 리스트 마커(체크박스 포함), 인용문 표시({@code >})를 건너뛴 줄 내용의 시작 위치.
+     */
+    private static int containerContentStart(CharSequence text, int from, int to) {
+        int p = from;
+        while (true) {
+            while (p < to && isBlankChar(text.charAt(p))) {
+                p++;
+            }
+            if (p < to && text.charAt(p) == '>') {
+                p++;
+            } else if (p < to && listMarkerEnd(text, p, to) >= 0) {
+                p = listMarkerEnd(text, p, to);
+                while (p < to && isBlankChar(text.charAt(p))) {
+                    p++;
+                }
+                if (isTaskCheckbox(text, p, to)) {
+                    p += 3;
+                }
+            } else {
+                return p;
+            }
+        }
+    }
+
+    /**
+     * 체크박스 리스트 항목의 {@code [ ]} 또는 {@code [x]}인지 확인한다.
+     */
+    private static boolean isTaskCheckbox(CharSequence text, int from, int to) {
+        if (from + 3 > to || text.charAt(from) != '[' || text.charAt(from + 2) != ']') {
+            return false;
+        }
+        char mark = text.charAt(from + 1);
+        return (mark == ' ' || mark == 'x' || mark == 'X') && (from + 3 == to || isBlankChar(text.charAt(from + 3)));
+    }
+
+    /**
+     * 줄 단위로 범위를 판단할 수 없는 줄인지 확인한다. (HTML 블록 후보, 들여쓴 펜스, 링크 참조 정의)
+     */
+    private static boolean isUndecidable(CharSequence text, int from, int to, int indent) {
+        char first = text.charAt(from);
+        if (first == '<') {
+            return true;
+        }
+        if (indent > 0 && fenceRun(text, from, to) > 0) {
+            return true;
+        }
+        // 인용문이나 리스트 안의 정의도 문서 전체에 적용되므로 줄 어디든 "]:"가 있으면 보수적으로 판단한다
+        int close = indexOf(text, ']', from, to);
+        while (close >= 0 && close + 1 < to && text.charAt(close + 1) != ':') {
+            close = indexOf(text, ']', close + 1, to);
+        }
+        return close >= 0 && close + 1 < to && indexOf(text, '[', from, close) >= 0;
+    }
+
+    /**
+     * from에서 시작하는 펜스 여는 줄의 펜스 문자 수를 반환한다. 펜스가 아니면 0.
+     * 백틱 펜스의 정보 문자열에는 백틱이 올 수 없다.
+     */
+    private static int fenceRun(CharSequence text, int from, int to) {
+        char c = text.charAt(from);
+        if (c != '`' && c != '~') {
+            return 0;
+        }
+        int p = from;
+        while (p < to && text.charAt(p) == c) {
+            p++;
+        }
+        int run = p - from;
+        if (run < 3) {
+            return 0;
+        }
+        if (c == '`' && indexOf(text, '`', p, to) >= 0) {
+            return 0;
+        }
+        return run;
+    }
+
+    private static boolean isFenceClose(CharSequence text, int from, int to, char fenceChar, int fenceLength) {
+        int p = from;
+        while (p < to && text.charAt(p) == fenceChar) {
+            p++;
+        }
+        return p - from >= fenceLength && isBlank(text, p, to);
+    }
+
+    /**
+     * 글머리 기호({@code - + *}) 또는 번호({@code 1. 1)}) 리스트 마커로 시작하는지 확인한다.
+     */
+    private static boolean isListMarker(CharSequence text, int from, int to) {
+        return listMarkerEnd(text, from, to) >= 0;
+    }
+
+    /**
+     * from에서 시작하는 리스트 마커 바로 뒤의 위치. 리스트 마커가 아니면 -1.
+     */
+    private static int listMarkerEnd(CharSequence text, int from, int to) {
+        char c = text.charAt(from);
+        int p;
+        if (c == '-' || c == '+' || c == '*') {
+            p = from + 1;
+        } else {
+            p = from;
+            while (p < to && p - from < 10 && Character.isDigit(text.charAt(p))) {
+                p++;
+            }
+            if (p == from || p - from > 9 || p >= to || (text.charAt(p) != '.' && text.charAt(p) != ')')) {
+                return -1;
+            }
+            p++;
+        }
+        return p >= to || isBlankChar(text.charAt(p)) ? p : -1;
+    }
+
+    private static int indentOf(CharSequence text, int from, int to) {
+        int p = from;
+        while (p < to && text.charAt(p) == ' ') {
+            p++;
+        }
+        // 탭은 4칸 들여쓰기로 취급한다
+        if (p < to && text.charAt(p) == '\t') {
+            return Math.max(4, p - from);
+        }
+        return p - from;
+    }
+
+    private static int indexOf(CharSequence text, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(CharSequence text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isBlankChar(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlankChar(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static int lineHash(CharSequence text, int from, int to) {
+        int h = 0;
+        int end = Math.min(to, from + 64);
+        for (int i = from; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h ^ (h >>> 16) ^ (h >>> 8);
+    }
+}
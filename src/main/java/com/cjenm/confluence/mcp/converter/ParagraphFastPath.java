@@ -0,0 +1,303 @@
+package com.cjenm.confluence.mcp.converter;
+
+/**
+ * 단락만으로 이루어진 짧은 마크다운을 AST 없이 한 번에 훑어 렌더링하는 빠른 경로.
+ * <p>
+ * 굵게, 기울임, 인라인 코드, 인라인 링크만 있는 단락이면 {@link ConfluenceNodeRenderer}가 만들었을
+ * 후처리 전 결과를 그대로 만든다. 후처리는 {@link ConfluencePostProcessor}를 함께 쓰므로 결과는 전체
+ * 파이프라인과 같다.
+ * <p>
+ * CommonMark 규칙을 모두 재현하지 않고, 판단이 애매한 입력은 모두 거부한다. 줄 앞이 블록 시작
+ * 문자이거나 앞뒤 공백이 있는 줄, 백슬래시, HTML, 테이블, 취소선, 이미지, 참조 링크, 줄을 넘거나
+ * 중첩된 강조, 짝이 맞지 않는 구분자가 있으면 {@link #render}가 false를 반환하고 호출자는 전체
+ * 파이프라인으로 변환한다.
+ */
+final class ParagraphFastPath {
+
+    private static final String CODE_SPAN_START = "\0CS\0";
+    private static final String CODE_SPAN_END = "\0CE\0";
+
+    /** 구분자 앞뒤 문자 분류 */
+    private static final int WHITESPACE = 0;
+    private static final int PUNCTUATION = 1;
+    private static final int ALPHANUMERIC = 2;
+    private static final int OTHER = 3;
+
+    private ParagraphFastPath() {
+    }
+
+    /**
+     * 단락만으로 이루어진 마크다운이면 후처리 전 결과를 raw에 쓰고 true를 반환한다.
+     * 빠른 경로로 처리할 수 없으면 false를 반환하며, 이때 raw에 쓴 내용은 버려야 한다.
+     */
+    static boolean render(CharSequence markdown, StringBuilder raw) {
+        int length = markdown.length();
+        boolean inParagraph = false;
+        int p = 0;
+        while (p < length) {
+            int lineEnd = lineEnd(markdown, p);
+            if (isBlank(markdown, p, lineEnd)) {
+                if (inParagraph) {
+                    raw.append("\n\n");
+                    inParagraph = false;
+                }
+            } else {
+                if (!isParagraphLine(markdown, p, lineEnd)) {
+                    return false;
+                }
+                if (inParagraph) {
+                    raw.append('\n');
+                }
+                if (!renderLine(markdown, p, lineEnd, raw)) {
+                    return false;
+                }
+                inParagraph = true;
+            }
+            p = lineEnd + 1;
+        }
+        if (inParagraph) {
+            raw.append("\n\n");
+        }
+        return true;
+    }
+
+    private static int lineEnd(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private static boolean isBlank(CharSequence text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 단락의 한 줄로만 해석되는 줄인지 판단한다. 블록을 시작하거나 단락을 끊을 수 있는 줄은 거부한다.
+     */
+    private static boolean isParagraphLine(CharSequence text, int from, int to) {
+        char first = text.charAt(from);
+        char last = text.charAt(to - 1);
+        if (isSpace(first) || isSpace(last)) {
+            return false;
+        }
+        switch (first) {
+            case '#', '>', '-', '+', '=', '~', '<', '|' -> {
+                return false;
+            }
+            case '*', '_' -> {
+                // 리스트 마커나 구분선이 될 수 있는 줄
+                if (to - from == 1 || text.charAt(from + 1) == ' ' || text.charAt(from + 1) == '\t') {
+                    return false;
+                }
+                for (int i = from; i < to; i++) {
+                    if ("*_- \t".indexOf(text.charAt(i)) < 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            default -> {
+                // 순서 있는 리스트 마커 (예: "1." "2)")
+                int i = from;
+                while (i < to && i - from < 10 && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                    i++;
+                }
+                return i == from || i == to || (text.charAt(i) != '.' && text.charAt(i) != ')');
+            }
+        }
+    }
+
+    /**
+     * 한 줄의 인라인 요소를 렌더링한다. 강조는 같은 줄 안에서 닫혀야 하며 중첩하지 않는다.
+     */
+    private static boolean renderLine(CharSequence text, int from, int to, StringBuilder raw) {
+        char openChar = 0;
+        int openLength = 0;
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '{', '}' -> {
+                    raw.append('\\').append(c);
+                    i++;
+                }
+                case '`' -> {
+                    i = codeSpan(text, i, to, raw);
+                    if (i < 0) {
+                        return false;
+                    }
+                }
+                case '[' -> {
+                    if (openChar != 0) {
+                        return false;
+                    }
+                    i = link(text, i, to, raw);
+                    if (i < 0) {
+                        return false;
+                    }
+                }
+                case '*', '_' -> {
+                    int end = i;
+                    while (end < to && text.charAt(end) == c) {
+                        end++;
+                    }
+                    int runLength = end - i;
+                    int before = i == from ? WHITESPACE : classify(text.charAt(i - 1));
+                    int after = end == to ? WHITESPACE : classify(text.charAt(end));
+                    if (runLength > 2 || before == OTHER || after == OTHER) {
+                        return false;
+                    }
+                    boolean leftFlanking = after != WHITESPACE
+                            && (after != PUNCTUATION || before == WHITESPACE || before == PUNCTUATION);
+                    boolean rightFlanking = before != WHITESPACE
+                            && (before != PUNCTUATION || after == WHITESPACE || after == PUNCTUATION);
+                    boolean canOpen = c == '*'
+                            ? leftFlanking
+                            : leftFlanking && (!rightFlanking || before == PUNCTUATION);
+                    boolean canClose = c == '*'
+                            ? rightFlanking
+                            : rightFlanking && (!leftFlanking || after == PUNCTUATION);
+                    // 여닫기가 모두 가능한 구분자(예: "**굵게**는"의 닫는 쪽)는 열린 강조가 있으면 닫는다
+                    if (canClose && (openChar != 0 || !canOpen)) {
+                        if (openChar != c || openLength != runLength) {
+                            return false;
+                        }
+                        openChar = 0;
+                        raw.append(runLength == 2 ? '*' : '_');
+                    } else if (canOpen) {
+                        if (openChar != 0) {
+                            return false;
+                        }
+                        openChar = c;
+                        openLength = runLength;
+                        raw.append(runLength == 2 ? '*' : '_');
+                    } else {
+                        raw.append(text, i, end);
+                    }
+                    i = end;
+                }
+                case ']', '\\', '<', '|', '~' -> {
+                    return false;
+                }
+                case '!' -> {
+                    if (i + 1 < to && text.charAt(i + 1) == '[') {
+                        return false;
+                    }
+                    raw.append(c);
+                    i++;
+                }
+                default -> {
+                    if (c < ' ' && c != '\t' || c == '\uFEFF') {
+                        return false;
+                    }
+                    raw.append(c);
+                    i++;
+                }
+            }
+        }
+        return openChar == 0;
+    }
+
+    /**
+     * 백틱 하나로 감싼 인라인 코드를 렌더링하고 다음 위치를 반환한다. 처리할 수 없으면 -1.
+     */
+    private static int codeSpan(CharSequence text, int open, int to, StringBuilder raw) {
+        int close = open + 1;
+        while (close < to && text.charAt(close) != '`') {
+            close++;
+        }
+        if (close >= to || close == open + 1 || text.charAt(open + 1) == ' ' || text.charAt(close - 1) == ' '
+                || (close + 1 < to && text.charAt(close + 1) == '`')) {
+            return -1;
+        }
+        raw.append(CODE_SPAN_START);
+        for (int i = open + 1; i < close; i++) {
+            char c = text.charAt(i);
+            if (c < ' ' && c != '\t') {
+                return -1;
+            }
+            if (c == '{' || c == '}' || c == '\\') {
+                raw.append('\\');
+            }
+            raw.append(c);
+        }
+        raw.append(CODE_SPAN_END);
+        return close + 1;
+    }
+
+    /**
+     * {@code [텍스트](URL)} 형태의 인라인 링크를 렌더링하고 다음 위치를 반환한다. 처리할 수 없으면 -1.
+     */
+    private static int link(CharSequence text, int open, int to, StringBuilder raw) {
+        int close = open + 1;
+        while (close < to && isLinkTextChar(text.charAt(close))) {
+            close++;
+        }
+        if (close >= to || text.charAt(close) != ']' || close == open + 1
+                || isSpace(text.charAt(open + 1)) || isSpace(text.charAt(close - 1))
+                || close + 1 >= to || text.charAt(close + 1) != '(') {
+            return -1;
+        }
+        int urlStart = close + 2;
+        int urlEnd = urlStart;
+        while (urlEnd < to && isUrlChar(text.charAt(urlEnd))) {
+            urlEnd++;
+        }
+        if (urlEnd >= to || text.charAt(urlEnd) != ')' || urlEnd == urlStart) {
+            return -1;
+        }
+
+        var label = new StringBuilder(close - open + 8);
+        for (int i = open + 1; i < close; i++) {
+            char c = text.charAt(i);
+            if (c == '{' || c == '}') {
+                label.append('\\');
+            }
+            label.append(c);
+        }
+        CharSequence url = text.subSequence(urlStart, urlEnd);
+        if (CharSequence.compare(label, url) != 0) {
+            raw.append('[').append(label).append('|').append(url).append(']');
+        } else {
+            raw.append('[').append(url).append(']');
+        }
+        return urlEnd + 1;
+    }
+
+    private static boolean isLinkTextChar(char c) {
+        return c >= ' ' && "[]`*_\\<>!~|".indexOf(c) < 0 || c == '\t';
+    }
+
+    private static boolean isUrlChar(char c) {
+        return c < 128 && (Character.isLetterOrDigit(c) || "-._~:/?#@$&+,;=%".indexOf(c) >= 0);
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    /**
+     * CommonMark 구분자 규칙에 쓰는 문자 분류. ASCII 밖의 기호처럼 분류가 애매한 문자는 {@link #OTHER}.
+     */
+    private static int classify(char c) {
+        if (c == ' ' || c == '\t') {
+            return WHITESPACE;
+        }
+        if (c < 128 && "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~".indexOf(c) >= 0) {
+            return PUNCTUATION;
+        }
+        if (Character.isLetterOrDigit(c)) {
+            return ALPHANUMERIC;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,185 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * 렌더링과 후처리 단계의 출력 버퍼({@link StringBuilder})를 스레드마다 재사용하는 풀.
+ * <p>
+ * 변환마다 기본 용량에서 시작한 버퍼가 두 배씩 늘어나며 복사되는 것을 피하도록, 다 쓴 버퍼를
+ * 스레드별로 몇 개 보관했다가 다음 변환에 다시 쓴다. 스레드마다 보관하는 버퍼 수는
+ * {@link #BUFFERS_PER_THREAD}, 용량 합계는 {@link #MAX_POOLED_CHARS_PER_THREAD}로 제한하며,
+ * 큰 문서 때문에 커진 버퍼는 돌려받지 않고 버려서 메모리를 계속 붙잡지 않게 한다.
+ * <p>
+ * 풀은 변환한 적이 있는 모든 플랫폼 스레드(요청 스레드, 병렬 변환·일괄 변환·내보내기 작업 스레드)에 쉬는 동안에도
+ * 남으므로, 스레드당 상한을 작게 두어 스레드 수백 개에서도 합계가 수십 MB를 넘지 않게 한다. 상한보다 큰
+ * 출력을 만드는 문서는 풀을 쓰지 않을 때와 같이 새 버퍼를 할당한다.
+ * <p>
+ * 가상 스레드는 요청마다 새로 만들어지므로 스레드별 풀이 재사용되지 않는다. 가상 스레드에서는 풀을 쓰지 않고
+ * 요청한 용량으로 새 버퍼를 만든다.
+ * <p>
+ * {@link #acquire}로 받은 버퍼는 {@link #release}로 돌려준 뒤에는 쓰지 않아야 한다. 돌려주지 않은 버퍼는
+ * 일반 객체처럼 GC가 회수한다.
+ */
+final class RenderBuffers {
+
+    /** 스레드마다 보관하는 최대 버퍼 수. 한 번의 변환에서 동시에 쓰는 버퍼 수(최대 3개)보다 많아야 한다 */
+    static final int BUFFERS_PER_THREAD = 4;
+
+    /** 스레드마다 보관하는 버퍼 용량 합계 상한 (문자 수). 스레드 하나에 최대 128KB */
+    static final int MAX_POOLED_CHARS_PER_THREAD = 64 * 1024;
+
+    private static final ThreadLocal<Pool> POOLS = ThreadLocal.withInitial(Pool::new);
+
+    /** Java 21 이상의 {@code Thread.isVirtual()}. 그 미만에서는 null */
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    /** 벤치마크에서 풀을 쓰지 않는 경우와 비교하기 위한 스위치 */
+    private static volatile boolean enabled = true;
+
+    private RenderBuffers() {
+    }
+
+    /**
+     * 용량이 capacity 이상인 빈 버퍼를 반환한다.
+     */
+    static StringBuilder acquire(int capacity) {
+        if (enabled && !isVirtual(Thread.currentThread())) {
+            StringBuilder buffer = POOLS.get().take(capacity);
+            if (buffer != null) {
+                return buffer;
+            }
+        }
+        return new StringBuilder(capacity);
+    }
+
+    /**
+     * 다 쓴 버퍼를 풀에 돌려준다. 풀이 가득 찼거나 버퍼가 너무 크면 버린다.
+     */
+    static void release(StringBuilder buffer) {
+        if (enabled && !isVirtual(Thread.currentThread())) {
+            POOLS.get().give(buffer);
+        }
+    }
+
+    static void setEnabled(boolean enabled) {
+        RenderBuffers.enabled = enabled;
+    }
+
+    /**
+     * 현재 스레드의 풀에 보관 중인 버퍼 수.
+     */
+    static int pooledBuffers() {
+        return POOLS.get().size;
+    }
+
+    /**
+     * 스레드 하나의 버퍼 목록. 해당 스레드만 접근하므로 동기화하지 않는다.
+     */
+    private static final class Pool {
+
+        private final StringBuilder[] buffers = new StringBuilder[BUFFERS_PER_THREAD];
+        private int size;
+        private long pooledChars;
+
+        /**
+         * 용량이 충분한 버퍼 중 가장 작은 것을, 없으면 가장 큰 것을 늘려 꺼낸다.
+         */
+        StringBuilder take(int capacity) {
+            if (size == 0) {
+                return null;
+            }
+            int best = -1;
+            int largest = 0;
+            for (int i = 0; i < size; i++) {
+                int available = buffers[i].capacity();
+                if (available >= capacity && (best < 0 || available < buffers[best].capacity())) {
+                    best = i;
+                }
+                if (available > buffers[largest].capacity()) {
+                    largest = i;
+                }
+            }
+            int index = best >= 0 ? best : largest;
+            StringBuilder buffer = buffers[index];
+            pooledChars -= buffer.capacity();
+            buffers[index] = buffers[--size];
+            buffers[size] = null;
+            buffer.ensureCapacity(capacity);
+            return buffer;
+        }
+
+        void give(StringBuilder buffer) {
+            if (size == BUFFERS_PER_THREAD || pooledChars + buffer.capacity() > MAX_POOLED_CHARS_PER_THREAD) {
+                return;
+            }
+            buffer.setLength(0);
+            buffers[size++] = buffer;
+            pooledChars += buffer.capacity();
+        }
+    }
+
+    /**
+     * 입력 크기에 대한 출력 크기 비율의 이동 평균으로 출력 버퍼의 초기 용량을 정한다.
+     * <p>
+     * 여러 스레드가 동시에 갱신하면 일부 관측값이 반영되지 않을 수 있지만, 추정치일 뿐이므로 잠그지 않는다.
+     */
+    static final class SizeEstimate {
+
+        private static final double MIN_RATIO = 0.25;
+        private static final double MAX_RATIO = 8.0;
+        /** 관측값 하나가 평균에 반영되는 비율 */
+        private static final double WEIGHT = 1.0 / 8;
+        /** 이보다 작은 입력은 고정 비용이 커서 비율을 왜곡하므로 관측하지 않는다 */
+        private static final int MIN_OBSERVED_CHARS = 256;
+
+        private volatile double ratio;
+
+        SizeEstimate(double initialRatio) {
+            this.ratio = initialRatio;
+        }
+
+        /**
+         * 입력 길이에 대한 출력 버퍼 초기 용량. 평균보다 조금 크게 잡아 대부분 늘리지 않게 한다.
+         */
+        int capacity(int inputChars) {
+            long capacity = (long) (inputChars * ratio * 1.125) + 64;
+            return (int) Math.min(capacity, Integer.MAX_VALUE - 16);
+        }
+
+        void observe(int inputChars, int outputChars) {
+            if (inputChars < MIN_OBSERVED_CHARS) {
+                return;
+            }
+            double observed = Math.max(MIN_RATIO, Math.min(MAX_RATIO, (double) outputChars / inputChars));
+            double current = ratio;
+            ratio = current + (observed - current) * WEIGHT;
+        }
+
+        double ratio() {
+            return ratio;
+        }
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            // Java 21 미만에는 가상 스레드가 없다
+            return null;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 저장 형식(XHTML) 렌더링 결과를 출력 대상에 바로 쓰는 출력.
+ * <p>
+ * {@link ConfluenceStorageNodeRenderer}는 완성된 XHTML을 만들므로 위키 마크업과 같은 후처리
+ * ({@link ConfluencePostProcessor})는 필요 없다. 위키 마크업 결과와 같은 모양이 되도록 앞쪽 줄바꿈을 버리고,
+ * 끝의 줄바꿈은 하나로 맞춘다. 끝인지 알 수 없는 줄바꿈만 잠시 세어 두고 나머지는 바로 내보낸다.
+ * <p>
+ * flexmark는 렌더링 결과를 내보낼 때 {@link IOException}을 삼키므로, 출력 오류를 기억해 두었다가
+ * {@link #finish()}에서 다시 던진다. 인스턴스는 스레드 안전하지 않다.
+ */
+final class StorageFormatOutput implements Appendable {
+
+    private final Appendable out;
+    private int pendingNewlines;
+    private boolean started;
+    private IOException failure;
+    private long writtenChars;
+
+    StorageFormatOutput(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * 전체 텍스트를 정리하여 문자열로 반환한다.
+     */
+    static String process(CharSequence text) {
+        StringBuilder result = RenderBuffers.acquire(text.length() + 1);
+        var output = new StorageFormatOutput(result);
+        try {
+            output.append(text);
+            output.finish();
+            return result.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RenderBuffers.release(result);
+        }
+    }
+
+    @Override
+    public StorageFormatOutput append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public StorageFormatOutput append(CharSequence csq, int start, int end) throws IOException {
+        int content = end;
+        while (content > start && csq.charAt(content - 1) == '\n') {
+            content--;
+        }
+        if (!started) {
+            while (start < content && csq.charAt(start) == '\n') {
+                start++;
+            }
+        }
+        if (start < content) {
+            write(csq, start, content);
+        }
+        pendingNewlines += end - Math.max(start, content);
+        return this;
+    }
+
+    @Override
+    public StorageFormatOutput append(char c) throws IOException {
+        if (c == '\n') {
+            pendingNewlines++;
+        } else {
+            write(String.valueOf(c), 0, 1);
+        }
+        return this;
+    }
+
+    private void write(CharSequence csq, int start, int end) throws IOException {
+        try {
+            // 앞쪽 줄바꿈은 버리고, 내용 사이의 줄바꿈은 그대로 내보낸다
+            if (started) {
+                for (; pendingNewlines > 0; pendingNewlines--) {
+                    out.append('\n');
+                    writtenChars++;
+                }
+            }
+            out.append(csq, start, end);
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        writtenChars += end - start;
+        started = true;
+        pendingNewlines = 0;
+    }
+
+    /**
+     * 내용이 있었으면 마지막에 줄바꿈 하나를 붙인다.
+     */
+    void finish() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (started) {
+            out.append('\n');
+            writtenChars++;
+        }
+    }
+
+    /**
+     * 출력 대상에 쓴 문자 수.
+     */
+    long writtenChars() {
+        return writtenChars;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cjenm.confluence.mcp.template;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 템플릿 파일 형식.
+ * <p>
+ * 파일은 UTF-8 마크다운이며, 맨 앞에 {@code ---} 줄로 감싼 {@code key: value} 메타데이터 머리말을 둘 수 있다.
+ * <pre>
+ * ---
+ * id: weekly-report
+ * name: 주간 보고
+ * description: 팀 주간 업무 보고서
+ * ---
+ * # 주간 보고
+ * </pre>
+ * {@code id}를 생략하면 파일 이름(확장자 제외), {@code name}을 생략하면 ID를 쓴다. 모르는 키는 무시한다.
+ */
+final class TemplateFile {
+
+    /** 템플릿 파일 확장자 */
+    static final String EXTENSION = ".md";
+
+    private static final String DELIMITER = "---";
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private TemplateFile() {
+    }
+
+    static boolean isTemplateFile(Path file) {
+        return file.getFileName().toString().endsWith(EXTENSION) && Files.isRegularFile(file);
+    }
+
+    static Template read(Path file) throws IOException {
+        return parse(file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param fileName 파일 이름. 머리말에 ID가 없으면 확장자를 뺀 이름을 ID로 쓴다
+     * @param text     파일 내용
+     * @throws IllegalArgumentException 머리말이나 ID 형식이 잘못된 경우
+     */
+    static Template parse(String fileName, String text) {
+        String id = fileName.endsWith(EXTENSION)
+                ? fileName.substring(0, fileName.length() - EXTENSION.length())
+                : fileName;
+        String name = null;
+        String description = "";
+
+        List<String> lines = (text.startsWith("\uFEFF") ? text.substring(1) : text).lines().toList();
+        int body = 0;
+        if (!lines.isEmpty() && lines.get(0).strip().equals(DELIMITER)) {
+            int end = 1;
+            while (end < lines.size() && !lines.get(end).strip().equals(DELIMITER)) {
+                end++;
+            }
+            if (end == lines.size()) {
+                throw new IllegalArgumentException("메타데이터 머리말이 '" + DELIMITER + "'로 닫히지 않았습니다: " + fileName);
+            }
+            for (String line : lines.subList(1, end)) {
+                if (line.isBlank() || line.strip().startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("메타데이터는 'key: value' 형식이어야 합니다: " + fileName + ": " + line);
+                }
+                String value = unquote(line.substring(colon + 1).strip());
+                switch (line.substring(0, colon).strip().toLowerCase(Locale.ROOT)) {
+                    case "id" -> id = value;
+                    case "name" -> name = value;
+                    case "description" -> description = value;
+                    default -> {
+                        // 다른 도구가 쓰는 키는 무시한다
+                    }
+                }
+            }
+            body = end + 1;
+        }
+        while (body < lines.size() && lines.get(body).isBlank()) {
+            body++;
+        }
+
+        if (!ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("템플릿 ID 형식이 잘못되었습니다: " + fileName + ": " + id);
+        }
+        String content = body < lines.size() ? String.join("\n", lines.subList(body, lines.size())) + "\n" : "";
+        return new Template(id, name == null || name.isBlank() ? id : name, description, content);
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2) {
+            char first = value.charAt(0);
+            if ((first == '"' || first == '\'') && value.charAt(value.length() - 1) == first) {
+                return value.substring(1, value.length() - 1);
+            }
+        }
+        return value;
+    }
+}
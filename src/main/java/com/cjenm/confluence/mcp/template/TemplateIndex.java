@@ -0,0 +1,150 @@
+package com.cjenm.confluence.mcp.template;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 템플릿 이름, 설명, 제목(heading)의 역색인.
+ * <p>
+ * 단어(글자와 숫자의 연속, 소문자)마다 그 단어가 나오는 템플릿과 가중치(이름 3, 제목 2, 설명 1의 합)를
+ * 정렬된 맵에 저장한다. 검색어의 단어마다 그 단어로 시작하는 색인 단어의 범위만 훑으므로(완전히 같은 단어는
+ * 가중치 두 배), 템플릿 수가 늘어도 전체를 훑지 않는다. 검색어의 모든 단어가 나오는 템플릿만 점수 순으로 반환한다.
+ * <p>
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드가 잠금 없이 검색할 수 있다.
+ */
+public final class TemplateIndex {
+
+    static final int NAME_WEIGHT = 3;
+    static final int HEADING_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private record Posting(int template, int weight) {
+    }
+
+    private final List<Template> templates;
+    private final NavigableMap<String, List<Posting>> postings;
+
+    private TemplateIndex(List<Template> templates, NavigableMap<String, List<Posting>> postings) {
+        this.templates = templates;
+        this.postings = postings;
+    }
+
+    static TemplateIndex build(List<Template> templates) {
+        var weights = new TreeMap<String, Map<Integer, Integer>>();
+        for (int i = 0; i < templates.size(); i++) {
+            Template template = templates.get(i);
+            add(weights, i, tokens(template.name()), NAME_WEIGHT);
+            add(weights, i, tokens(String.join("\n", headings(template.content()))), HEADING_WEIGHT);
+            add(weights, i, tokens(template.description()), DESCRIPTION_WEIGHT);
+        }
+
+        var postings = new TreeMap<String, List<Posting>>();
+        weights.forEach((token, byTemplate) -> postings.put(token, byTemplate.entrySet().stream()
+                .map(e -> new Posting(e.getKey(), e.getValue()))
+                .toList()));
+        return new TemplateIndex(templates, postings);
+    }
+
+    private static void add(Map<String, Map<Integer, Integer>> weights, int template, Set<String> tokens, int weight) {
+        for (String token : tokens) {
+            weights.computeIfAbsent(token, t -> new HashMap<>()).merge(template, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * @param query 검색어. 공백이나 문장 부호로 나눈 단어가 모두 나오는 템플릿을 찾는다
+     * @param limit 최대 결과 수
+     * @return 점수가 높은 순(같으면 목록 순서)의 템플릿
+     */
+    public List<Template> search(String query, int limit) {
+        Map<Integer, Integer> scores = null;
+        for (String term : tokens(query)) {
+            Map<Integer, Integer> termScores = new HashMap<>();
+            for (var entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                int boost = entry.getKey().equals(term) ? 2 : 1;
+                for (Posting posting : entry.getValue()) {
+                    termScores.merge(posting.template(), posting.weight() * boost, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((template, score) -> score + termScores.get(template));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> templates.get(e.getKey()))
+                .toList();
+    }
+
+    /** 색인된 서로 다른 단어 수 */
+    int size() {
+        return postings.size();
+    }
+
+    /**
+     * 글자와 숫자의 연속을 소문자 단어로 나눈다.
+     */
+    static Set<String> tokens(String text) {
+        var tokens = new LinkedHashSet<String>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 코드 블록 밖의 ATX 제목({@code #} ~ {@code ######}) 텍스트.
+     */
+    static Collection<String> headings(String markdown) {
+        var headings = new ArrayList<String>();
+        String fence = null;
+        for (String line : markdown.lines().toList()) {
+            String stripped = line.stripLeading();
+            if (fence != null) {
+                if (stripped.startsWith(fence)) {
+                    fence = null;
+                }
+                continue;
+            }
+            if (stripped.startsWith("```") || stripped.startsWith("~~~")) {
+                fence = stripped.substring(0, 3);
+                continue;
+            }
+            int level = 0;
+            while (level < stripped.length() && stripped.charAt(level) == '#') {
+                level++;
+            }
+            if (level >= 1 && level <= 6 && (level == stripped.length() || stripped.charAt(level) == ' ')) {
+                headings.add(stripped.substring(level).strip());
+            }
+        }
+        return headings;
+    }
+}
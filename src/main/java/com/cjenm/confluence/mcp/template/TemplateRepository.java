@@ -1,36 +1,205 @@
 package com.cjenm.confluence.mcp.template;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.cjenm.confluence.mcp.config.TemplateProperties;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
  * 마크다운 문서 템플릿 저장소.
- * 4개의 기본 템플릿을 하드코딩으로 제공한다.
+ * <p>
+ * 4개의 기본 템플릿을 내장하고, {@code templates.directory}를 설정하면 그 디렉터리의 템플릿 파일({@code *.md},
+ * 형식은 {@link TemplateFile})을 더한다. 같은 ID는 디렉터리 템플릿이 내장 템플릿을 대신한다.
+ * <p>
+ * 템플릿 목록과 검색 색인은 불변 {@link TemplateSnapshot}으로 만들어 volatile 필드 하나로 공개한다.
+ * 조회와 검색은 잠금 없이 그 시점의 스냅샷을 읽고, 다시 읽을 때는 새 스냅샷을 만든 뒤 한 번에 바꾼다.
+ * {@code templates.watch}가 켜져 있으면 감시 스레드가 디렉터리 변경을 보고 다시 읽으며, 편집기가 여러 번에
+ * 나눠 쓰는 변경은 {@code templates.reload-delay-millis} 동안 모아서 한 번만 반영한다.
+ * 읽지 못한 파일은 경고를 남기고 건너뛰며, 디렉터리를 읽지 못하면 이전 스냅샷을 유지한다.
  */
 @Repository
 public class TemplateRepository {
 
-    private final Map<String, Template> templates;
+    private static final Logger log = LoggerFactory.getLogger(TemplateRepository.class);
+
+    private static final List<Template> BUILT_IN = initTemplates();
 
+    @Nullable
+    private final Path directory;
+    private final long reloadDelayMillis;
+    private final List<Consumer<TemplateSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    @Nullable
+    private final WatchService watchService;
+
+    private volatile TemplateSnapshot snapshot;
+
+    /**
+     * 내장 템플릿만 제공하는 저장소.
+     */
     public TemplateRepository() {
-        this.templates = initTemplates().stream()
-                .collect(Collectors.toMap(Template::id, Function.identity()));
+        this(TemplateProperties.defaults());
+    }
+
+    @Autowired
+    public TemplateRepository(TemplateProperties properties) {
+        this.reloadDelayMillis = Math.max(0, properties.reloadDelayMillis());
+        if (properties.directory().isBlank()) {
+            this.directory = null;
+            this.watchService = null;
+        } else {
+            this.directory = Path.of(properties.directory()).toAbsolutePath().normalize();
+            if (!Files.isDirectory(directory)) {
+                throw new IllegalArgumentException("템플릿 디렉터리가 없습니다: " + directory);
+            }
+            this.watchService = properties.watch() ? register(directory) : null;
+        }
+        this.snapshot = load();
+        if (watchService != null) {
+            Thread watcher = new Thread(() -> watch(watchService), "template-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
     }
 
     public List<Template> findAll() {
-        return List.copyOf(templates.values());
+        return snapshot.templates();
     }
 
     public Optional<Template> findById(String id) {
-        return Optional.ofNullable(templates.get(id));
+        return snapshot.findById(id);
+    }
+
+    /**
+     * 현재 스냅샷. 같은 스냅샷에서 여러 번 조회하면 그 사이에 다시 읽혀도 일관된 결과를 얻는다.
+     */
+    public TemplateSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 템플릿을 다시 읽은 뒤 새 스냅샷으로 호출할 리스너를 등록한다. 리스너는 감시 스레드에서 호출된다.
+     */
+    public void addReloadListener(Consumer<TemplateSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 디렉터리를 다시 읽어 스냅샷을 바꾸고 리스너에 알린다.
+     *
+     * @return 새 스냅샷. 디렉터리를 읽지 못하면 이전 스냅샷
+     */
+    public synchronized TemplateSnapshot reload() {
+        try {
+            snapshot = load();
+        } catch (UncheckedIOException e) {
+            log.warn("템플릿 디렉터리를 읽지 못해 이전 템플릿을 유지합니다: {}", directory, e);
+            return snapshot;
+        }
+        for (Consumer<TemplateSnapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                log.warn("템플릿 변경 리스너가 실패했습니다", e);
+            }
+        }
+        return snapshot;
+    }
+
+    private TemplateSnapshot load() {
+        var templates = new ArrayList<>(BUILT_IN);
+        if (directory != null) {
+            Set<String> ids = new HashSet<>();
+            for (Path file : templateFiles(directory)) {
+                Template template;
+                try {
+                    template = TemplateFile.read(file);
+                } catch (IOException | IllegalArgumentException e) {
+                    log.warn("템플릿 파일을 읽지 못해 건너뜁니다: {}: {}", file, e.getMessage());
+                    continue;
+                }
+                if (!ids.add(template.id())) {
+                    log.warn("템플릿 ID가 중복되어 건너뜁니다: {}: {}", file, template.id());
+                    continue;
+                }
+                // 내장 템플릿과 ID가 같으면 TemplateSnapshot에서 같은 자리를 대신한다
+                templates.add(template);
+            }
+        }
+        return TemplateSnapshot.of(templates);
+    }
+
+    /** 디렉터리 바로 아래의 템플릿 파일 (이름 순) */
+    private static List<Path> templateFiles(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(TemplateFile::isTemplateFile).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static WatchService register(Path directory) {
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            return service;
+        } catch (IOException e) {
+            throw new UncheckedIOException("템플릿 디렉터리를 감시할 수 없습니다: " + directory, e);
+        }
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                // 잠시 더 기다려 이어지는 변경을 모은 뒤 한 번만 다시 읽는다
+                do {
+                    key.pollEvents();
+                    if (!key.reset()) {
+                        log.warn("템플릿 디렉터리를 더 이상 감시할 수 없습니다: {}", directory);
+                        return;
+                    }
+                    key = service.poll(reloadDelayMillis, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
     }
 
-    private List<Template> initTemplates() {
+    private static List<Template> initTemplates() {
         return List.of(
                 new Template("basic-doc", "기본 문서",
                         "제목, 단락, 리스트, 코드 블록이 포함된 기본 문서 구조",
@@ -0,0 +1,27 @@
+package com.cjenm.confluence.mcp.template;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 한 시점의 템플릿 목록과 검색 색인. 만든 뒤에는 바뀌지 않는다.
+ *
+ * @param templates 템플릿 목록 (내장 템플릿, 디렉터리 템플릿 순)
+ * @param byId      ID별 템플릿
+ * @param index     이름, 설명, 제목 검색 색인
+ */
+public record TemplateSnapshot(List<Template> templates, Map<String, Template> byId, TemplateIndex index) {
+
+    static TemplateSnapshot of(List<Template> templates) {
+        var byId = new LinkedHashMap<String, Template>();
+        templates.forEach(t -> byId.put(t.id(), t));
+        List<Template> list = List.copyOf(byId.values());
+        return new TemplateSnapshot(list, Map.copyOf(byId), TemplateIndex.build(list));
+    }
+
+    public Optional<Template> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+}
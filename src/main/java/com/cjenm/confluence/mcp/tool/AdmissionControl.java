@@ -0,0 +1,229 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 변환 도구 호출의 동시 실행 수와 입력 크기를 제한하는 진입 제어.
+ * <p>
+ * 동시에 변환하는 호출 수({@code converter.admission.max-concurrent})와 변환 중인 입력 문자 수의
+ * 합계({@code converter.admission.max-in-flight-chars})를 세마포어로 제한한다. 자리가 없으면 짧게
+ * ({@code converter.admission.queue-timeout-millis}) 기다리고, 대기 중인 호출이 이미
+ * {@code converter.admission.max-queued}개이거나 시간 안에 자리가 나지 않으면 바로 거절한다.
+ * 한 번에 받을 수 있는 입력 크기({@code converter.admission.max-input-chars})를 넘으면 기다리지 않고 거절한다.
+ * <p>
+ * 파일 변환({@link #admitFile})은 파일 크기를 무게로 같은 방식으로 제한하고, 일괄 내보내기의 파일별 변환
+ * ({@link #admitWaiting})은 거절하지 않고 자리가 날 때까지 기다린다. 두 경우 모두 입력 크기 상한은 파일 크기 상한
+ * ({@code converter.files.max-file-bytes})이 대신한다.
+ * <p>
+ * 요청이 몰려도 요청 스레드에 변환이 한없이 쌓이지 않으므로 힙 사용량이 입력 합계 상한을 크게 넘지 않는다.
+ * 대기 수, 실행 수, 실행 중인 입력 크기, 대기 시간, 거절 수를 지표로 기록한다.
+ */
+@Component
+public class AdmissionControl {
+
+    static final String QUEUED = "mcp.tool.admission.queued";
+    static final String ACTIVE = "mcp.tool.admission.active";
+    static final String ACTIVE_CHARS = "mcp.tool.admission.active.chars";
+    static final String WAIT = "mcp.tool.admission.wait";
+    static final String REJECTED = "mcp.tool.admission.rejected";
+
+    private final MeterRegistry registry;
+    private final Semaphore calls;
+    private final Semaphore chars;
+    private final int maxInFlightChars;
+    private final int maxInputChars;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public AdmissionControl(ConverterProperties properties, MeterRegistry registry) {
+        var admission = properties.admission();
+        this.registry = registry;
+        this.calls = new Semaphore(admission.effectiveMaxConcurrent(), true);
+        this.maxInFlightChars = Math.max(1, admission.maxInFlightChars());
+        this.chars = new Semaphore(maxInFlightChars, true);
+        this.maxInputChars = admission.maxInputChars();
+        this.maxQueued = admission.maxQueued();
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(admission.queueTimeoutMillis());
+
+        Gauge.builder(QUEUED, queued, AtomicInteger::get)
+                .description("실행 자리를 기다리는 도구 호출 수")
+                .register(registry);
+        Gauge.builder(ACTIVE, calls, semaphore -> admission.effectiveMaxConcurrent() - semaphore.availablePermits())
+                .description("실행 중인 변환 도구 호출 수")
+                .register(registry);
+        Gauge.builder(ACTIVE_CHARS, chars, semaphore -> maxInFlightChars - semaphore.availablePermits())
+                .description("실행 중인 변환 도구 호출의 입력 문자 수 합계")
+                .baseUnit("chars")
+                .register(registry);
+    }
+
+    /**
+     * 자리가 나면 도구 본문을 실행한다.
+     *
+     * @param tool       도구 이름
+     * @param inputChars 입력 문자 수
+     * @param call       도구 본문
+     * @return 도구 결과
+     * @throws IllegalArgumentException 입력이 한 번에 받을 수 있는 크기를 넘은 경우
+     * @throws IllegalStateException    서버가 과부하 상태여서 거절한 경우
+     */
+    public <T> T admit(String tool, long inputChars, Supplier<T> call) {
+        if (inputChars > maxInputChars) {
+            reject(tool, "too_large");
+            throw new IllegalArgumentException(
+                    "입력 크기(" + inputChars + "자)가 한 번에 변환할 수 있는 크기(" + maxInputChars + "자)를 초과했습니다");
+        }
+        return run(tool, inputChars, call);
+    }
+
+    /**
+     * 파일 변환 도구의 호출을 {@link #admit}과 같이 제한한다. 파일 크기 상한은 읽을 때 확인하므로 입력 크기
+     * 상한은 적용하지 않는다. UTF-8 파일의 바이트 수는 문자 수 이상이므로 파일 크기를 그대로 무게로 쓴다.
+     *
+     * @param tool      도구 이름
+     * @param fileBytes 입력 파일 크기
+     * @param call      도구 본문
+     * @return 도구 결과
+     * @throws IllegalStateException 서버가 과부하 상태여서 거절한 경우
+     */
+    public <T> T admitFile(String tool, long fileBytes, Supplier<T> call) {
+        return run(tool, fileBytes, call);
+    }
+
+    /**
+     * 일괄 작업의 항목 하나를 자리가 날 때까지 기다렸다가 실행한다. 대기열 상한과 제한 시간은 적용하지 않으며
+     * 거절하지 않는다. 동시 실행 수와 입력 크기 합계는 다른 도구 호출과 함께 제한된다.
+     *
+     * @param tool       도구 이름
+     * @param inputChars 입력 문자 수 (파일이면 파일 크기)
+     * @param call       항목 본문
+     * @return 항목 결과
+     * @throws InterruptedException 기다리는 중에 인터럽트된 경우
+     */
+    public <T> T admitWaiting(String tool, long inputChars, Supplier<T> call) throws InterruptedException {
+        int weight = weight(inputChars);
+        long start = System.nanoTime();
+        calls.acquire();
+        try {
+            chars.acquire(weight);
+        } catch (InterruptedException e) {
+            calls.release();
+            throw e;
+        } finally {
+            recordWait(tool, start);
+        }
+        try {
+            return call.get();
+        } finally {
+            chars.release(weight);
+            calls.release();
+        }
+    }
+
+    private <T> T run(String tool, long inputChars, Supplier<T> call) {
+        int weight = weight(inputChars);
+        if (!enter(tool, weight)) {
+            throw new IllegalStateException("서버가 과부하 상태입니다. 잠시 후 다시 시도하세요.");
+        }
+        try {
+            return call.get();
+        } finally {
+            chars.release(weight);
+            calls.release();
+        }
+    }
+
+    /**
+     * 상한보다 큰 입력도 혼자서는 실행할 수 있도록 합계 상한으로 자른 무게.
+     */
+    private int weight(long inputChars) {
+        return (int) Math.min(inputChars, maxInFlightChars);
+    }
+
+    /**
+     * 실행 자리와 입력 크기만큼의 여유를 얻는다. 얻지 못하면 거절을 기록하고 false를 반환한다.
+     * <p>
+     * 바로 얻어 보는 단계도 시간 제한이 있는 {@code tryAcquire}를 쓴다. 인자 없는 {@code tryAcquire}는 공정
+     * 세마포어에서도 대기 순서를 무시하므로, 요청이 계속 몰리면 나중에 온 호출이 기다리는 호출을 앞질러
+     * 자리가 돌고 있는데도 기다리던 호출이 시간 초과로 거절된다.
+     */
+    private boolean enter(String tool, int weight) {
+        boolean immediate = false;
+        try {
+            immediate = calls.tryAcquire(0, TimeUnit.NANOSECONDS);
+            if (immediate && chars.tryAcquire(weight, 0, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (immediate) {
+                calls.release();
+            }
+            reject(tool, "interrupted");
+            return false;
+        }
+        if (immediate) {
+            calls.release();
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            reject(tool, "queue_full");
+            return false;
+        }
+
+        long start = System.nanoTime();
+        boolean holdsCall = false;
+        boolean admitted = false;
+        String reason = "timeout";
+        try {
+            holdsCall = calls.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (holdsCall) {
+                long remaining = queueTimeoutNanos - (System.nanoTime() - start);
+                admitted = chars.tryAcquire(weight, Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reason = "interrupted";
+        } finally {
+            // 실행 자리를 얻은 뒤 입력 크기 여유를 얻지 못했으면(시간 초과나 인터럽트) 자리를 돌려준다
+            if (holdsCall && !admitted) {
+                calls.release();
+            }
+            queued.decrementAndGet();
+            recordWait(tool, start);
+        }
+        if (!admitted) {
+            reject(tool, reason);
+        }
+        return admitted;
+    }
+
+    private void recordWait(String tool, long start) {
+        Timer.builder(WAIT)
+                .description("도구 호출이 실행 자리를 기다린 시간")
+                .tag("tool", tool)
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void reject(String tool, String reason) {
+        Counter.builder(REJECTED)
+                .description("과부하나 입력 크기 초과로 거절한 도구 호출 수")
+                .tag("tool", tool)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+}
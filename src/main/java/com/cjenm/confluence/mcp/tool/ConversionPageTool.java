@@ -0,0 +1,56 @@
+package com.cjenm.confluence.mcp.tool;
+
+import com.cjenm.confluence.mcp.converter.ConversionCache;
+import com.cjenm.confluence.mcp.converter.ConversionPages;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 큰 변환 결과를 페이지 단위로 나눠 받는 MCP 도구.
+ * <p>
+ * 수 MB의 결과를 한 번에 JSON 문자열로 돌려주면 컨텍스트가 작은 에이전트가 감당하지 못하므로,
+ * 결과를 서버({@link ConversionPages})에 보관하고 호출마다 크기가 제한된 페이지만 돌려준다.
+ */
+@Service
+public class ConversionPageTool {
+
+    private final ConversionCache converter;
+    private final ConversionPages pages;
+    private final ToolMetrics metrics;
+    private final AdmissionControl admission;
+
+    public ConversionPageTool(ConversionCache converter, ConversionPages pages, ToolMetrics metrics,
+                              AdmissionControl admission) {
+        this.converter = converter;
+        this.pages = pages;
+        this.metrics = metrics;
+        this.admission = admission;
+    }
+
+    @Tool(description = "마크다운을 Confluence 위키 마크업(또는 저장 형식)으로 변환하고 결과의 첫 페이지를 반환합니다. " +
+            "결과가 크면 서버에 보관하고 handle과 nextCursor를 함께 반환하므로, " +
+            "fetchConversionPage로 필요한 만큼 이어서 받습니다.")
+    public ConversionPages.Page convertMarkdownPaged(
+            @ToolParam(description = "변환할 마크다운 텍스트") String markdown,
+            @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme,
+            @ToolParam(description = "출력 형식. wiki(위키 마크업) 또는 storage(저장 형식 XHTML). 생략 시 wiki", required = false) @Nullable String format,
+            @ToolParam(description = "페이지 크기 상한 (UTF-8 바이트). 생략 시 서버 기본값", required = false) @Nullable Integer maxBytes) {
+
+        long inputChars = markdown == null ? 0 : markdown.length();
+        return metrics.record("convertMarkdownPaged", () -> admission.admit("convertMarkdownPaged", inputChars,
+                () -> pages.open(converter.convert(markdown, ConverterTool.toOptions(theme, format)), maxBytes)));
+    }
+
+    @Tool(description = "convertMarkdownPaged로 보관한 변환 결과에서 커서 위치부터 한 페이지를 반환합니다. " +
+            "페이지는 줄 또는 블록 경계에서 잘리며, nextCursor가 null이면 마지막 페이지입니다.")
+    public ConversionPages.Page fetchConversionPage(
+            @ToolParam(description = "convertMarkdownPaged가 반환한 handle") String handle,
+            @ToolParam(description = "이전 페이지의 nextCursor. 생략 시 처음부터", required = false) @Nullable String cursor,
+            @ToolParam(description = "페이지 크기 상한 (UTF-8 바이트). 생략 시 서버 기본값", required = false) @Nullable Integer maxBytes) {
+
+        return metrics.record("fetchConversionPage", () -> pages.fetch(handle, cursor, maxBytes));
+    }
+}
@@ -1,34 +1,170 @@
 package com.cjenm.confluence.mcp.tool;
 
-import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConversionCache;
 import com.cjenm.confluence.mcp.converter.ConvertOptions;
 
+import jakarta.annotation.PreDestroy;
+
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 /**
  * 마크다운 → Confluence 위키 마크업 변환 MCP 도구.
+ * <p>
+ * {@code convertMarkdown}은 {@code format}을 {@code storage}로 지정하면 저장 형식(XHTML)으로 변환한다.
+ * <p>
+ * 일괄 변환은 병렬도가 제한된 전용 fork/join 풀에서 수행하여, 큰 배치가 다른 도구 호출의
+ * 요청 스레드와 CPU를 독차지하지 않도록 한다. 가상 스레드를 쓰도록 설정하면
+ * ({@code spring.threads.virtual.enabled}, Java 21 이상) 문서마다 가상 스레드를 만들고, 동시에 변환하는
+ * 문서 수를 같은 병렬도의 세마포어로 제한한다.
+ * <p>
+ * 모든 변환은 {@link AdmissionControl}을 거치며, 일괄 변환은 문서 크기의 합계로 한 번 진입한다.
+ * 목록이 없거나 문서 수가 상한을 넘는 배치는 진입하기 전에 거절한다.
  */
 @Service
 public class ConverterTool {
 
-    private final ConfluenceConverter converter;
+    private final ConversionCache converter;
+    private final ToolMetrics metrics;
+    private final AdmissionControl admission;
+    private final Executor batchExecutor;
+    /** 가상 스레드로 변환할 때 동시에 변환하는 문서 수 제한. fork/join 풀을 쓰면 null */
+    @Nullable
+    private final Semaphore batchPermits;
+    private final int maxBatchItems;
+
+    @Autowired
+    public ConverterTool(ConversionCache converter, ConverterProperties properties, ToolMetrics metrics,
+                         AdmissionControl admission, Environment environment) {
+        this(converter, properties, metrics, admission, Threading.VIRTUAL.isActive(environment));
+    }
 
-    public ConverterTool(ConfluenceConverter converter) {
+    /**
+     * @param virtualThreads true이면 일괄 변환을 가상 스레드에서 수행한다 (Java 21 이상)
+     */
+    public ConverterTool(ConversionCache converter, ConverterProperties properties, ToolMetrics metrics,
+                         AdmissionControl admission, boolean virtualThreads) {
         this.converter = converter;
+        this.metrics = metrics;
+        this.admission = admission;
+        int parallelism = properties.batch().effectiveParallelism();
+        this.batchExecutor = virtualThreads
+                ? new VirtualThreadTaskExecutor("convert-batch-")
+                : new ForkJoinPool(parallelism);
+        this.batchPermits = virtualThreads ? new Semaphore(parallelism) : null;
+        this.maxBatchItems = properties.batch().maxItems();
+    }
+
+    public record BatchItem(String id, String markdown, @Nullable String theme) {
+    }
+
+    public record BatchResult(String id, @Nullable String confluenceMarkup, @Nullable String error) {
     }
 
     @Tool(description = "마크다운 텍스트를 Confluence 위키 마크업으로 변환합니다. " +
             "제목, 볼드, 이탤릭, 취소선, 코드 블록, 링크, 이미지, 인용문, 리스트, 테이블 등을 지원합니다.")
     public String convertMarkdown(
             @ToolParam(description = "변환할 마크다운 텍스트") String markdown,
-            @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme) {
+            @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme,
+            @ToolParam(description = "출력 형식. wiki(위키 마크업) 또는 storage(저장 형식 XHTML). 생략 시 wiki", required = false) @Nullable String format) {
+
+        return metrics.record("convertMarkdown", () -> admission.admit("convertMarkdown", length(markdown),
+                () -> converter.convert(markdown, toOptions(theme, format))));
+    }
+
+    @Tool(description = "여러 마크다운 문서를 한 번에 Confluence 위키 마크업으로 변환합니다. " +
+            "결과는 입력 순서대로 반환되며, 실패한 문서는 error에 사유가 담깁니다.")
+    public List<BatchResult> convertMarkdownBatch(
+            @ToolParam(description = "변환할 문서 목록. 각 항목은 id, markdown, theme(선택)으로 구성") @Nullable List<BatchItem> items) {
 
-        var options = (theme != null && !theme.isBlank())
+        return metrics.record("convertMarkdownBatch", () -> {
+            if (items == null) {
+                throw new IllegalArgumentException("변환할 문서 목록(items)이 없습니다");
+            }
+            if (items.size() > maxBatchItems) {
+                throw new IllegalArgumentException(
+                        "한 번에 변환할 수 있는 문서 수(" + maxBatchItems + ")를 초과했습니다: " + items.size());
+            }
+            long inputChars = items.stream().mapToLong(item -> length(item.markdown())).sum();
+            return admission.admit("convertMarkdownBatch", inputChars, () -> convertBatch(items));
+        });
+    }
+
+    private List<BatchResult> convertBatch(List<BatchItem> items) {
+        List<CompletableFuture<BatchResult>> futures = items.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> convertLimited(item), batchExecutor))
+                .toList();
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * 가상 스레드이면 세마포어로 동시 변환 수를 제한하여 문서 하나를 변환한다.
+     */
+    private BatchResult convertLimited(BatchItem item) {
+        if (batchPermits == null) {
+            return convertItem(item);
+        }
+        batchPermits.acquireUninterruptibly();
+        try {
+            return convertItem(item);
+        } finally {
+            batchPermits.release();
+        }
+    }
+
+    private BatchResult convertItem(BatchItem item) {
+        try {
+            return new BatchResult(item.id(), converter.convert(item.markdown(), toOptions(item.theme())), null);
+        } catch (RuntimeException e) {
+            return new BatchResult(item.id(), null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static long length(@Nullable String markdown) {
+        return markdown == null ? 0 : markdown.length();
+    }
+
+    private static ConvertOptions toOptions(@Nullable String theme) {
+        return (theme != null && !theme.isBlank())
                 ? ConvertOptions.withTheme(theme)
                 : ConvertOptions.defaults();
-        return converter.convert(markdown, options);
+    }
+
+    static ConvertOptions toOptions(@Nullable String theme, @Nullable String format) {
+        return toOptions(theme).withFormat(toFormat(format));
+    }
+
+    private static ConvertOptions.Format toFormat(@Nullable String format) {
+        if (format == null || format.isBlank()) {
+            return ConvertOptions.Format.WIKI;
+        }
+        return switch (format.strip().toLowerCase(Locale.ROOT)) {
+            case "wiki" -> ConvertOptions.Format.WIKI;
+            case "storage" -> ConvertOptions.Format.STORAGE;
+            default -> throw new IllegalArgumentException("지원하지 않는 출력 형식입니다 (wiki, storage): " + format);
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (batchExecutor instanceof ForkJoinPool pool) {
+            pool.shutdown();
+        }
     }
 }
@@ -0,0 +1,159 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+import com.cjenm.confluence.mcp.workspace.ExportProgress;
+import com.cjenm.confluence.mcp.workspace.ExportSummary;
+import com.cjenm.confluence.mcp.workspace.TreeExporter;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 디렉터리 일괄 내보내기 MCP 도구.
+ * <p>
+ * 문서 저장소 전체를 한 번의 호출로 변환한다. 클라이언트가 요청 메타데이터에 {@code progressToken}을 보내면
+ * 진행 상황을 MCP 진행 알림({@code notifications/progress})으로 보내며, 파일이 많아도 알림이 쏟아지지 않도록
+ * 일정 간격으로만 보낸다. 마지막 파일의 알림은 항상 보낸다.
+ * <p>
+ * 스프링 AI의 도구 변환은 요청 메타데이터를 도구 문맥에 넘기지 않으므로, {@link #toolSpecifications()}로
+ * 호출마다 진행 토큰을 도구 문맥에 더해 주는 도구 명세를 직접 등록한다.
+ */
+@Service
+public class ExportTool {
+
+    /** 진행 토큰을 담는 도구 문맥 키 */
+    static final String PROGRESS_TOKEN_KEY = "progressToken";
+
+    static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final TreeExporter exporter;
+    private final ToolMetrics metrics;
+    private final Ticker ticker;
+
+    @Autowired
+    public ExportTool(TreeExporter exporter, ToolMetrics metrics) {
+        this(exporter, metrics, Ticker.systemTicker());
+    }
+
+    ExportTool(TreeExporter exporter, ToolMetrics metrics, Ticker ticker) {
+        this.exporter = exporter;
+        this.metrics = metrics;
+        this.ticker = ticker;
+    }
+
+    /**
+     * 이 도구의 MCP 도구 명세. 요청에 진행 토큰이 있으면 도구 문맥의 {@link #PROGRESS_TOKEN_KEY}로 넘긴다.
+     */
+    public List<SyncToolSpecification> toolSpecifications() {
+        ToolCallback callback = MethodToolCallbackProvider.builder().toolObjects(this).build().getToolCallbacks()[0];
+        SyncToolSpecification specification = McpToolUtils.toSyncToolSpecification(callback);
+        return List.of(new SyncToolSpecification(specification.tool(), (exchange, request) -> {
+            Object token = request.progressToken();
+            if (token == null) {
+                return specification.callHandler().apply(exchange, request);
+            }
+            return McpToolUtils.toSyncToolSpecification(new WithProgressToken(callback, token))
+                    .callHandler().apply(exchange, request);
+        }));
+    }
+
+    @Tool(description = "공유 작업 공간의 디렉터리 아래 모든 마크다운 파일(.md, .markdown)을 Confluence 위키 마크업 " +
+            "파일(.wiki)로 내보냅니다. 출력 디렉터리에 같은 상대 경로로 저장하며, 이전 내보내기 이후 바뀌지 않은 " +
+            "파일은 건너뜁니다. 처리 속도, 크기 합계, 실패한 파일을 요약하여 반환합니다.")
+    public ExportSummary exportMarkdownTree(
+            @ToolParam(description = "허용된 루트 디렉터리 기준 원본 디렉터리 경로") String sourceDir,
+            @ToolParam(description = "허용된 루트 디렉터리 기준 출력 디렉터리 경로. 없으면 생성") String outputDir,
+            @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme,
+            @ToolParam(description = "true이면 바뀌지 않은 파일도 모두 다시 변환", required = false) @Nullable Boolean force,
+            @Nullable ToolContext toolContext) {
+
+        return metrics.record("exportMarkdownTree", () -> {
+            try {
+                return exporter.export(sourceDir, outputDir, toOptions(theme), Boolean.TRUE.equals(force),
+                        progressFor(toolContext));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 클라이언트에 진행 상황을 알리는 수신자. MCP 요청이 아니거나 진행 토큰이 없으면 알리지 않는다.
+     */
+    ExportProgress progressFor(@Nullable ToolContext toolContext) {
+        if (toolContext == null) {
+            return ExportProgress.none();
+        }
+        McpSyncServerExchange exchange = McpToolUtils.getMcpExchange(toolContext).orElse(null);
+        Object token = toolContext.getContext().get(PROGRESS_TOKEN_KEY);
+        if (exchange == null || token == null) {
+            return ExportProgress.none();
+        }
+        long[] lastSent = {ticker.read()};
+        return (completed, total, path) -> {
+            long now = ticker.read();
+            if (completed < total && now - lastSent[0] < PROGRESS_INTERVAL_NANOS) {
+                return;
+            }
+            lastSent[0] = now;
+            exchange.progressNotification(new McpSchema.ProgressNotification(token, completed, (double) total, path));
+        };
+    }
+
+    /**
+     * 도구 문맥에 진행 토큰을 더해 호출하는 도구 콜백.
+     */
+    private record WithProgressToken(ToolCallback delegate, Object token) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return call(toolInput, null);
+        }
+
+        @Override
+        public String call(String toolInput, @Nullable ToolContext toolContext) {
+            Map<String, Object> context = new HashMap<>();
+            if (toolContext != null) {
+                context.putAll(toolContext.getContext());
+            }
+            context.put(PROGRESS_TOKEN_KEY, token);
+            return delegate.call(toolInput, new ToolContext(context));
+        }
+    }
+
+    private static ConvertOptions toOptions(@Nullable String theme) {
+        return (theme != null && !theme.isBlank())
+                ? ConvertOptions.withTheme(theme)
+                : ConvertOptions.defaults();
+    }
+}
@@ -0,0 +1,111 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+import com.cjenm.confluence.mcp.workspace.WorkspaceFiles;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 디스크의 마크다운 파일을 변환하는 MCP 도구.
+ * <p>
+ * 큰 문서를 JSON-RPC 본문으로 주고받지 않도록 공유 작업 공간({@link WorkspaceFiles})의 파일 경로만 받는다.
+ * <p>
+ * UTF-8 디코딩은 바이트에서 문자 버퍼로 한 번만 수행하고, 그 버퍼를 String으로 복사하지 않고 변환기에
+ * 넘긴다. 결과는 옆 파일({@code .wiki})로 스트리밍하여 쓰거나 직접 반환한다. 파일로 쓸 때 큰 문서는
+ * 최상위 블록 단위 조각으로 하나씩 변환하므로, 디코딩한 입력 외에는 조각 하나 분량의 메모리만 쓴다.
+ * <p>
+ * 읽기와 변환은 파일 크기를 입력 크기로 하여 {@link AdmissionControl}을 거친다. 경로 확인과 크기 조회는
+ * 메모리를 쓰지 않으므로 그 전에 한다.
+ */
+@Service
+public class FileConverterTool {
+
+    private final ConfluenceConverter converter;
+    private final WorkspaceFiles files;
+    private final ToolMetrics metrics;
+    private final AdmissionControl admission;
+
+    public FileConverterTool(ConfluenceConverter converter, WorkspaceFiles files, ToolMetrics metrics,
+                             AdmissionControl admission) {
+        this.converter = converter;
+        this.files = files;
+        this.metrics = metrics;
+        this.admission = admission;
+    }
+
+    /**
+     * @param source           변환한 파일 (루트 기준 경로)
+     * @param outputFile       결과를 저장한 파일 (루트 기준 경로). 결과를 직접 반환하면 null
+     * @param confluenceMarkup 변환 결과. 파일로 저장하면 null
+     * @param inputBytes       입력 파일 크기
+     */
+    public record FileConversionResult(String source, @Nullable String outputFile,
+                                       @Nullable String confluenceMarkup, long inputBytes) {
+    }
+
+    @Tool(description = "공유 작업 공간의 마크다운 파일을 Confluence 위키 마크업으로 변환합니다. " +
+            "큰 문서를 본문으로 주고받지 않고 파일 경로로 변환할 때 사용합니다. " +
+            "결과는 같은 디렉터리의 .wiki 파일로 저장하거나 직접 반환합니다.")
+    public FileConversionResult convertMarkdownFile(
+            @ToolParam(description = "허용된 루트 디렉터리 기준 마크다운 파일 경로") String path,
+            @ToolParam(description = "true이면 결과를 같은 디렉터리의 .wiki 파일로 저장하고 경로만 반환. 생략 시 결과를 직접 반환", required = false) @Nullable Boolean writeToFile,
+            @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme) {
+
+        return metrics.record("convertMarkdownFile", unchecked(() -> {
+            Path source = files.resolveFile(path);
+            long inputBytes = Files.size(source);
+            return admission.admitFile("convertMarkdownFile", inputBytes, unchecked(
+                    () -> convertFile(path, source, inputBytes, Boolean.TRUE.equals(writeToFile), toOptions(theme))));
+        }));
+    }
+
+    private FileConversionResult convertFile(String path, Path source, long inputBytes, boolean writeToFile,
+                                             ConvertOptions options) throws IOException {
+        CharBuffer markdown = files.read(source);
+        String sourceName = files.relativize(source);
+
+        if (!writeToFile) {
+            var result = new StringBuilder(markdown.length() + 64);
+            converter.convert(markdown, result, options);
+            return new FileConversionResult(sourceName, null, result.toString(), inputBytes);
+        }
+
+        Path target = source.resolveSibling(WorkspaceFiles.outputName(source.getFileName().toString()));
+        if (target.equals(source)) {
+            throw new IllegalArgumentException("결과 파일이 원본과 같습니다: " + path);
+        }
+        files.writeAtomically(target, writer -> converter.convert(markdown, writer, options));
+        return new FileConversionResult(sourceName, files.relativize(target), null, inputBytes);
+    }
+
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private static <T> Supplier<T> unchecked(IoSupplier<T> call) {
+        return () -> {
+            try {
+                return call.get();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static ConvertOptions toOptions(@Nullable String theme) {
+        return (theme != null && !theme.isBlank())
+                ? ConvertOptions.withTheme(theme)
+                : ConvertOptions.defaults();
+    }
+}
@@ -0,0 +1,61 @@
+package com.cjenm.confluence.mcp.tool;
+
+import com.cjenm.confluence.mcp.converter.IncrementalConverter;
+import com.cjenm.confluence.mcp.converter.LineDiff;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 두 마크다운 개정판의 변환 결과 차이만 돌려주는 MCP 도구.
+ * <p>
+ * 큰 페이지를 조금 고칠 때 전체 결과를 두 번 주고받지 않도록, 두 개정판을 함께 변환하고
+ * ({@link IncrementalConverter#convertRevisions}) 결과의 줄 단위 unified diff만 반환한다.
+ */
+@Service
+public class MarkdownDiffTool {
+
+    private static final int DEFAULT_CONTEXT_LINES = 3;
+
+    private final IncrementalConverter converter;
+    private final ToolMetrics metrics;
+    private final AdmissionControl admission;
+
+    public MarkdownDiffTool(IncrementalConverter converter, ToolMetrics metrics, AdmissionControl admission) {
+        this.converter = converter;
+        this.metrics = metrics;
+        this.admission = admission;
+    }
+
+    /**
+     * @param patch        변환 결과의 unified diff. 차이가 없으면 빈 문자열
+     * @param addedLines   추가된 줄 수
+     * @param removedLines 삭제된 줄 수
+     */
+    public record DiffResult(String patch, int addedLines, int removedLines) {
+    }
+
+    @Tool(description = "마크다운 문서의 이전/이후 개정판을 각각 Confluence 위키 마크업으로 변환하고, " +
+            "변환 결과의 차이만 unified diff 형식으로 반환합니다. 큰 페이지를 조금 고쳤을 때 전체 결과 대신 사용합니다.")
+    public DiffResult convertMarkdownDiff(
+            @ToolParam(description = "이전 개정판 마크다운") String oldMarkdown,
+            @ToolParam(description = "이후 개정판 마크다운") String newMarkdown,
+            @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme,
+            @ToolParam(description = "출력 형식. wiki(위키 마크업) 또는 storage(저장 형식 XHTML). 생략 시 wiki", required = false) @Nullable String format,
+            @ToolParam(description = "바뀐 줄 앞뒤로 함께 보여 줄 줄 수. 생략 시 3", required = false) @Nullable Integer contextLines) {
+
+        long inputChars = length(oldMarkdown) + length(newMarkdown);
+        return metrics.record("convertMarkdownDiff", () -> admission.admit("convertMarkdownDiff", inputChars, () -> {
+            var revisions = converter.convertRevisions(oldMarkdown, newMarkdown, ConverterTool.toOptions(theme, format));
+            LineDiff.Patch patch = LineDiff.unified(revisions.before(), revisions.after(),
+                    contextLines != null ? contextLines : DEFAULT_CONTEXT_LINES);
+            return new DiffResult(patch.text(), patch.added(), patch.removed());
+        }));
+    }
+
+    private static long length(@Nullable String markdown) {
+        return markdown == null ? 0 : markdown.length();
+    }
+}
@@ -0,0 +1,88 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 서버 성능 지표 조회 MCP 도구.
+ * <p>
+ * HTTP 트랜스포트에서는 {@code /actuator/prometheus}로 지표를 수집할 수 있지만, stdio로 배포하면
+ * 웹 엔드포인트가 없으므로 같은 지표를 도구 호출로 조회할 수 있게 한다.
+ */
+@Service
+public class MetricsTool {
+
+    private static final List<String> METER_PREFIXES = List.of("confluence.", "mcp.tool.");
+
+    private final MeterRegistry registry;
+
+    public MetricsTool(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param name  지표 이름
+     * @param tags  지표 태그
+     * @param count 기록 횟수
+     * @param total 합계 (시간은 밀리초). 게이지는 현재 값
+     * @param mean  평균 (시간은 밀리초)
+     * @param max   최근 구간의 최댓값 (시간은 밀리초)
+     * @param unit  값의 단위
+     */
+    public record MeterSnapshot(String name, Map<String, String> tags, long count,
+                                double total, double mean, double max, @Nullable String unit) {
+    }
+
+    @Tool(description = "변환 단계별(parse, render, postProcess) 소요 시간, 입출력 크기 분포, " +
+            "도구별 호출 수와 응답 시간, 진입 제어 대기·거절 수 등 서버 성능 지표를 반환합니다.")
+    public List<MeterSnapshot> getServerMetrics() {
+        return registry.getMeters().stream()
+                .filter(meter -> METER_PREFIXES.stream().anyMatch(meter.getId().getName()::startsWith))
+                .map(MetricsTool::snapshot)
+                .filter(snapshot -> snapshot != null)
+                .sorted(Comparator.comparing(MeterSnapshot::name)
+                        .thenComparing(snapshot -> snapshot.tags().toString()))
+                .toList();
+    }
+
+    @Nullable
+    private static MeterSnapshot snapshot(Meter meter) {
+        String name = meter.getId().getName();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : meter.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        if (meter instanceof Timer timer) {
+            return new MeterSnapshot(name, tags, timer.count(),
+                    timer.totalTime(TimeUnit.MILLISECONDS), timer.mean(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS), "milliseconds");
+        }
+        if (meter instanceof DistributionSummary summary) {
+            return new MeterSnapshot(name, tags, summary.count(),
+                    summary.totalAmount(), summary.mean(), summary.max(), meter.getId().getBaseUnit());
+        }
+        if (meter instanceof Counter counter) {
+            long count = (long) counter.count();
+            return new MeterSnapshot(name, tags, count, count, 0, 0, meter.getId().getBaseUnit());
+        }
+        if (meter instanceof Gauge gauge) {
+            return new MeterSnapshot(name, tags, 0, gauge.value(), 0, 0, meter.getId().getBaseUnit());
+        }
+        return null;
+    }
+}
@@ -1,6 +1,9 @@
 package com.cjenm.confluence.mcp.tool;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
 import com.cjenm.confluence.mcp.converter.ConvertOptions;
@@ -14,16 +17,47 @@ import org.springframework.stereotype.Service;
 
 /**
  * 마크다운 문서 템플릿 관리 MCP 도구.
+ * <p>
+ * 템플릿 목록과 모든 템플릿 × 지원 테마(미적용 포함)의 변환 결과를 미리 만들어 두고 조회만 한다.
+ * 저장소가 템플릿을 다시 읽으면 새로 생기거나 바뀐 템플릿만 병렬로 다시 변환하여 통째로 바꾸며,
+ * 바꾸기 전에는 내용이 같은지 확인하여 이전 결과를 잘못 돌려주지 않는다. 지원 목록에 없는 테마는 그때 변환한다.
+ * 미리 만든 결과가 없어 실제로 변환할 때만 {@link AdmissionControl}을 거친다. 미리 만든 결과 조회, 목록,
+ * 상세 조회, 검색은 변환이 없으므로 과부하 중에도 거절하지 않는다.
  */
 @Service
 public class TemplateTool {
 
+    /** 검색 결과 수를 지정하지 않았을 때의 기본값 */
+    static final int DEFAULT_SEARCH_LIMIT = 10;
+
     private final TemplateRepository templateRepository;
     private final ConfluenceConverter converter;
+    private final ToolMetrics metrics;
+    private final AdmissionControl admission;
+
+    private volatile Prepared prepared = new Prepared(List.of(), Map.of());
 
-    public TemplateTool(TemplateRepository templateRepository, ConfluenceConverter converter) {
+    public TemplateTool(TemplateRepository templateRepository, ConfluenceConverter converter, ToolMetrics metrics,
+                        AdmissionControl admission) {
         this.templateRepository = templateRepository;
         this.converter = converter;
+        this.metrics = metrics;
+        this.admission = admission;
+        // 준비하는 사이에 다시 읽혀도 놓치지 않도록 리스너를 먼저 등록한다
+        templateRepository.addReloadListener(snapshot -> prepare());
+        prepare();
+    }
+
+    /**
+     * 한 스냅샷에 대해 미리 만든 목록과 변환 결과.
+     *
+     * @param templateInfos 템플릿 목록
+     * @param markup        템플릿 ID별로 변환한 템플릿과 옵션별 변환 결과
+     */
+    private record Prepared(List<TemplateInfo> templateInfos, Map<String, Prebuilt> markup) {
+    }
+
+    private record Prebuilt(Template template, Map<ConvertOptions, String> markup) {
     }
 
     public record TemplateInfo(String id, String name, String description) {
@@ -36,35 +70,104 @@ public class TemplateTool {
     }
 
     @Tool(description = "사용 가능한 마크다운 문서 템플릿 목록을 반환합니다. " +
-            "기본 문서, 테이블 문서, API 문서, 회의록 템플릿을 제공합니다.")
+            "기본 문서, 테이블 문서, API 문서, 회의록 템플릿과 템플릿 디렉터리에 추가된 팀 템플릿을 제공합니다.")
     public List<TemplateInfo> listTemplates() {
-        return templateRepository.findAll().stream()
-                .map(t -> new TemplateInfo(t.id(), t.name(), t.description()))
-                .toList();
+        return metrics.record("listTemplates", () -> prepared.templateInfos());
+    }
+
+    @Tool(description = "이름, 설명, 제목(heading)으로 템플릿을 검색하여 관련도 순으로 반환합니다. " +
+            "검색어의 모든 단어가 들어 있는 템플릿만 반환하며, 단어의 앞부분만 입력해도 찾습니다.")
+    public List<TemplateInfo> searchTemplates(
+            @ToolParam(description = "검색어 (예: 회의록, api 문서)") String query,
+            @ToolParam(description = "최대 결과 수. 생략 시 10", required = false) @Nullable Integer limit) {
+
+        return metrics.record("searchTemplates", () -> {
+            if (query == null || query.isBlank()) {
+                throw new IllegalArgumentException("검색어가 비어 있습니다");
+            }
+            int max = (limit == null || limit <= 0) ? DEFAULT_SEARCH_LIMIT : limit;
+            return templateRepository.snapshot().index().search(query, max).stream()
+                    .map(TemplateTool::info)
+                    .toList();
+        });
     }
 
     @Tool(description = "지정한 ID의 마크다운 문서 템플릿 상세 내용을 반환합니다.")
     public TemplateDetail getTemplate(
-            @ToolParam(description = "템플릿 ID (basic-doc, table-doc, api-doc, meeting-note)") String templateId) {
+            @ToolParam(description = "템플릿 ID (listTemplates 또는 searchTemplates 결과의 id)") String templateId) {
 
-        Template template = templateRepository.findById(templateId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 템플릿 ID: " + templateId));
-        return new TemplateDetail(template.id(), template.name(), template.description(), template.content());
+        return metrics.record("getTemplate", () -> {
+            Template template = findTemplate(templateId);
+            return new TemplateDetail(template.id(), template.name(), template.description(), template.content());
+        });
     }
 
     @Tool(description = "지정한 ID의 템플릿을 Confluence 위키 마크업으로 변환하여 반환합니다.")
     public ConvertedTemplate convertTemplate(
-            @ToolParam(description = "템플릿 ID (basic-doc, table-doc, api-doc, meeting-note)") String templateId,
+            @ToolParam(description = "템플릿 ID (listTemplates 또는 searchTemplates 결과의 id)") String templateId,
             @ToolParam(description = "코드 블록 테마 (DJango, Emacs, FadeToGrey, Midnight, RDark, Eclipse, Confluence). 생략 시 테마 미적용", required = false) @Nullable String theme) {
 
-        Template template = templateRepository.findById(templateId)
+        return metrics.record("convertTemplate", () -> {
+            Template template = findTemplate(templateId);
+            var options = (theme != null && !theme.isBlank())
+                    ? ConvertOptions.withTheme(theme)
+                    : ConvertOptions.defaults();
+
+            Prebuilt prebuilt = prepared.markup().get(template.id());
+            String markup = (prebuilt != null && prebuilt.template().equals(template))
+                    ? prebuilt.markup().get(options)
+                    : null;
+            if (markup == null) {
+                markup = admission.admit("convertTemplate", template.content().length(),
+                        () -> converter.convert(template.content(), options));
+            }
+            return new ConvertedTemplate(template.id(), template.name(), markup);
+        });
+    }
+
+    private Template findTemplate(String templateId) {
+        return templateRepository.findById(templateId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 템플릿 ID: " + templateId));
+    }
+
+    private static TemplateInfo info(Template template) {
+        return new TemplateInfo(template.id(), template.name(), template.description());
+    }
+
+    /**
+     * 저장소의 현재 스냅샷으로 목록과 변환 결과를 만든다. 이전과 같은 템플릿은 변환 결과를 그대로 쓴다.
+     */
+    private synchronized void prepare() {
+        List<Template> templates = templateRepository.findAll();
+        Map<String, Prebuilt> previous = prepared.markup();
+        List<Template> changed = templates.stream()
+                .filter(t -> previous.get(t.id()) == null || !previous.get(t.id()).template().equals(t))
+                .toList();
+        Map<String, Map<ConvertOptions, String>> converted = prebuild(changed, converter);
 
-        var options = (theme != null && !theme.isBlank())
-                ? ConvertOptions.withTheme(theme)
-                : ConvertOptions.defaults();
+        Map<String, Prebuilt> markup = templates.stream()
+                .collect(Collectors.toUnmodifiableMap(Template::id, t -> converted.containsKey(t.id())
+                        ? new Prebuilt(t, converted.get(t.id()))
+                        : previous.get(t.id())));
+        prepared = new Prepared(templates.stream().map(TemplateTool::info).toList(), markup);
+    }
 
-        String markup = converter.convert(template.content(), options);
-        return new ConvertedTemplate(template.id(), template.name(), markup);
+    private record Conversion(String templateId, ConvertOptions options, String markup) {
+    }
+
+    private static Map<String, Map<ConvertOptions, String>> prebuild(
+            List<Template> templates, ConfluenceConverter converter) {
+        List<ConvertOptions> optionsList = Stream.concat(
+                        Stream.of(ConvertOptions.defaults()),
+                        ConvertOptions.SUPPORTED_THEMES.stream().map(ConvertOptions::withTheme))
+                .toList();
+        return templates.stream()
+                .flatMap(t -> optionsList.stream().map(options -> Map.entry(t, options)))
+                .toList()
+                .parallelStream()
+                .map(e -> new Conversion(e.getKey().id(), e.getValue(),
+                        converter.convert(e.getKey().content(), e.getValue())))
+                .collect(Collectors.groupingBy(Conversion::templateId,
+                        Collectors.toUnmodifiableMap(Conversion::options, Conversion::markup)));
     }
 }
@@ -0,0 +1,55 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * MCP 도구 호출 지표.
+ * <p>
+ * 도구별 호출 수({@code mcp.tool.calls}, 결과 성공/실패 태그)와 응답 시간({@code mcp.tool.duration})을 기록한다.
+ */
+@Component
+public class ToolMetrics {
+
+    static final String CALLS = "mcp.tool.calls";
+    static final String DURATION = "mcp.tool.duration";
+
+    private final MeterRegistry registry;
+
+    public ToolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 도구 호출을 실행하며 호출 수와 소요 시간을 기록한다.
+     *
+     * @param tool 도구 이름
+     * @param call 도구 본문
+     * @return 도구 결과
+     */
+    public <T> T record(String tool, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(DURATION)
+                    .description("MCP 도구 응답 시간")
+                    .tag("tool", tool)
+                    .register(registry));
+            Counter.builder(CALLS)
+                    .description("MCP 도구 호출 수")
+                    .tag("tool", tool)
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.cjenm.confluence.mcp.workspace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+
+/**
+ * 일괄 내보내기 매니페스트.
+ * <p>
+ * 원본 파일별로 크기, 수정 시각, 내용 해시(SHA-256)를 출력 디렉터리의 {@value #FILE_NAME}에 기록한다.
+ * 다음 내보내기에서 크기와 수정 시각이 같으면 파일을 읽지 않고 건너뛰고, 달라도 내용 해시가 같으면
+ * 다시 변환하지 않는다. 변환 옵션이 바뀌면 이전 기록을 쓰지 않는다.
+ * <p>
+ * 형식은 첫 줄에 옵션, 이후 한 줄에 한 파일씩 {@code 크기\t수정시각\t해시\t경로}이다.
+ * 스레드 안전하지 않으므로 쓰기 단계 한 곳에서만 갱신한다.
+ */
+final class ExportManifest {
+
+    static final String FILE_NAME = ".confluence-export-manifest";
+
+    private static final String OPTIONS_PREFIX = "# theme=";
+
+    record Entry(long size, long modifiedMillis, String sha256) {
+    }
+
+    private final String header;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    private ExportManifest(ConvertOptions options) {
+        this.header = header(options);
+    }
+
+    /**
+     * 옵션 줄. 확장 문법을 모두 쓰고 위키 마크업으로 출력하는 기본 구성이면 테마만 적는다.
+     */
+    private static String header(ConvertOptions options) {
+        String header = OPTIONS_PREFIX + Objects.requireNonNullElse(options.theme(), "");
+        if (!options.extensions().equals(ConvertOptions.ALL_EXTENSIONS)) {
+            header += "\textensions=" + options.extensions().stream()
+                    .map(Enum::name)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+        if (options.format() != ConvertOptions.Format.WIKI) {
+            header += "\tformat=" + options.format().name();
+        }
+        return header;
+    }
+
+    static ExportManifest empty(ConvertOptions options) {
+        return new ExportManifest(options);
+    }
+
+    /**
+     * 출력 디렉터리의 매니페스트를 읽는다. 없거나 옵션이 다르거나 읽을 수 없으면 빈 매니페스트를 반환한다.
+     */
+    static ExportManifest load(Path outputDir, ConvertOptions options) throws IOException {
+        var manifest = new ExportManifest(options);
+        Path file = outputDir.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return manifest;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!manifest.header.equals(reader.readLine())) {
+                return manifest;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 4);
+                if (fields.length != 4) {
+                    return new ExportManifest(options);
+                }
+                try {
+                    manifest.entries.put(fields[3],
+                            new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]));
+                } catch (NumberFormatException e) {
+                    return new ExportManifest(options);
+                }
+            }
+        }
+        return manifest;
+    }
+
+    Entry get(String path) {
+        return entries.get(path);
+    }
+
+    void put(String path, Entry entry) {
+        entries.put(path, entry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * 원자적으로 출력 디렉터리에 저장한다.
+     */
+    void save(Path outputDir, WorkspaceFiles files) throws IOException {
+        files.writeAtomically(outputDir.resolve(FILE_NAME), writer -> {
+            writer.write(header);
+            writer.write('\n');
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                writer.write(entry.size() + "\t" + entry.modifiedMillis() + "\t" + entry.sha256() + "\t"
+                        + e.getKey() + "\n");
+            }
+        });
+    }
+
+    /**
+     * 버퍼 내용의 SHA-256. 버퍼의 위치는 바꾸지 않는다.
+     */
+    static String sha256(ByteBuffer bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes.duplicate());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cjenm.confluence.mcp.workspace;
+
+/**
+ * 일괄 내보내기 진행 상황 수신자. 파일 하나를 처리할 때마다 쓰기 단계에서 호출된다.
+ */
+@FunctionalInterface
+public interface ExportProgress {
+
+    /**
+     * @param completed 처리한 파일 수 (건너뛴 파일과 실패한 파일 포함)
+     * @param total     전체 파일 수
+     * @param path      방금 처리한 파일 (원본 디렉터리 기준 경로)
+     */
+    void onFile(int completed, int total, String path);
+
+    static ExportProgress none() {
+        return (completed, total, path) -> {
+        };
+    }
+}
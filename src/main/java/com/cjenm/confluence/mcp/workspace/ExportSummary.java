@@ -0,0 +1,26 @@
+package com.cjenm.confluence.mcp.workspace;
+
+import java.util.List;
+
+/**
+ * 일괄 내보내기 결과 요약.
+ *
+ * @param files          찾은 마크다운 파일 수
+ * @param converted      변환하여 쓴 파일 수
+ * @param skipped        매니페스트와 같아 건너뛴 파일 수
+ * @param failed         실패한 파일 수
+ * @param inputBytes     변환한 원본 파일 크기 합계
+ * @param elapsedMillis  소요 시간 (밀리초)
+ * @param filesPerSecond 초당 처리한 파일 수 (건너뛴 파일 포함)
+ * @param failures       실패한 파일과 사유
+ */
+public record ExportSummary(int files, int converted, int skipped, int failed, long inputBytes,
+                            long elapsedMillis, double filesPerSecond, List<Failure> failures) {
+
+    /**
+     * @param path  실패한 파일 (원본 디렉터리 기준 경로)
+     * @param error 실패 사유
+     */
+    public record Failure(String path, String error) {
+    }
+}
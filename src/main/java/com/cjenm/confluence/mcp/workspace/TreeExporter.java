@@ -0,0 +1,302 @@
+package com.cjenm.confluence.mcp.workspace;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+import com.cjenm.confluence.mcp.tool.AdmissionControl;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 디렉터리 트리의 마크다운 파일을 한꺼번에 위키 마크업 파일로 내보낸다.
+ * <p>
+ * 읽기 → 변환 → 쓰기의 세 단계를 크기가 제한된 큐로 잇는다. 읽기 단계는 파일을 읽어 해시를 구하고,
+ * 변환 작업 스레드({@code converter.export.parallelism})가 동시에 변환하며, 쓰기 단계가 결과를
+ * 출력 디렉터리의 같은 상대 경로에 {@code .wiki}로 쓴다. 큐가 차면 앞 단계가 기다리므로 파일이 아무리
+ * 많아도 메모리에 올라오는 문서 수는 큐 크기({@code converter.export.queue-capacity})로 제한된다.
+ * <p>
+ * 변환 작업 스레드는 파일마다 {@link AdmissionControl}의 자리를 기다린 뒤 디코딩과 변환을 하므로, 다른 변환
+ * 도구와 동시 실행 수와 입력 크기 합계를 나눠 쓴다. 내보내기마다 작업 스레드를 만들므로 동시에 실행할 수 있는
+ * 내보내기 수({@code converter.export.max-concurrent})를 넘으면 스레드를 만들기 전에 거절한다.
+ * <p>
+ * {@link ExportManifest}와 비교하여 바뀌지 않은 파일은 다시 변환하지 않는다. 파일 하나의 실패는
+ * 요약에 기록하고 나머지 파일은 계속 처리한다.
+ */
+@Component
+public class TreeExporter {
+
+    private static final List<String> MARKDOWN_EXTENSIONS = List.of(".md", ".markdown");
+
+    private final ConfluenceConverter converter;
+    private final WorkspaceFiles files;
+    private final AdmissionControl admission;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final int maxFiles;
+    private final int maxConcurrent;
+    private final Semaphore exports;
+
+    public TreeExporter(ConfluenceConverter converter, WorkspaceFiles files, AdmissionControl admission,
+                        ConverterProperties properties) {
+        var export = properties.export();
+        this.converter = converter;
+        this.files = files;
+        this.admission = admission;
+        this.parallelism = export.effectiveParallelism();
+        this.queueCapacity = Math.max(1, export.queueCapacity());
+        this.maxFiles = export.maxFiles();
+        this.maxConcurrent = Math.max(1, export.maxConcurrent());
+        this.exports = new Semaphore(maxConcurrent);
+    }
+
+    /** 읽기 단계가 변환 단계로 넘기는 파일 */
+    private record Job(String path, ByteBuffer bytes, ExportManifest.Entry entry) {
+    }
+
+    /** 쓰기 단계로 넘어가는 파일별 결과. 변환 결과가 null이면 건너뛴 파일 */
+    private record Result(String path, CharSequence markup, ExportManifest.Entry entry, String error) {
+
+        static Result skipped(String path, ExportManifest.Entry entry) {
+            return new Result(path, null, entry, null);
+        }
+
+        static Result failed(String path, Exception e) {
+            return new Result(path, null, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static final Job END_OF_FILES = new Job(null, null, null);
+    private static final Result WORKER_DONE = new Result(null, null, null, null);
+
+    /**
+     * 원본 디렉터리 아래의 마크다운 파일({@code .md}, {@code .markdown})을 출력 디렉터리로 내보낸다.
+     *
+     * @param sourceDir 원본 디렉터리 (작업 공간 루트 기준 경로)
+     * @param outputDir 출력 디렉터리 (작업 공간 루트 기준 경로). 없으면 만든다
+     * @param options   변환 옵션
+     * @param force     true이면 매니페스트를 무시하고 모든 파일을 다시 변환
+     * @param progress  진행 상황 수신자
+     * @return 결과 요약
+     * @throws IOException           디렉터리를 읽거나 매니페스트를 쓰지 못한 경우
+     * @throws IllegalStateException 동시에 실행할 수 있는 내보내기 수를 넘은 경우
+     */
+    public ExportSummary export(String sourceDir, String outputDir, ConvertOptions options, boolean force,
+                                ExportProgress progress) throws IOException {
+        if (!exports.tryAcquire()) {
+            throw new IllegalStateException(
+                    "동시에 실행할 수 있는 내보내기 수(" + maxConcurrent + ")를 초과했습니다. 잠시 후 다시 시도하세요.");
+        }
+        try {
+            return exportTree(sourceDir, outputDir, options, force, progress);
+        } finally {
+            exports.release();
+        }
+    }
+
+    private ExportSummary exportTree(String sourceDir, String outputDir, ConvertOptions options, boolean force,
+                                     ExportProgress progress) throws IOException {
+        long start = System.nanoTime();
+        Path source = files.resolveDirectory(sourceDir);
+        Path output = files.createDirectories(outputDir);
+        List<Path> markdownFiles = listMarkdownFiles(source, output);
+        ExportManifest previous = force ? ExportManifest.empty(options) : ExportManifest.load(output, options);
+        ExportManifest manifest = ExportManifest.empty(options);
+
+        BlockingQueue<Job> jobs = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Result> results = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService stages = Executors.newFixedThreadPool(parallelism + 1);
+        int converted = 0;
+        long inputBytes = 0;
+        var failures = new ArrayList<ExportSummary.Failure>();
+        try {
+            stages.execute(() -> read(source, output, markdownFiles, previous, jobs, results));
+            for (int i = 0; i < parallelism; i++) {
+                stages.execute(() -> convert(jobs, results, options));
+            }
+
+            int completed = 0;
+            for (int done = 0; done < parallelism; ) {
+                Result result = results.take();
+                if (result == WORKER_DONE) {
+                    done++;
+                    continue;
+                }
+                if (result.error() == null && result.markup() != null) {
+                    try {
+                        write(output.resolve(result.path()), result.markup());
+                        converted++;
+                        inputBytes += result.entry().size();
+                    } catch (IOException | RuntimeException e) {
+                        result = Result.failed(result.path(), e);
+                    }
+                }
+                if (result.error() != null) {
+                    failures.add(new ExportSummary.Failure(result.path(), result.error()));
+                } else {
+                    manifest.put(result.path(), result.entry());
+                }
+                progress.onFile(++completed, markdownFiles.size(), result.path());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("내보내기가 중단되었습니다");
+        } finally {
+            stages.shutdownNow();
+        }
+        manifest.save(output, files);
+
+        long elapsedNanos = System.nanoTime() - start;
+        int skipped = markdownFiles.size() - converted - failures.size();
+        double filesPerSecond = markdownFiles.size() / Math.max(elapsedNanos / 1e9, 1e-9);
+        return new ExportSummary(markdownFiles.size(), converted, skipped, failures.size(), inputBytes,
+                elapsedNanos / 1_000_000, filesPerSecond, List.copyOf(failures));
+    }
+
+    private List<Path> listMarkdownFiles(Path source, Path output) throws IOException {
+        try (Stream<Path> paths = Files.find(source, Integer.MAX_VALUE,
+                (path, attributes) -> attributes.isRegularFile() && isMarkdown(path))) {
+            List<Path> result = paths
+                    .filter(path -> output.equals(source) || !path.startsWith(output))
+                    .sorted()
+                    .toList();
+            if (result.size() > maxFiles) {
+                throw new IllegalArgumentException(
+                        "한 번에 내보낼 수 있는 파일 수(" + maxFiles + ")를 초과했습니다: " + result.size());
+            }
+            return result;
+        }
+    }
+
+    private static boolean isMarkdown(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return MARKDOWN_EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    /**
+     * 읽기 단계. 바뀌지 않은 파일은 변환 단계를 건너뛰어 바로 쓰기 단계로 넘긴다.
+     */
+    private void read(Path source, Path output, List<Path> markdownFiles, ExportManifest previous,
+                      BlockingQueue<Job> jobs, BlockingQueue<Result> results) {
+        try {
+            for (Path file : markdownFiles) {
+                String path = source.relativize(file).toString();
+                try {
+                    Job job = readFile(file, path, output, previous);
+                    if (job.bytes() == null) {
+                        results.put(Result.skipped(path, job.entry()));
+                    } else {
+                        jobs.put(job);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    results.put(Result.failed(path, e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (int i = 0; i < parallelism; i++) {
+                signal(jobs, END_OF_FILES);
+            }
+        }
+    }
+
+    private Job readFile(Path file, String path, Path output, ExportManifest previous) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long modifiedMillis = attributes.lastModifiedTime().toMillis();
+        ExportManifest.Entry known = previous.get(path);
+        boolean outputExists = Files.isRegularFile(output.resolve(outputPath(path)));
+        if (known != null && outputExists
+                && known.size() == attributes.size() && known.modifiedMillis() == modifiedMillis) {
+            return new Job(path, null, known);
+        }
+
+        ByteBuffer bytes = files.readBytes(file);
+        var entry = new ExportManifest.Entry(bytes.remaining(), modifiedMillis, ExportManifest.sha256(bytes));
+        if (known != null && outputExists && known.sha256().equals(entry.sha256())) {
+            return new Job(path, null, entry);
+        }
+        return new Job(path, bytes, entry);
+    }
+
+    /**
+     * 변환 단계. 디코딩과 변환을 여러 작업 스레드가 동시에 수행한다. 파일마다 진입 제어의 자리를 기다린다.
+     */
+    private void convert(BlockingQueue<Job> jobs, BlockingQueue<Result> results, ConvertOptions options) {
+        try {
+            for (Job next = jobs.take(); next != END_OF_FILES; next = jobs.take()) {
+                Job job = next;
+                Result result;
+                try {
+                    result = admission.admitWaiting("exportMarkdownTree", job.bytes().remaining(),
+                            () -> convertFile(job, options));
+                } catch (UncheckedIOException e) {
+                    result = Result.failed(job.path(), e.getCause());
+                } catch (RuntimeException e) {
+                    result = Result.failed(job.path(), e);
+                }
+                results.put(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            signal(results, WORKER_DONE);
+        }
+    }
+
+    private Result convertFile(Job job, ConvertOptions options) {
+        try {
+            var markdown = files.decode(job.bytes(), Path.of(job.path()));
+            var markup = new StringBuilder(markdown.length() + 64);
+            converter.convert(markdown, markup, options);
+            return new Result(job.path(), markup, job.entry(), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 쓰기 단계. 출력 디렉터리에 원본과 같은 상대 경로로 쓴다.
+     */
+    private void write(Path sourceRelative, CharSequence markup) throws IOException {
+        Path target = sourceRelative.resolveSibling(WorkspaceFiles.outputName(sourceRelative.getFileName().toString()));
+        Files.createDirectories(target.getParent());
+        files.writeAtomically(target, writer -> writer.append(markup));
+    }
+
+    private static String outputPath(String path) {
+        Path relative = Path.of(path);
+        return relative.resolveSibling(WorkspaceFiles.outputName(relative.getFileName().toString())).toString();
+    }
+
+    /**
+     * 다음 단계에 끝을 알린다. 내보내기가 중단되어 스레드가 인터럽트된 경우에는 기다리지 않는다.
+     */
+    private static <T> void signal(BlockingQueue<T> queue, T marker) {
+        if (Thread.currentThread().isInterrupted()) {
+            queue.offer(marker);
+            return;
+        }
+        try {
+            queue.put(marker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
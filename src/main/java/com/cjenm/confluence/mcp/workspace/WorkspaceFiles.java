@@ -0,0 +1,213 @@
+package com.cjenm.confluence.mcp.workspace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 파일 변환 도구가 접근할 수 있는 공유 작업 공간.
+ * <p>
+ * 모든 경로는 {@code converter.files.root} 아래로 제한하며, 심볼릭 링크를 따라간 실제 경로도 루트 안이어야
+ * 한다. 루트를 설정하지 않으면 어떤 경로도 허용하지 않는다.
+ * <p>
+ * 파일은 NIO 채널로 읽고 큰 파일은 메모리 매핑한다. 결과 파일은 같은 디렉터리의 임시 파일에 쓴 뒤
+ * 원자적으로 옮기므로, 읽는 쪽이 쓰다 만 파일을 보지 않는다.
+ */
+@Component
+public class WorkspaceFiles {
+
+    /** 변환 결과 파일 확장자 */
+    public static final String OUTPUT_EXTENSION = ".wiki";
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @Nullable
+    private final Path root;
+    private final long mmapThresholdBytes;
+    private final long maxFileBytes;
+
+    public WorkspaceFiles(ConverterProperties properties) {
+        var files = properties.files();
+        this.root = files.root().isBlank() ? null : Path.of(files.root()).toAbsolutePath().normalize();
+        this.mmapThresholdBytes = files.mmapThresholdBytes();
+        this.maxFileBytes = Math.min(files.maxFileBytes(), Integer.MAX_VALUE);
+    }
+
+    /** 쓰기 대상에 내용을 쓰는 작업 */
+    @FunctionalInterface
+    public interface WriteAction {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * 루트의 실제 경로를 반환한다.
+     *
+     * @throws IllegalArgumentException 루트를 설정하지 않은 경우
+     */
+    public Path root() throws IOException {
+        if (root == null) {
+            throw new IllegalArgumentException("파일 변환이 허용되지 않았습니다. converter.files.root를 설정하세요.");
+        }
+        return root.toRealPath();
+    }
+
+    /**
+     * 루트 기준 경로를 실제 파일 경로로 바꾼다. 루트 밖을 가리키거나 일반 파일이 아니면 거부한다.
+     */
+    public Path resolveFile(String path) throws IOException {
+        Path real = resolveExisting(path);
+        if (!Files.isRegularFile(real)) {
+            throw new IllegalArgumentException("일반 파일이 아닙니다: " + path);
+        }
+        return real;
+    }
+
+    /**
+     * 루트 기준 경로를 실제 디렉터리 경로로 바꾼다. 루트 밖을 가리키거나 디렉터리가 아니면 거부한다.
+     */
+    public Path resolveDirectory(String path) throws IOException {
+        Path real = resolveExisting(path);
+        if (!Files.isDirectory(real)) {
+            throw new IllegalArgumentException("디렉터리가 아닙니다: " + path);
+        }
+        return real;
+    }
+
+    /**
+     * 루트 기준 경로의 디렉터리를 필요하면 만들어 실제 경로로 반환한다.
+     */
+    public Path createDirectories(String path) throws IOException {
+        Path candidate = candidate(root(), path);
+        Files.createDirectories(candidate);
+        return resolveDirectory(path);
+    }
+
+    /**
+     * 루트 기준 상대 경로. 결과에 실제 경로 대신 돌려준다.
+     */
+    public String relativize(Path path) throws IOException {
+        return root().relativize(path).toString();
+    }
+
+    private Path resolveExisting(String path) throws IOException {
+        Path realRoot = root();
+        Path candidate = candidate(realRoot, path);
+        Path real;
+        try {
+            real = candidate.toRealPath();
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("존재하지 않는 경로: " + path);
+        }
+        if (!real.startsWith(realRoot)) {
+            throw new IllegalArgumentException("허용된 루트 밖의 경로입니다: " + path);
+        }
+        return real;
+    }
+
+    private static Path candidate(Path realRoot, String path) {
+        Path candidate = realRoot.resolve(path).normalize();
+        if (!candidate.startsWith(realRoot)) {
+            throw new IllegalArgumentException("허용된 루트 밖의 경로입니다: " + path);
+        }
+        return candidate;
+    }
+
+    /**
+     * 파일을 읽어 UTF-8로 디코딩한다.
+     */
+    public CharBuffer read(Path file) throws IOException {
+        return decode(readBytes(file), file);
+    }
+
+    /**
+     * 파일 내용을 읽는다. 큰 파일은 메모리 매핑하여 힙으로 복사하지 않는다.
+     */
+    public ByteBuffer readBytes(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxFileBytes) {
+                throw new IllegalArgumentException(
+                        "파일이 너무 큽니다 (" + size + " bytes, 최대 " + maxFileBytes + " bytes): " + file.getFileName());
+            }
+            if (size >= mmapThresholdBytes) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer bytes = ByteBuffer.allocate((int) size);
+            while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                // 끝까지 읽는다
+            }
+            return bytes.flip();
+        }
+    }
+
+    /**
+     * UTF-8 바이트를 문자 버퍼로 한 번만 디코딩한다. 앞의 BOM은 건너뛰며, 버퍼의 위치는 바꾸지 않는다.
+     *
+     * @throws IllegalArgumentException 올바른 UTF-8이 아닌 경우
+     */
+    public CharBuffer decode(ByteBuffer bytes, Path file) {
+        ByteBuffer input = bytes.duplicate();
+        if (startsWithBom(input)) {
+            input.position(input.position() + UTF8_BOM.length);
+        }
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(input);
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException("UTF-8로 디코딩할 수 없는 파일입니다: " + file.getFileName());
+        }
+    }
+
+    private static boolean startsWithBom(ByteBuffer bytes) {
+        if (bytes.remaining() < UTF8_BOM.length) {
+            return false;
+        }
+        for (int i = 0; i < UTF8_BOM.length; i++) {
+            if (bytes.get(bytes.position() + i) != UTF8_BOM[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 같은 디렉터리의 임시 파일에 UTF-8로 쓴 뒤 대상 파일로 원자적으로 옮긴다.
+     */
+    public void writeAtomically(Path target, WriteAction action) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".convert-", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                action.writeTo(writer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 마크다운 확장자를 {@code .wiki}로 바꾼 파일 이름. 확장자가 없으면 뒤에 붙인다.
+     */
+    public static String outputName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return base + OUTPUT_EXTENSION;
+    }
+}
@@ -0,0 +1,70 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentRenderingTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    @DisplayName("여러 스레드가 공유 렌더러로 테이블을 렌더링해도 단일 스레드 결과와 동일")
+    void concurrentTablesMatchSequentialOutput() throws Exception {
+        var converter = new ConfluenceConverter();
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            documents.add(tableDocument(i));
+        }
+        var options = ConvertOptions.withTheme("Eclipse");
+        List<String> expected = documents.stream()
+                .map(doc -> converter.convert(doc, options))
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        int index = (offset + i) % documents.size();
+                        assertThat(converter.convert(documents.get(index), options))
+                                .isEqualTo(expected.get(index));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String tableDocument(int seed) {
+        var sb = new StringBuilder("# 문서 ").append(seed).append("\n\n");
+        for (int table = 0; table <= seed % 4; table++) {
+            sb.append("| 이름 | 값 | 비고 |\n|------|----|------|\n");
+            for (int row = 0; row < 3 + seed; row++) {
+                sb.append("| r").append(row).append(" | **").append(row * seed).append("** | `x{")
+                        .append(row).append("}` |\n");
+            }
+            sb.append("\n- 항목 ").append(table).append("\n  - 하위\n\n");
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,12 @@
 package com.cjenm.confluence.mcp.converter;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -185,6 +192,26 @@ class ConfluenceConverterTest {
             assertThat(result).contains("* parent 2");
         }
 
+        @Test
+        @DisplayName("순서 있는 리스트와 섞인 깊은 중첩 리스트")
+        void mixedDeepNestedList() {
+            String result = converter.convert("""
+                    - a
+                        1. b
+                            - c
+                                1. d
+                            - e
+                        1. f
+                    - g""");
+            assertThat(result).contains("* a\n");
+            assertThat(result).contains("*# b\n");
+            assertThat(result).contains("*#* c\n");
+            assertThat(result).contains("*#*# d\n");
+            assertThat(result).contains("*#* e\n");
+            assertThat(result).contains("*# f\n");
+            assertThat(result).contains("* g\n");
+        }
+
         @Test
         @DisplayName("체크박스 리스트")
         void taskList() {
@@ -194,6 +221,16 @@ class ConfluenceConverterTest {
             assertThat(result).contains("* (x) 미완료 항목");
             assertThat(result).contains("* (/) 완료 항목");
         }
+
+        @Test
+        @DisplayName("체크박스 항목 안의 중첩 리스트에 있는 제목")
+        void headingInsideTaskListItem() {
+            String result = converter.convert("""
+                    - [x] 완료 항목
+                        1. # 제목
+                        - 하위 항목""");
+            assertThat(result).contains("* (/) 완료 항목").contains("h1. 제목").contains("** 하위 항목");
+        }
     }
 
     @Nested
@@ -214,6 +251,51 @@ class ConfluenceConverterTest {
         }
     }
 
+    @Nested
+    @DisplayName("확장 문법 선택")
+    class ExtensionTests {
+
+        private final String markdown = """
+                | A | B |
+                |---|---|
+                | 1 | 2 |
+
+                ~~취소~~ 문장
+
+                - [x] 완료 항목""";
+
+        @Test
+        @DisplayName("기본 옵션은 모든 확장 문법 사용")
+        void allByDefault() {
+            assertThat(ConvertOptions.defaults().extensions()).isEqualTo(ConvertOptions.ALL_EXTENSIONS);
+            assertThat(new ConvertOptions("Emacs", null)).isEqualTo(ConvertOptions.withTheme("Emacs"));
+        }
+
+        @Test
+        @DisplayName("끈 확장 문법은 일반 텍스트로 변환")
+        void disabledExtensions() {
+            var options = ConvertOptions.defaults().withExtensions(EnumSet.noneOf(ConvertOptions.Extension.class));
+
+            String result = converter.convert(markdown, options);
+
+            assertThat(result).doesNotContain("||", "-취소-", "(/)");
+            assertThat(result).contains("~~취소~~", "완료 항목");
+        }
+
+        @Test
+        @DisplayName("켠 확장 문법만 변환")
+        void someExtensions() {
+            var options = ConvertOptions.withTheme("Emacs")
+                    .withExtensions(EnumSet.of(ConvertOptions.Extension.TABLES));
+
+            String result = converter.convert(markdown, options);
+
+            assertThat(result).contains("|| A || B ||", "~~취소~~");
+            assertThat(result).doesNotContain("(/)");
+            assertThat(converter.convert(markdown)).contains("|| A || B ||", "-취소-", "* (/) 완료 항목");
+        }
+    }
+
     @Nested
     @DisplayName("후처리")
     class PostProcessTests {
@@ -235,6 +317,103 @@ class ConfluenceConverterTest {
         }
     }
 
+    @Nested
+    @DisplayName("렌더러 재사용")
+    class RendererReuseTests {
+
+        @Test
+        @DisplayName("같은 옵션의 반복 변환 결과가 동일")
+        void repeatedConversion() {
+            String markdown = """
+                    | A | B |
+                    |---|---|
+                    | 1 | 2 |
+
+                    ```java
+                    int x = 1;
+                    ```""";
+            String first = converter.convert(markdown, ConvertOptions.withTheme("Emacs"));
+            String second = converter.convert(markdown, ConvertOptions.withTheme("Emacs"));
+            assertThat(second).isEqualTo(first);
+            assertThat(converter.rendererFor(ConvertOptions.withTheme("Emacs")))
+                    .isSameAs(converter.rendererFor(ConvertOptions.withTheme("Emacs")));
+        }
+
+        @Test
+        @DisplayName("캐시 상한을 넘는 테마도 올바르게 변환")
+        void themesBeyondCacheLimit() {
+            for (int i = 0; i < ConfluenceConverter.MAX_CACHED_RENDERERS + 8; i++) {
+                String result = converter.convert("```\nx\n```", ConvertOptions.withTheme("T" + i));
+                assertThat(result).contains("{code:theme=T" + i + "}");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("스트리밍 변환")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Reader/Appendable 변환 결과가 문자열 변환과 동일")
+        void sameAsStringConversion() throws IOException {
+            var markdown = new StringBuilder();
+            for (int i = 0; i < 500; i++) {
+                markdown.append("## 섹션 ").append(i).append("\n\n")
+                        .append("**굵게** `{code}` 텍스트 {중괄호}\n\n")
+                        .append("- 항목\n  - 하위\n\n")
+                        .append("| A | B |\n|---|---|\n| 1 | 2 |\n\n")
+                        .append("```java\nint x = ").append(i).append(";\n```\n\n");
+            }
+            var options = ConvertOptions.withTheme("RDark");
+
+            var out = new StringWriter();
+            converter.convert(new StringReader(markdown.toString()), out, options);
+
+            assertThat(out.toString()).isEqualTo(converter.convert(markdown.toString(), options));
+        }
+
+        @Test
+        @DisplayName("큰 문서는 조각을 하나씩 렌더링하고 앞 조각의 결과를 먼저 내보냄")
+        void rendersOneChunkAtATime() throws IOException {
+            String markdown = MarkdownChunkerTest.document(10_000);
+            assertThat(markdown.length()).isGreaterThan(2_000_000);
+
+            for (var options : List.of(ConvertOptions.defaults(),
+                    ConvertOptions.defaults().withFormat(ConvertOptions.Format.STORAGE))) {
+                var out = new StringWriter();
+                List<Integer> writtenBeforeChunk = new ArrayList<>();
+                int[] largestChunk = {0};
+                var streaming = new ConfluenceConverter() {
+                    @Override
+                    String renderFragment(CharSequence chunk, ConvertOptions fragmentOptions) {
+                        largestChunk[0] = Math.max(largestChunk[0], chunk.length());
+                        writtenBeforeChunk.add(out.getBuffer().length());
+                        return super.renderFragment(chunk, fragmentOptions);
+                    }
+                };
+
+                streaming.convert(new StringReader(markdown), out, options);
+
+                assertThat(out.toString()).isEqualTo(converter.convert(markdown, options));
+                // 조각 크기는 최소 크기의 네 배에 블록 하나를 더한 것을 넘지 않는다
+                assertThat(largestChunk[0]).isLessThanOrEqualTo(ConfluenceConverter.STREAM_CHUNK_CHARS * 5);
+                assertThat(writtenBeforeChunk)
+                        .hasSizeGreaterThan(markdown.length() / (ConfluenceConverter.STREAM_CHUNK_CHARS * 5));
+                // 마지막 조각을 파싱하기 전에 앞 조각들의 결과는 이미 출력에 쓰여 있다
+                assertThat(writtenBeforeChunk.get(writtenBeforeChunk.size() - 1))
+                        .isGreaterThan(out.getBuffer().length() / 2);
+            }
+        }
+
+        @Test
+        @DisplayName("빈 입력은 아무것도 쓰지 않음")
+        void emptyInput() throws IOException {
+            var out = new StringWriter();
+            converter.convert(new StringReader("  \n "), out, ConvertOptions.defaults());
+            assertThat(out.toString()).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("통합 테스트")
     class IntegrationTests {
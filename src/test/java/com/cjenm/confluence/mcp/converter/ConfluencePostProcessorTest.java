@@ -0,0 +1,113 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfluencePostProcessorTest {
+
+    private static final String[] TOKENS = {
+            "{code}", "{code:language=java}", "{code:theme=Midnight}", "{code", "{code:", "code}", "{", "}",
+            "**", "*", "***", "\n", "\n\n", "\n\n\n", "\r", " ",
+            "\0CS\0", "\0CE\0", "\0C", "CS\0", "CE\0", "\0",
+            "a", "bold", " ", "  ", "\t", "한글", "|| ", "| ", "h1. ", "[link|https://example.com]"
+    };
+
+    @ParameterizedTest
+    @DisplayName("대표 입력에서 기존 정규식 체인과 동일한 결과")
+    @ValueSource(strings = {
+            "",
+            "   \n\n  ",
+            "h1. Title\n\n\n\n\nparagraph\n\n",
+            "**bold** and **more bold**\n",
+            "**not\nbold**",
+            "{code:language=java}\n**keep**\n\n\n\n{code}\n\n\n\n**x**",
+            "**a {code}\nline\n{code} b**",
+            "\0CS\0Map<String\\, Object>\0CE\0",
+            "\0CE\0CS\0CS\0",
+            "{code:language=java}\n\0CS\0x\0CE\0\n{code}",
+            "{code:unclosed\n**bold**",
+            "****",
+            "*****",
+            "\0CS\0**x**\0CE\0"
+    })
+    void representativeInputs(String raw) {
+        assertThat(ConfluencePostProcessor.process(raw)).isEqualTo(legacyPostProcess(raw));
+    }
+
+    @RepeatedTest(200)
+    @DisplayName("무작위 입력에서 기존 정규식 체인과 동일한 결과")
+    void randomInputs(RepetitionInfo info) throws IOException {
+        var random = new Random(info.getCurrentRepetition());
+        String raw = randomText(random, 1 + random.nextInt(info.getCurrentRepetition() % 10 == 0 ? 6000 : 60));
+        String expected = legacyPostProcess(raw);
+
+        assertThat(ConfluencePostProcessor.process(raw)).isEqualTo(expected);
+        assertThat(processInChunks(raw, random)).isEqualTo(expected);
+    }
+
+    private static String processInChunks(String raw, Random random) throws IOException {
+        var sb = new StringBuilder();
+        var processor = new ConfluencePostProcessor(sb);
+        int p = 0;
+        while (p < raw.length()) {
+            int end = Math.min(raw.length(), p + 1 + random.nextInt(3000));
+            processor.append(raw, p, end);
+            p = end;
+        }
+        processor.finish();
+        return sb.toString();
+    }
+
+    private static String randomText(Random random, int tokens) {
+        var sb = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static final Pattern CODE_BLOCK_PATTERN =
+            Pattern.compile("\\{code(?::[^}]*)?\\}[\\s\\S]*?\\{code\\}");
+    private static final Pattern RESIDUAL_BOLD_PATTERN =
+            Pattern.compile("\\*\\*(.+?)\\*\\*");
+    private static final Pattern EXCESS_NEWLINES_PATTERN =
+            Pattern.compile("\n{3,}");
+
+    /**
+     * 단일 패스 후처리기 도입 전의 정규식 체인 구현 (비교 기준).
+     */
+    static String legacyPostProcess(String text) {
+        List<String> codeBlocks = new ArrayList<>();
+        Matcher matcher = CODE_BLOCK_PATTERN.matcher(text);
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            codeBlocks.add(matcher.group());
+            matcher.appendReplacement(sb, "\0CODE_BLOCK_" + (codeBlocks.size() - 1) + "\0");
+        }
+        matcher.appendTail(sb);
+        String processed = sb.toString();
+
+        processed = RESIDUAL_BOLD_PATTERN.matcher(processed).replaceAll("*$1*");
+        processed = EXCESS_NEWLINES_PATTERN.matcher(processed).replaceAll("\n\n");
+
+        for (int i = 0; i < codeBlocks.size(); i++) {
+            processed = processed.replace("\0CODE_BLOCK_" + i + "\0", codeBlocks.get(i));
+        }
+
+        processed = processed.replace("\0CS\0", "{{").replace("\0CE\0", "}}");
+
+        return processed.strip() + "\n";
+    }
+}
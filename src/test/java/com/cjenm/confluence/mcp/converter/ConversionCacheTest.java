@@ -0,0 +1,55 @@
+package com.cjenm.confluence.mcp.converter;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionCacheTest {
+
+    private final IncrementalConverter converter = new IncrementalConverter(
+            new ConfluenceConverter(), ConversionMetrics.noop(), ConverterProperties.defaults());
+
+    private static ConverterProperties withCache(boolean enabled) {
+        var defaults = ConverterProperties.defaults();
+        return new ConverterProperties(
+                new ConverterProperties.Cache(enabled, 1024 * 1024), defaults.batch(), defaults.incremental(),
+                defaults.parallel(), defaults.files(), defaults.export(), defaults.admission(), defaults.pages());
+    }
+
+    @Test
+    @DisplayName("같은 마크다운과 옵션은 캐시에서 반환")
+    void hitOnRepeatedConversion() {
+        var cache = new ConversionCache(converter, withCache(true));
+
+        String first = cache.convert("# 제목\n\n**본문**", ConvertOptions.defaults());
+        String second = cache.convert("# 제목\n\n**본문**", ConvertOptions.defaults());
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("옵션이 다르면 별도 항목")
+    void optionsArePartOfKey() {
+        var cache = new ConversionCache(converter, withCache(true));
+        String markdown = "```java\nint x;\n```";
+
+        assertThat(cache.convert(markdown, ConvertOptions.withTheme("Emacs"))).contains("theme=Emacs");
+        assertThat(cache.convert(markdown, ConvertOptions.withTheme("RDark"))).contains("theme=RDark");
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 변환기를 그대로 호출")
+    void disabled() {
+        var cache = new ConversionCache(converter, ConverterProperties.defaults());
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.convert("*a*", ConvertOptions.defaults())).isEqualTo("_a_\n");
+        assertThat(cache.stats().requestCount()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionMetricsTest {
+
+    private static final String MARKDOWN = """
+            # 제목
+
+            **굵게** 그리고 `code`
+
+            - 항목
+            """;
+
+    private SimpleMeterRegistry registry;
+    private ConfluenceConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        converter = new ConfluenceConverter(new ConversionMetrics(registry));
+    }
+
+    @Test
+    @DisplayName("변환마다 단계별 시간과 입출력 크기를 기록")
+    void recordsPhasesAndSizes() {
+        String result = converter.convert(MARKDOWN);
+
+        assertThat(registry.get(ConversionMetrics.CONVERSION).timer().count()).isEqualTo(1);
+        for (String phase : new String[]{"parse", "render", "postProcess"}) {
+            assertThat(registry.get(ConversionMetrics.PHASE).tag("phase", phase).timer().count())
+                    .as(phase)
+                    .isEqualTo(1);
+        }
+        assertThat(registry.get(ConversionMetrics.INPUT_SIZE).summary().totalAmount())
+                .isEqualTo(MARKDOWN.length());
+        assertThat(registry.get(ConversionMetrics.OUTPUT_SIZE).summary().totalAmount())
+                .isEqualTo(result.length());
+    }
+
+    @Test
+    @DisplayName("스트리밍 변환도 출력한 문자 수를 기록")
+    void recordsStreamingConversion() throws IOException {
+        var out = new StringWriter();
+        converter.convert(new StringReader(MARKDOWN), out, ConvertOptions.defaults());
+
+        assertThat(registry.get(ConversionMetrics.CONVERSION).timer().count()).isEqualTo(1);
+        assertThat(registry.get(ConversionMetrics.OUTPUT_SIZE).summary().totalAmount())
+                .isEqualTo(out.toString().length());
+    }
+
+    @Test
+    @DisplayName("빈 입력은 기록하지 않음")
+    void skipsBlankInput() {
+        converter.convert("   ");
+
+        assertThat(registry.get(ConversionMetrics.CONVERSION).timer().count()).isZero();
+    }
+}
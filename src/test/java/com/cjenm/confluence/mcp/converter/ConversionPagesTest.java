@@ -0,0 +1,122 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionPagesTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private final ConversionPages pages = new ConversionPages(ConverterProperties.defaults(), time::get);
+
+    private final String result = new ConfluenceConverter().convert(MarkdownChunkerTest.document(60));
+
+    private static int utf8Bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Test
+    @DisplayName("페이지를 이어 붙이면 전체 결과")
+    void pagesReassemble() {
+        var page = pages.open(result, 1024);
+        var joined = new StringBuilder(page.content());
+        int count = 1;
+        while (page.nextCursor() != null) {
+            page = pages.fetch(page.handle(), page.nextCursor(), 1024);
+            joined.append(page.content());
+            count++;
+        }
+
+        assertThat(joined.toString()).isEqualTo(result);
+        assertThat(count).isGreaterThan(1);
+        assertThat(page.totalChars()).isEqualTo(result.length());
+    }
+
+    @Test
+    @DisplayName("페이지는 바이트 상한 안에서 줄 경계로 잘림")
+    void cutsAtLineBoundaries() {
+        var page = pages.open(result, 1024);
+        while (page.nextCursor() != null) {
+            assertThat(utf8Bytes(page.content())).isLessThanOrEqualTo(1024);
+            assertThat(page.content()).endsWith("\n");
+            page = pages.fetch(page.handle(), page.nextCursor(), 1024);
+        }
+    }
+
+    @Test
+    @DisplayName("긴 줄은 서로게이트 쌍을 나누지 않고 문자 경계에서 자름")
+    void cutsLongLines() {
+        String line = "가😀".repeat(200);
+
+        int end = ConversionPages.pageEnd(line, 0, 256);
+
+        assertThat(utf8Bytes(line.substring(0, end))).isBetween(250, 256);
+        assertThat(Character.isLowSurrogate(line.charAt(end))).isFalse();
+    }
+
+    @Test
+    @DisplayName("빈 줄을 줄바꿈보다 먼저 경계로 고름")
+    void prefersBlockBoundaries() {
+        String text = "a".repeat(150) + "\n\n" + "b".repeat(60) + "\n" + "c".repeat(100);
+
+        assertThat(ConversionPages.pageEnd(text, 0, 256)).isEqualTo(152);
+    }
+
+    @Test
+    @DisplayName("첫 페이지에 모두 들어가면 보관하지 않음")
+    void smallResultNotStored() {
+        var page = pages.open("h1. 제목\n", null);
+
+        assertThat(page.handle()).isNull();
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.content()).isEqualTo("h1. 제목\n");
+        assertThat(pages.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 커서로 다시 조회하면 같은 페이지")
+    void cursorIsRepeatable() {
+        var first = pages.open(result, 1024);
+
+        assertThat(pages.fetch(first.handle(), first.nextCursor(), 1024))
+                .isEqualTo(pages.fetch(first.handle(), first.nextCursor(), 1024));
+        assertThat(pages.fetch(first.handle(), null, 1024)).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("마지막 조회 후 보관 시간이 지나면 만료")
+    void expiresAfterTtl() {
+        var page = pages.open(result, 1024);
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(ConverterProperties.defaults().pages().ttlSeconds() - 1));
+        pages.fetch(page.handle(), page.nextCursor(), 1024);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(ConverterProperties.defaults().pages().ttlSeconds() - 1));
+        pages.fetch(page.handle(), page.nextCursor(), 1024);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(ConverterProperties.defaults().pages().ttlSeconds() + 1));
+
+        assertThatThrownBy(() -> pages.fetch(page.handle(), page.nextCursor(), 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("만료");
+    }
+
+    @Test
+    @DisplayName("올바르지 않은 커서와 핸들은 거부")
+    void rejectsInvalidInput() {
+        var page = pages.open(result, 1024);
+
+        assertThatThrownBy(() -> pages.fetch(page.handle(), "abc", 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pages.fetch(page.handle(), String.valueOf(result.length() + 1), 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pages.fetch("unknown", null, 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
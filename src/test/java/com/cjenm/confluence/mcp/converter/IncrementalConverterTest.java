@@ -0,0 +1,100 @@
+package com.cjenm.confluence.mcp.converter;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalConverterTest {
+
+    private final ConfluenceConverter converter = new ConfluenceConverter();
+
+    private SimpleMeterRegistry registry;
+    private IncrementalConverter incremental;
+
+    private static ConverterProperties withIncremental(boolean enabled) {
+        var defaults = ConverterProperties.defaults();
+        return new ConverterProperties(defaults.cache(), defaults.batch(),
+                new ConverterProperties.Incremental(enabled, 1024, 256, 16 * 1024 * 1024), defaults.parallel(),
+                defaults.files(), defaults.export(), defaults.admission(), defaults.pages());
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        incremental = new IncrementalConverter(converter, new ConversionMetrics(registry), withIncremental(true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 80})
+    @DisplayName("전체 변환과 같은 결과")
+    void sameAsFullConversion(int sections) {
+        String markdown = MarkdownChunkerTest.document(sections);
+
+        assertThat(incremental.convert(markdown, ConvertOptions.withTheme("Midnight")))
+                .isEqualTo(converter.convert(markdown, ConvertOptions.withTheme("Midnight")));
+    }
+
+    @Test
+    @DisplayName("한 단락만 고치면 바뀐 조각만 다시 렌더링")
+    void rerendersOnlyChangedChunks() {
+        String markdown = MarkdownChunkerTest.document(80);
+        String edited = markdown.replace("단락 **굵게** `code {x}` {중괄호} 40\n",
+                "고친 단락 **굵게** `code {x}` {중괄호} 40\n");
+
+        incremental.convert(markdown, ConvertOptions.defaults());
+        double renderedFirst = fragments("rendered");
+        String result = incremental.convert(edited, ConvertOptions.defaults());
+
+        assertThat(result).isEqualTo(converter.convert(edited, ConvertOptions.defaults()));
+        assertThat(fragments("rendered") - renderedFirst).isBetween(1.0, 2.0);
+        assertThat(fragments("reused")).isGreaterThan(renderedFirst - 2);
+    }
+
+    @Test
+    @DisplayName("코드 블록 표기가 조각 경계를 넘어도 전체 변환과 같은 결과")
+    void postProcessingAcrossChunks() {
+        String markdown = "문단 {code:x} 시작\n\n" + MarkdownChunkerTest.document(20)
+                + "**굵게\n\n" + MarkdownChunkerTest.document(20) + "\n\n\n\n끝 {code}\n";
+
+        assertThat(incremental.convert(markdown, ConvertOptions.defaults()))
+                .isEqualTo(converter.convert(markdown, ConvertOptions.defaults()));
+    }
+
+    @Test
+    @DisplayName("비활성화 시 변환기를 그대로 호출")
+    void disabled() {
+        var disabled = new IncrementalConverter(converter, new ConversionMetrics(registry), withIncremental(false));
+        String markdown = MarkdownChunkerTest.document(20);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.convert(markdown, ConvertOptions.defaults()))
+                .isEqualTo(converter.convert(markdown, ConvertOptions.defaults()));
+        assertThat(fragments("rendered")).isZero();
+    }
+
+    @Test
+    @DisplayName("두 개정판을 함께 변환하면 공통 조각은 한 번만 렌더링")
+    void convertsRevisionsSharingChunks() {
+        var disabled = new IncrementalConverter(converter, new ConversionMetrics(registry), withIncremental(false));
+        String before = MarkdownChunkerTest.document(80);
+        String after = before.replace("단락 **굵게** `code {x}` {중괄호} 40\n",
+                "고친 단락 **굵게** `code {x}` {중괄호} 40\n");
+
+        var revisions = disabled.convertRevisions(before, after, ConvertOptions.defaults());
+
+        assertThat(revisions.before()).isEqualTo(converter.convert(before, ConvertOptions.defaults()));
+        assertThat(revisions.after()).isEqualTo(converter.convert(after, ConvertOptions.defaults()));
+        assertThat(fragments("reused")).isGreaterThan(fragments("rendered") / 2 - 2);
+    }
+
+    private double fragments(String result) {
+        return registry.get(ConversionMetrics.FRAGMENTS).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,128 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LineDiffTest {
+
+    /** 패치를 이전 텍스트에 적용한 줄 목록 */
+    private static List<String> apply(String before, String patch) {
+        List<String> a = LineDiff.lines(before);
+        var out = new ArrayList<String>();
+        int i = 0;
+        for (String line : LineDiff.lines(patch)) {
+            if (line.startsWith("@@")) {
+                String[] range = line.split(" ")[1].substring(1).split(",");
+                int start = Integer.parseInt(range[1]) == 0 ? Integer.parseInt(range[0]) : Integer.parseInt(range[0]) - 1;
+                while (i < start) {
+                    out.add(a.get(i++));
+                }
+            } else if (line.startsWith(" ")) {
+                assertThat(a.get(i)).isEqualTo(line.substring(1));
+                out.add(a.get(i++));
+            } else if (line.startsWith("-")) {
+                assertThat(a.get(i++)).isEqualTo(line.substring(1));
+            } else {
+                out.add(line.substring(1));
+            }
+        }
+        while (i < a.size()) {
+            out.add(a.get(i++));
+        }
+        return out;
+    }
+
+    @Test
+    @DisplayName("바뀐 줄과 앞뒤 문맥만 hunk로 출력")
+    void unifiedFormat() {
+        var patch = LineDiff.unified("a\nb\nc\nd\ne\nf\ng\n", "a\nb\nX\nd\ne\nf\ng\nh\n", 1);
+
+        assertThat(patch.text()).isEqualTo("""
+                @@ -2,3 +2,3 @@
+                 b
+                -c
+                +X
+                 d
+                @@ -7,1 +7,2 @@
+                 g
+                +h
+                """);
+        assertThat(patch.added()).isEqualTo(2);
+        assertThat(patch.removed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("차이가 없으면 빈 패치")
+    void identical() {
+        assertThat(LineDiff.unified("a\nb\n", "a\nb\n", 3)).isEqualTo(new LineDiff.Patch("", 0, 0));
+        assertThat(LineDiff.unified("", "", 3).text()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("큰 문서의 한 줄 변경은 한 hunk")
+    void largeDocumentSmallEdit() {
+        var before = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            before.append("line ").append(i).append('\n');
+        }
+        String after = before.toString().replace("line 50000\n", "changed\n");
+
+        var patch = LineDiff.unified(before.toString(), after, 3);
+
+        assertThat(patch.text()).startsWith("@@ -49998,7 +49998,7 @@\n").contains("-line 50000\n+changed\n");
+        assertThat(patch.added()).isEqualTo(1);
+        assertThat(patch.removed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("편집 거리가 상한을 넘으면 구간 전체를 바꾸는 패치")
+    void exceedsEditDistance() {
+        var before = new StringBuilder();
+        var after = new StringBuilder();
+        for (int i = 0; i < LineDiff.MAX_EDIT_DISTANCE; i++) {
+            before.append("old ").append(i).append('\n');
+            after.append("new ").append(i).append('\n');
+        }
+
+        var patch = LineDiff.unified(before.toString(), after.toString(), 3);
+
+        assertThat(apply(before.toString(), patch.text())).isEqualTo(LineDiff.lines(after.toString()));
+        assertThat(patch.removed()).isEqualTo(LineDiff.MAX_EDIT_DISTANCE);
+    }
+
+    @RepeatedTest(200)
+    @DisplayName("무작위 편집의 패치를 적용하면 이후 텍스트")
+    void randomEdits(RepetitionInfo info) {
+        var random = new Random(info.getCurrentRepetition());
+        var before = new StringBuilder();
+        var after = new StringBuilder();
+        for (int i = 0, n = random.nextInt(40); i < n; i++) {
+            String line = String.valueOf((char) ('a' + random.nextInt(4)));
+            before.append(line).append('\n');
+            switch (random.nextInt(5)) {
+                case 0 -> { }
+                case 1 -> after.append((char) ('a' + random.nextInt(4))).append('\n').append(line).append('\n');
+                default -> after.append(line).append('\n');
+            }
+        }
+
+        var patch = LineDiff.unified(before.toString(), after.toString(), random.nextInt(4));
+
+        assertThat(apply(before.toString(), patch.text())).isEqualTo(LineDiff.lines(after.toString()));
+    }
+
+    @Test
+    @DisplayName("음수 문맥 줄 수는 거부")
+    void rejectsNegativeContext() {
+        assertThatThrownBy(() -> LineDiff.unified("a", "b", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownChunkerTest {
+
+    static String document(int sections) {
+        var sb = new StringBuilder();
+        for (int n = 0; n < sections; n++) {
+            sb.append("## 섹션 ").append(n).append("\n\n");
+            sb.append("단락 **굵게** `code {x}` {중괄호} ").append(n).append("\n두 번째 줄\n\n");
+            sb.append("- 항목\n  - 하위 항목\n\n- 느슨한 항목\n\n1. 첫째\n2. 둘째\n\n");
+            sb.append("| 키 | 값 |\n|----|----|\n| a | **b** |\n\n");
+            sb.append("```java\nint a = ").append(n).append(";\n\n\n\nplain line\n\n## not heading\n```\n\n");
+            sb.append("> 인용 ").append(n).append("\n\n");
+            sb.append("    indented\n\n    code\n\n");
+            sb.append("---\n\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("조각을 이어 붙이면 원문과 같음")
+    void chunksConcatenateToSource() {
+        String markdown = document(50);
+
+        List<String> chunks = MarkdownChunker.split(markdown, 256);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(String.join("", chunks)).isEqualTo(markdown);
+    }
+
+    @Test
+    @DisplayName("펜스 코드 블록, 리스트, 들여쓴 코드 안에서는 나누지 않음")
+    void boundariesAreTopLevel() {
+        List<String> chunks = MarkdownChunker.split(document(50), 64);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        for (String chunk : chunks) {
+            assertThat(chunk.lines().filter(line -> line.startsWith("```")).count() % 2)
+                    .as(chunk)
+                    .isZero();
+            char first = chunk.charAt(0);
+            assertThat(first).isNotIn(' ', '\t', '-', '1', '2');
+        }
+    }
+
+    @Test
+    @DisplayName("작은 문서는 나누지 않음")
+    void smallDocument() {
+        String markdown = document(1);
+
+        assertThat(MarkdownChunker.split(markdown, markdown.length())).containsExactly(markdown);
+    }
+
+    @Test
+    @DisplayName("HTML 블록이나 링크 참조 정의가 있으면 나누지 않음")
+    void undecidableDocuments() {
+        String withHtml = document(20) + "<!--\n\nnot markdown\n\n-->\n\n" + document(20);
+        String withReference = document(20) + "[ref]: https://example.com\n\n" + document(20);
+        String withIndentedFence = document(20) + "  ```\ncode\n\nline\n  ```\n\n" + document(20);
+
+        assertThat(MarkdownChunker.split(withHtml, 64)).containsExactly(withHtml);
+        assertThat(MarkdownChunker.split(withReference, 64)).containsExactly(withReference);
+        assertThat(MarkdownChunker.split(withIndentedFence, 64)).containsExactly(withIndentedFence);
+    }
+
+    @Test
+    @DisplayName("리스트 항목 안의 닫히지 않은 펜스 뒤 첫 줄에서는 나누지 않음")
+    void unclosedFenceInListItem() {
+        String unclosed = "- 항목\n    ```\n\n# 단락으로 파싱되는 줄\n\n";
+        String markdown = document(20) + unclosed + document(20);
+
+        List<String> chunks = MarkdownChunker.split(markdown, 64);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).noneMatch(chunk -> chunk.startsWith("# 단락으로 파싱되는 줄"));
+        assertThat(String.join("", chunks)).isEqualTo(markdown);
+    }
+
+    @Test
+    @DisplayName("앞부분을 고쳐도 뒤쪽 조각은 그대로 유지")
+    void boundariesAreContentDefined() {
+        String markdown = document(100);
+        String edited = markdown.replaceFirst("단락", "고친 단락과 더 긴 문장");
+
+        List<String> before = MarkdownChunker.split(markdown, 256);
+        List<String> after = MarkdownChunker.split(edited, 256);
+
+        assertThat(after.subList(after.size() / 2, after.size()))
+                .isSubsetOf(before);
+    }
+}
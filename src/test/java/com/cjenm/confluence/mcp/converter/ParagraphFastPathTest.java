@@ -0,0 +1,125 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.Random;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParagraphFastPathTest {
+
+    /** 빠른 경로로 처리할 수 있는 토큰 */
+    private static final String[] PLAIN = {
+            "alpha", "베타", "text", "123", "**굵게**", "**굵게**는", "*기울임*", "_밑줄_", "__strong__", "snake_case",
+            "`code`", "`{x}`", "`a\\b`", "[링크](https://example.com/a_b?x=1&y=2)", "[https://x.com](https://x.com)",
+            "[{중괄호}](u)", "{brace}", "}", "(괄호)", "!", "...", ",", "&amp;", "&", "é", "a * b"
+    };
+
+    /** 구분자 규칙, 줄 시작 판단에 영향을 주거나 전체 파이프라인으로 넘겨야 하는 토큰 */
+    private static final String[] TRICKY = {
+            "a*b", "*", "_", "**", "__", "***", "` x `", "``", "`", "[a](b c)", "[ref]", "]", "![img](a.png)",
+            "1.", "2)", "#", "-", "+", "=", "|", "~~취소~~", "<b>", ">", "\\", "\\*", "·", "🙂", "\t"
+    };
+
+    private final ConfluenceConverter converter = new ConfluenceConverter();
+
+    @RepeatedTest(2000)
+    @DisplayName("빠른 경로로 처리한 문서는 전체 파이프라인과 같은 결과")
+    void sameAsFullPipeline(RepetitionInfo info) {
+        String markdown = paragraphs(new Random(info.getCurrentRepetition()));
+        var raw = new StringBuilder();
+
+        if (ParagraphFastPath.render(markdown, raw)) {
+            assertThat(ConfluencePostProcessor.process(raw))
+                    .as(markdown)
+                    .isEqualTo(fullPipeline(markdown));
+        }
+    }
+
+    @RepeatedTest(300)
+    @DisplayName("블록 요소가 섞인 무작위 문서도 빠른 경로가 틀린 결과를 내지 않음")
+    void mixedDocuments(RepetitionInfo info) {
+        var random = new Random(info.getCurrentRepetition());
+        String markdown = RandomMarkdown.generate(random, 1 + random.nextInt(8));
+        var raw = new StringBuilder();
+
+        if (ParagraphFastPath.render(markdown, raw)) {
+            assertThat(ConfluencePostProcessor.process(raw))
+                    .as(markdown)
+                    .isEqualTo(fullPipeline(markdown));
+        }
+    }
+
+    @Test
+    @DisplayName("무작위 단락의 상당수가 빠른 경로를 탐")
+    void fuzzCoversFastPath() {
+        int accepted = 0;
+        for (int seed = 1; seed <= 2000; seed++) {
+            if (ParagraphFastPath.render(paragraphs(new Random(seed)), new StringBuilder())) {
+                accepted++;
+            }
+        }
+        assertThat(accepted).isGreaterThan(400);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "**굵게** 그리고 *기울임*, `code {x}` 와 [링크](https://example.com)\n두 번째 줄\n\n다음 단락",
+            "__init__ 메서드와 snake_case 이름",
+            "JSON format: {key: value}",
+            "paragraph 1\n\n\n\n\nparagraph 2"
+    })
+    @DisplayName("단락만 있는 문서는 빠른 경로로 변환")
+    void plainParagraphs(String markdown) {
+        var registry = new SimpleMeterRegistry();
+        var measured = new ConfluenceConverter(new ConversionMetrics(registry));
+
+        String result = measured.convert(markdown);
+
+        assertThat(result).isEqualTo(fullPipeline(markdown));
+        assertThat(registry.get(ConversionMetrics.FAST_PATH).counter().count()).isEqualTo(1);
+        assertThat(registry.get(ConversionMetrics.PHASE).tag("phase", "parse").timer().count()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "# 제목", "- 항목", "1. 항목", "> 인용", "***", "문단\n===", "    들여쓴 코드", "| a | b |",
+            "~~취소~~", "![img](a.png)", "[참조][ref]", "<b>굵게</b>", "a\\*b", "줄 끝 공백  \n다음 줄", "*a **b** c*"
+    })
+    @DisplayName("단락 밖의 요소가 있으면 전체 파이프라인으로 변환")
+    void fallsBack(String markdown) {
+        assertThat(ParagraphFastPath.render(markdown, new StringBuilder())).isFalse();
+    }
+
+    private String fullPipeline(String markdown) {
+        return ConfluencePostProcessor.process(converter.renderFragment(markdown, ConvertOptions.defaults()));
+    }
+
+    private static String paragraphs(Random random) {
+        var sb = new StringBuilder();
+        int lines = 1 + random.nextInt(6);
+        for (int i = 0; i < lines; i++) {
+            int count = 1 + random.nextInt(8);
+            for (int j = 0; j < count; j++) {
+                if (j > 0 && random.nextInt(4) > 0) {
+                    sb.append(' ');
+                }
+                String[] tokens = random.nextInt(12) == 0 ? TRICKY : PLAIN;
+                sb.append(tokens[random.nextInt(tokens.length)]);
+            }
+            sb.append(switch (random.nextInt(6)) {
+                case 0 -> "\n\n";
+                case 1 -> "\n\n\n";
+                default -> "\n";
+            });
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.List;
+import java.util.Random;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelConversionTest {
+
+    private final ConfluenceConverter sequential = new ConfluenceConverter();
+
+    private SimpleMeterRegistry registry;
+    private ConfluenceConverter parallel;
+    private IncrementalConverter incremental;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        var metrics = new ConversionMetrics(registry);
+        // 모든 문서가 병렬 경로를 타도록 임계값과 조각 크기를 최소로 둔다
+        parallel = new ConfluenceConverter(metrics, new ConverterProperties.Parallel(1, 4, 1));
+        var defaults = ConverterProperties.defaults();
+        incremental = new IncrementalConverter(new ConfluenceConverter(metrics), metrics,
+                new ConverterProperties(defaults.cache(), defaults.batch(),
+                        new ConverterProperties.Incremental(true, 1, 1, 16 * 1024 * 1024), defaults.parallel(),
+                        defaults.files(), defaults.export(), defaults.admission(), defaults.pages()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+    }
+
+    @RepeatedTest(300)
+    @DisplayName("무작위 문서에서 순차 변환과 같은 결과")
+    void randomDocuments(RepetitionInfo info) {
+        var random = new Random(info.getCurrentRepetition());
+        String markdown = RandomMarkdown.generate(random,
+                5 + random.nextInt(info.getCurrentRepetition() % 10 == 0 ? 400 : 60));
+        var options = random.nextBoolean() ? ConvertOptions.defaults() : ConvertOptions.withTheme("RDark");
+        if (random.nextInt(3) == 0) {
+            options = options.withFormat(ConvertOptions.Format.STORAGE);
+        }
+        String expected = sequential.convert(markdown, options);
+
+        assertThat(parallel.convert(markdown, options)).as(markdown).isEqualTo(expected);
+        assertThat(incremental.convert(markdown, options)).as(markdown).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("강제 줄바꿈으로 시작하는 단락 조각도 순차 변환과 같은 결과")
+    void fragmentStartingWithHardBreak() {
+        String markdown = "```\ncode\n```\n\n\\\n이어지는 단락\n";
+        for (var options : List.of(ConvertOptions.defaults(),
+                ConvertOptions.defaults().withFormat(ConvertOptions.Format.STORAGE))) {
+            String expected = sequential.convert(markdown, options);
+
+            assertThat(parallel.convert(markdown, options)).isEqualTo(expected);
+            assertThat(incremental.convert(markdown, options)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("큰 문서는 조각으로 나눠 병렬 변환")
+    void splitsLargeDocuments() {
+        String markdown = MarkdownChunkerTest.document(200);
+
+        assertThat(parallel.convert(markdown, ConvertOptions.defaults()))
+                .isEqualTo(sequential.convert(markdown, ConvertOptions.defaults()));
+        assertThat(registry.get(ConversionMetrics.FRAGMENTS).tag("result", "rendered").counter().count())
+                .isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("임계값보다 작은 문서는 순차 변환")
+    void smallDocumentsStaySequential() {
+        var converter = new ConfluenceConverter(new ConversionMetrics(registry),
+                new ConverterProperties.Parallel(1024 * 1024, 4, 1));
+        try {
+            converter.convert(MarkdownChunkerTest.document(20), ConvertOptions.defaults());
+        } finally {
+            converter.shutdown();
+        }
+
+        assertThat(registry.get(ConversionMetrics.FRAGMENTS).tag("result", "rendered").counter().count())
+                .isZero();
+        assertThat(registry.get(ConversionMetrics.PHASE).tag("phase", "parse").timer().count()).isEqualTo(1);
+    }
+}
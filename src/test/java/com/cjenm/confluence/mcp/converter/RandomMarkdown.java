@@ -0,0 +1,114 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.Random;
+
+/**
+ * 차등 테스트용 무작위 마크다운 생성기.
+ * <p>
+ * 블록 경계 판단에 영향을 주는 요소(빈 줄이 든 펜스 코드, 느슨한 리스트, 들여쓴 코드, 인용문, 테이블,
+ * HTML 블록, 링크 참조 정의)와 후처리에 영향을 주는 텍스트({code}, **, 중괄호, 연속 줄바꿈)를 섞는다.
+ * HTML과 링크 참조 정의는 문서를 나누지 못하게 하므로 일부 문서에만 넣는다.
+ */
+final class RandomMarkdown {
+
+    private static final String[] WORDS = {
+            "alpha", "베타", "{brace}", "**", "*", "_", "~~", "`code`", "`{x}`", "{code}", "{code:x}",
+            "[link](https://example.com)", "![img](a.png)", "\\", "|", "#", "1.", "-", "한글", "text", "&amp;", "```"
+    };
+
+    private static final String[] HTML_WORDS = {"<https://example.com>", "<b>", "</b>"};
+
+    private RandomMarkdown() {
+    }
+
+    static String generate(Random random, int blocks) {
+        boolean html = random.nextInt(5) == 0;
+        var sb = new StringBuilder();
+        for (int i = 0; i < blocks; i++) {
+            appendBlock(sb, random, html);
+            sb.append(switch (random.nextInt(8)) {
+                case 0 -> "";
+                case 1 -> "\n\n";
+                default -> "\n";
+            });
+        }
+        return sb.toString();
+    }
+
+    private static void appendBlock(StringBuilder sb, Random random, boolean html) {
+        switch (random.nextInt(html ? 14 : 11)) {
+            case 0 -> sb.append("#".repeat(1 + random.nextInt(6))).append(' ').append(line(random)).append('\n');
+            case 1, 2 -> {
+                int lines = 1 + random.nextInt(3);
+                for (int i = 0; i < lines; i++) {
+                    sb.append(line(random)).append(random.nextBoolean() ? "\n" : "  \n");
+                }
+            }
+            case 3 -> appendList(sb, random, 0);
+            case 4 -> {
+                String fence = random.nextBoolean() ? "```" : "~~~~";
+                sb.append(fence).append(random.nextBoolean() ? "java" : "").append('\n');
+                int lines = random.nextInt(5);
+                for (int i = 0; i < lines; i++) {
+                    sb.append(random.nextInt(3) == 0 ? "" : line(random)).append('\n');
+                }
+                if (random.nextInt(10) > 0) {
+                    sb.append(fence).append('\n');
+                }
+            }
+            case 5 -> {
+                sb.append("| a | b |\n|---|---|\n");
+                int rows = random.nextInt(4);
+                for (int i = 0; i < rows; i++) {
+                    sb.append("| ").append(word(random)).append(" | ").append(word(random)).append(" |\n");
+                }
+            }
+            case 6 -> {
+                int lines = 1 + random.nextInt(3);
+                for (int i = 0; i < lines; i++) {
+                    sb.append(random.nextInt(4) == 0 ? ">" : "> " + line(random)).append('\n');
+                }
+            }
+            case 7 -> sb.append("    ").append(line(random)).append("\n\n    ").append(line(random)).append('\n');
+            case 8 -> sb.append(random.nextBoolean() ? "---\n" : "***\n");
+            case 9 -> sb.append("- [").append(random.nextBoolean() ? ' ' : 'x').append("] ")
+                    .append(line(random)).append('\n');
+            case 10 -> sb.append(line(random)).append("\n===\n");
+            case 11 -> sb.append("<div>\n\n").append(line(random)).append("\n</div>\n");
+            case 12 -> sb.append("[ref]: https://example.com\n");
+            default -> sb.append(HTML_WORDS[random.nextInt(HTML_WORDS.length)]).append(' ').append(line(random))
+                    .append('\n');
+        }
+    }
+
+    private static void appendList(StringBuilder sb, Random random, int depth) {
+        int items = 1 + random.nextInt(3);
+        boolean ordered = random.nextBoolean();
+        String indent = "  ".repeat(depth * 2);
+        for (int i = 0; i < items; i++) {
+            sb.append(indent).append(ordered ? (i + 1) + ". " : "- ").append(line(random)).append('\n');
+            if (depth < 3 && random.nextInt(3) == 0) {
+                appendList(sb, random, depth + 1);
+            }
+            if (random.nextInt(4) == 0) {
+                sb.append('\n');
+            }
+        }
+    }
+
+    private static String line(Random random) {
+        var sb = new StringBuilder();
+        int words = 1 + random.nextInt(6);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word(random));
+        }
+        return sb.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
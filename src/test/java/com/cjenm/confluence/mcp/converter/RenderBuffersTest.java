@@ -0,0 +1,103 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RenderBuffersTest {
+
+    @BeforeEach
+    void drainPool() {
+        while (RenderBuffers.pooledBuffers() > 0) {
+            RenderBuffers.acquire(0);
+        }
+    }
+
+    @Test
+    @DisplayName("돌려준 버퍼를 비워서 다시 씀")
+    void reusesReleasedBuffer() {
+        StringBuilder buffer = RenderBuffers.acquire(1000);
+        buffer.append("이전 내용");
+        RenderBuffers.release(buffer);
+
+        StringBuilder reused = RenderBuffers.acquire(1000);
+
+        assertThat(reused).isSameAs(buffer).isEmpty();
+        assertThat(reused.capacity()).isGreaterThanOrEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("용량이 충분한 버퍼 중 가장 작은 것을 꺼냄")
+    void takesBestFit() {
+        StringBuilder small = new StringBuilder(100);
+        StringBuilder large = new StringBuilder(10_000);
+        RenderBuffers.release(large);
+        RenderBuffers.release(small);
+
+        assertThat(RenderBuffers.acquire(50)).isSameAs(small);
+        assertThat(RenderBuffers.acquire(50)).isSameAs(large);
+    }
+
+    @Test
+    @DisplayName("너무 큰 버퍼와 개수 상한을 넘는 버퍼는 보관하지 않음")
+    void capsPooledBuffers() {
+        RenderBuffers.release(new StringBuilder(RenderBuffers.MAX_POOLED_CHARS_PER_THREAD + 1));
+        assertThat(RenderBuffers.pooledBuffers()).isZero();
+
+        for (int i = 0; i < RenderBuffers.BUFFERS_PER_THREAD + 2; i++) {
+            RenderBuffers.release(new StringBuilder(1024));
+        }
+        assertThat(RenderBuffers.pooledBuffers()).isEqualTo(RenderBuffers.BUFFERS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("출력/입력 비율의 이동 평균으로 초기 용량을 정함")
+    void estimatesCapacity() {
+        var estimate = new RenderBuffers.SizeEstimate(1.0);
+        for (int i = 0; i < 100; i++) {
+            estimate.observe(10_000, 20_000);
+        }
+        estimate.observe(10, 10_000);
+
+        assertThat(estimate.ratio()).isCloseTo(2.0, within(0.01));
+        assertThat(estimate.capacity(10_000)).isGreaterThanOrEqualTo(20_000);
+    }
+
+    @Test
+    @DisplayName("버퍼를 재사용해도 변환 결과가 같음")
+    void sameResultsWithPooling() {
+        List<String> documents = List.of(
+                MarkdownChunkerTest.document(40),
+                "짧은 **단락**",
+                MarkdownChunkerTest.document(3),
+                "# 제목\n\n```java\nint x;\n```\n");
+        var options = List.of(ConvertOptions.defaults(),
+                ConvertOptions.withTheme("RDark").withFormat(ConvertOptions.Format.STORAGE));
+
+        var expected = new ArrayList<String>();
+        RenderBuffers.setEnabled(false);
+        try {
+            for (ConvertOptions option : options) {
+                documents.forEach(document -> expected.add(new ConfluenceConverter().convert(document, option)));
+            }
+        } finally {
+            RenderBuffers.setEnabled(true);
+        }
+
+        var converter = new ConfluenceConverter();
+        for (int round = 0; round < 3; round++) {
+            var actual = new ArrayList<String>();
+            for (ConvertOptions option : options) {
+                documents.forEach(document -> actual.add(converter.convert(document, option)));
+            }
+            assertThat(actual).isEqualTo(expected);
+        }
+        assertThat(RenderBuffers.pooledBuffers()).isPositive();
+    }
+}
@@ -0,0 +1,411 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageFormatConverterTest {
+
+    private static final ConvertOptions STORAGE = ConvertOptions.defaults().withFormat(ConvertOptions.Format.STORAGE);
+
+    private ConfluenceConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new ConfluenceConverter();
+    }
+
+    private String convert(String markdown) {
+        return converter.convert(markdown, STORAGE);
+    }
+
+    @Nested
+    @DisplayName("인라인 변환")
+    class InlineTests {
+
+        @Test
+        @DisplayName("볼드 텍스트")
+        void bold() {
+            assertThat(convert("**bold text**")).isEqualTo("<p><strong>bold text</strong></p>\n");
+        }
+
+        @Test
+        @DisplayName("이탤릭 텍스트")
+        void italic() {
+            assertThat(convert("*italic text*")).isEqualTo("<p><em>italic text</em></p>\n");
+        }
+
+        @Test
+        @DisplayName("취소선 텍스트")
+        void strikethrough() {
+            assertThat(convert("~~deleted~~"))
+                    .contains("<span style=\"text-decoration: line-through;\">deleted</span>");
+        }
+
+        @Test
+        @DisplayName("인라인 코드의 특수 문자 이스케이프")
+        void inlineCode() {
+            assertThat(convert("`a < b && {c}`")).contains("<code>a &lt; b &amp;&amp; {c}</code>");
+        }
+
+        @Test
+        @DisplayName("링크 - 텍스트와 URL")
+        void linkWithText() {
+            assertThat(convert("[Google](https://google.com?a=1&b=2)"))
+                    .contains("<a href=\"https://google.com?a=1&amp;b=2\">Google</a>");
+        }
+
+        @Test
+        @DisplayName("이미지 - 외부 주소와 첨부 파일")
+        void image() {
+            assertThat(convert("![로고](https://example.com/logo.png)"))
+                    .contains("<ac:image ac:alt=\"로고\"><ri:url ri:value=\"https://example.com/logo.png\" /></ac:image>");
+            assertThat(convert("![](diagram.png)"))
+                    .contains("<ac:image><ri:attachment ri:filename=\"diagram.png\" /></ac:image>");
+        }
+
+        @Test
+        @DisplayName("중괄호는 그대로 두고 XML 특수 문자와 원문 HTML은 이스케이프")
+        void escaping() {
+            String result = convert("{중괄호} \\*별표\\* &amp; <b>굵게</b>");
+
+            assertThat(result).contains("{중괄호} *별표* &amp; &lt;b&gt;굵게&lt;/b&gt;");
+            assertThat(result).doesNotContain("\\{", "<b>");
+        }
+    }
+
+    @Nested
+    @DisplayName("블록 변환")
+    class BlockTests {
+
+        @Test
+        @DisplayName("제목 h1~h6")
+        void headings() {
+            for (int level = 1; level <= 6; level++) {
+                assertThat(convert("#".repeat(level) + " Heading"))
+                        .isEqualTo("<h" + level + ">Heading</h" + level + ">\n");
+            }
+        }
+
+        @Test
+        @DisplayName("인용문")
+        void blockquote() {
+            assertThat(convert("> 인용문 텍스트")).isEqualTo("<blockquote>\n<p>인용문 텍스트</p>\n</blockquote>\n");
+        }
+
+        @Test
+        @DisplayName("코드 블록 - 언어 지정과 들여쓰기 보존")
+        void fencedCodeBlock() {
+            String result = convert("""
+                    ```java
+                    public class Main {
+                        int x = 1 < 2 ? 1 : 0;
+                    }
+                    ```""");
+
+            assertThat(result).isEqualTo("""
+                    <ac:structured-macro ac:name="code"><ac:parameter ac:name="language">java</ac:parameter>\
+                    <ac:plain-text-body><![CDATA[public class Main {
+                        int x = 1 < 2 ? 1 : 0;
+                    }]]></ac:plain-text-body></ac:structured-macro>
+                    """);
+        }
+
+        @Test
+        @DisplayName("코드 블록 - 테마 적용")
+        void fencedCodeBlockWithTheme() {
+            String result = converter.convert("```python\nprint('hello')\n```",
+                    ConvertOptions.withTheme("Emacs").withFormat(ConvertOptions.Format.STORAGE));
+
+            assertThat(result).contains("<ac:parameter ac:name=\"language\">python</ac:parameter>"
+                    + "<ac:parameter ac:name=\"theme\">Emacs</ac:parameter>");
+        }
+
+        @Test
+        @DisplayName("코드 블록 - mermaid 특수 처리")
+        void mermaidCodeBlock() {
+            String result = convert("```mermaid\ngraph TD\n    A-->B\n```");
+
+            assertThat(result).contains("<ac:parameter ac:name=\"language\">text</ac:parameter>",
+                    "<ac:parameter ac:name=\"title\">mermaid</ac:parameter>",
+                    "<ac:parameter ac:name=\"collapse\">true</ac:parameter>",
+                    "<![CDATA[graph TD\n    A-->B]]>");
+        }
+
+        @Test
+        @DisplayName("코드 블록 - CDATA 끝 표시는 구간을 나눠 보존")
+        void cdataTerminator() {
+            assertThat(convert("```\na]]>b\n```")).contains("<![CDATA[a]]]]><![CDATA[>b]]>");
+        }
+
+        @Test
+        @DisplayName("수평선")
+        void thematicBreak() {
+            assertThat(convert("---")).isEqualTo("<hr />\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("리스트 변환")
+    class ListTests {
+
+        @Test
+        @DisplayName("순서 없는 리스트")
+        void bulletList() {
+            assertThat(convert("- Item 1\n- Item 2")).isEqualTo("<ul>\n<li>Item 1</li>\n<li>Item 2</li>\n</ul>\n");
+        }
+
+        @Test
+        @DisplayName("순서 있는 리스트")
+        void orderedList() {
+            assertThat(convert("1. First\n2. Second")).isEqualTo("<ol>\n<li>First</li>\n<li>Second</li>\n</ol>\n");
+        }
+
+        @Test
+        @DisplayName("순서 있는 리스트와 섞인 중첩 리스트")
+        void nestedList() {
+            String result = convert("""
+                    1. 상위
+                       - 하위 A
+                       - 하위 B
+                    2. 다음""");
+
+            assertThat(result).isEqualTo("""
+                    <ol>
+                    <li>상위
+                    <ul>
+                    <li>하위 A</li>
+                    <li>하위 B</li>
+                    </ul>
+                    </li>
+                    <li>다음</li>
+                    </ol>
+                    """);
+        }
+
+        @Test
+        @DisplayName("체크박스 리스트는 작업 목록으로 변환")
+        void taskList() {
+            String result = convert("- [x] 완료\n- [ ] 미완료");
+
+            assertThat(result).isEqualTo("""
+                    <ac:task-list>
+                    <ac:task>
+                    <ac:task-status>complete</ac:task-status>
+                    <ac:task-body>완료</ac:task-body>
+                    </ac:task>
+                    <ac:task>
+                    <ac:task-status>incomplete</ac:task-status>
+                    <ac:task-body>미완료</ac:task-body>
+                    </ac:task>
+                    </ac:task-list>
+                    """);
+        }
+
+        @Test
+        @DisplayName("일반 항목과 섞인 체크박스는 이모티콘으로 변환")
+        void mixedTaskList() {
+            String result = convert("- 일반\n- [x] 완료");
+
+            assertThat(result).contains("<li>일반</li>", "<li><ac:emoticon ac:name=\"tick\" /> 완료</li>");
+            assertThat(result).doesNotContain("ac:task");
+        }
+    }
+
+    @Nested
+    @DisplayName("테이블 변환")
+    class TableTests {
+
+        @Test
+        @DisplayName("기본 테이블")
+        void basicTable() {
+            String result = convert("""
+                    | Name | Age |
+                    |------|-----|
+                    | Alice | 30 |
+                    | Bob | 25 |""");
+
+            assertThat(result).isEqualTo("""
+                    <table><tbody>
+                    <tr><th>Name</th><th>Age</th></tr>
+                    <tr><td>Alice</td><td>30</td></tr>
+                    <tr><td>Bob</td><td>25</td></tr>
+                    </tbody></table>
+                    """);
+        }
+    }
+
+    @Nested
+    @DisplayName("확장 문법 선택")
+    class ExtensionTests {
+
+        private final String markdown = """
+                | A | B |
+                |---|---|
+                | 1 | 2 |
+
+                ~~취소~~ 문장
+
+                - [x] 완료 항목""";
+
+        @Test
+        @DisplayName("형식을 생략하면 위키 마크업")
+        void wikiByDefault() {
+            assertThat(ConvertOptions.defaults().format()).isEqualTo(ConvertOptions.Format.WIKI);
+            assertThat(new ConvertOptions(null, null, null)).isEqualTo(ConvertOptions.defaults());
+            assertThat(STORAGE.withExtensions(EnumSet.of(ConvertOptions.Extension.TABLES)).format())
+                    .isEqualTo(ConvertOptions.Format.STORAGE);
+        }
+
+        @Test
+        @DisplayName("끈 확장 문법은 일반 텍스트로 변환")
+        void disabledExtensions() {
+            String result = converter.convert(markdown,
+                    STORAGE.withExtensions(EnumSet.noneOf(ConvertOptions.Extension.class)));
+
+            assertThat(result).doesNotContain("<table>", "line-through", "ac:task");
+            assertThat(result).contains("~~취소~~", "완료 항목");
+        }
+
+        @Test
+        @DisplayName("켠 확장 문법만 변환")
+        void someExtensions() {
+            String result = converter.convert(markdown, STORAGE.withExtensions(EnumSet.of(ConvertOptions.Extension.TABLES)));
+
+            assertThat(result).contains("<th>A</th>", "~~취소~~");
+            assertThat(result).doesNotContain("ac:task");
+        }
+    }
+
+    @Nested
+    @DisplayName("후처리")
+    class PostProcessTests {
+
+        @Test
+        @DisplayName("빈 입력")
+        void emptyInput() {
+            assertThat(convert("")).isEmpty();
+            assertThat(convert("   ")).isEmpty();
+            assertThat(converter.convert(null, STORAGE)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("블록 사이에 빈 줄을 만들지 않음")
+        void noBlankLines() {
+            String result = convert("paragraph 1\n\n\n\n\nparagraph 2");
+
+            assertThat(result).isEqualTo("<p>paragraph 1</p>\n<p>paragraph 2</p>\n");
+        }
+
+        @Test
+        @DisplayName("앞쪽 줄바꿈을 버리고 끝의 줄바꿈을 하나로 맞춤")
+        void normalizesNewlines() {
+            assertThat(StorageFormatOutput.process("\n\n<p>a</p>\n\n<p>b</p>\n\n\n")).isEqualTo("<p>a</p>\n\n<p>b</p>\n");
+            assertThat(StorageFormatOutput.process("\n\n")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("렌더러 재사용")
+    class RendererReuseTests {
+
+        @Test
+        @DisplayName("형식별로 렌더러를 나눠 재사용")
+        void rendererPerFormat() {
+            var wiki = ConvertOptions.withTheme("Emacs");
+            var storage = wiki.withFormat(ConvertOptions.Format.STORAGE);
+
+            assertThat(converter.rendererFor(storage)).isSameAs(converter.rendererFor(storage));
+            assertThat(converter.rendererFor(storage)).isNotSameAs(converter.rendererFor(wiki));
+            assertThat(converter.convert("```\nx\n```", storage)).isEqualTo(converter.convert("```\nx\n```", storage));
+            assertThat(converter.convert("```\nx\n```", wiki)).contains("{code:theme=Emacs}");
+        }
+    }
+
+    @Nested
+    @DisplayName("스트리밍 변환")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Reader/Appendable 변환 결과가 문자열 변환과 동일")
+        void sameAsStringConversion() throws IOException {
+            var markdown = new StringBuilder();
+            for (int i = 0; i < 500; i++) {
+                markdown.append("## 섹션 ").append(i).append("\n\n")
+                        .append("**굵게** `<code>` 텍스트 & {중괄호}\n\n")
+                        .append("- 항목\n  - 하위\n\n")
+                        .append("| A | B |\n|---|---|\n| 1 | 2 |\n\n")
+                        .append("```java\nint x = ").append(i).append(";\n```\n\n");
+            }
+            var options = ConvertOptions.withTheme("RDark").withFormat(ConvertOptions.Format.STORAGE);
+
+            var out = new StringWriter();
+            converter.convert(new StringReader(markdown.toString()), out, options);
+
+            assertThat(out.toString()).isEqualTo(converter.convert(markdown.toString(), options));
+        }
+
+        @Test
+        @DisplayName("빈 입력은 아무것도 쓰지 않음")
+        void emptyInput() throws IOException {
+            var out = new StringWriter();
+            converter.convert(new StringReader("  \n "), out, STORAGE);
+            assertThat(out.toString()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("통합 테스트")
+    class IntegrationTests {
+
+        @Test
+        @DisplayName("기본 문서 템플릿 변환")
+        void basicDocumentConversion() {
+            String markdown = """
+                    # 문서 제목
+
+                    ## 개요
+
+                    이 문서는 프로젝트의 **주요 기능**과 _설계 원칙_을 설명합니다.
+
+                    ## 주요 기능
+
+                    - 실시간 데이터 처리
+                    - 자동 알림 시스템
+
+                    ## 설치 방법
+
+                    1. 저장소를 클론합니다
+                    2. 의존성을 설치합니다
+
+                    ```bash
+                    git clone https://github.com/example/project.git
+                    npm install
+                    ```
+
+                    > **참고**: 자세한 내용은 [위키](https://wiki.example.com)를 참고하세요.
+                    """;
+
+            String result = convert(markdown);
+
+            assertThat(result).contains(
+                    "<h1>문서 제목</h1>",
+                    // 닫는 _ 바로 뒤에 글자가 오면 강조가 아니다 (CommonMark)
+                    "<p>이 문서는 프로젝트의 <strong>주요 기능</strong>과 _설계 원칙_을 설명합니다.</p>",
+                    "<li>실시간 데이터 처리</li>",
+                    "<ol>\n<li>저장소를 클론합니다</li>",
+                    "<ac:parameter ac:name=\"language\">bash</ac:parameter>",
+                    "<![CDATA[git clone https://github.com/example/project.git\nnpm install]]>",
+                    "<blockquote>\n<p><strong>참고</strong>: 자세한 내용은 <a href=\"https://wiki.example.com\">위키</a>를 참고하세요.</p>\n</blockquote>");
+            assertThat(result).doesNotContain("\n\n", "h1.", "{code");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.cjenm.confluence.mcp.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.tool.AdmissionControl;
+import com.cjenm.confluence.mcp.tool.ConverterTool;
+import com.cjenm.confluence.mcp.tool.ToolMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드에서 도구를 호출해도 캐리어 스레드에 고정(pinning)되지 않는지 확인한다.
+ * <p>
+ * 진입 제어 대기, 변환 결과 캐시, 증분 변환, 큰 문서 병렬 변환을 모두 거치도록 설정하고, 캐리어 수보다
+ * 훨씬 많은 가상 스레드가 실제로 대기(park)하게 만든다. 고정은 JFR {@code jdk.VirtualThreadPinned}
+ * 이벤트와 {@code -Djdk.tracePinnedThreads=full} 출력(Java 21 빌드에서 테스트 JVM에 설정)으로 확인한다.
+ * 테스트 소스는 Java 17로도 컴파일되므로 가상 스레드 API는 리플렉션으로 호출한다.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningTest {
+
+    private static final int SESSIONS = 1000;
+
+    @TempDir
+    Path temp;
+
+    @Test
+    @DisplayName("가상 스레드에서의 변환 도구 호출은 캐리어 스레드에 고정되지 않음")
+    void noPinning() throws Exception {
+        ConverterTool tool = converterTool();
+        List<String> documents = documents();
+        // 클래스 초기화와 옵션별 파서·렌더러 생성은 첫 호출에서 끝내 둔다
+        tool.convertMarkdown(documents.get(0), "Emacs", null);
+
+        var trace = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        List<RecordedEvent> pinned;
+        try (var recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            System.setOut(new PrintStream(trace, true, StandardCharsets.UTF_8));
+            try {
+                runOnVirtualThreads(tool, documents);
+            } finally {
+                System.setOut(stdout);
+            }
+            recording.stop();
+            Path file = temp.resolve("pinning.jfr");
+            recording.dump(file);
+            pinned = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                    .toList();
+        }
+
+        assertThat(pinned).as("고정된 가상 스레드의 스택: %s", pinned).isEmpty();
+        assertThat(trace.toString(StandardCharsets.UTF_8)).doesNotContain("<== monitors");
+    }
+
+    private static void runOnVirtualThreads(ConverterTool tool, List<String> documents) throws Exception {
+        var executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(SESSIONS);
+            for (int i = 0; i < SESSIONS; i++) {
+                String markdown = documents.get(i % documents.size());
+                boolean batch = i % 10 == 0;
+                futures.add(executor.submit(() -> {
+                    if (batch) {
+                        tool.convertMarkdownBatch(List.of(
+                                new ConverterTool.BatchItem("a", markdown, null),
+                                new ConverterTool.BatchItem("b", markdown, "Midnight")));
+                    } else {
+                        tool.convertMarkdown(markdown, "Emacs", null);
+                    }
+                    return (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(60, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 캐시, 증분 변환, 병렬 변환, 가상 스레드 일괄 변환을 모두 쓰고 동시 실행 수를 캐리어 수보다 작게 제한한 도구.
+     */
+    private static ConverterTool converterTool() {
+        var registry = new SimpleMeterRegistry();
+        var metrics = new ConversionMetrics(registry);
+        var defaults = ConverterProperties.defaults();
+        var properties = new ConverterProperties(
+                new ConverterProperties.Cache(true, 1024 * 1024),
+                new ConverterProperties.Batch(2, 10),
+                new ConverterProperties.Incremental(true, 1024, 256, 16 * 1024 * 1024),
+                new ConverterProperties.Parallel(4 * 1024, 2, 1024),
+                defaults.files(),
+                defaults.export(),
+                new ConverterProperties.Admission(2, 1024 * 1024, 1024 * 1024, SESSIONS, 60_000),
+                defaults.pages());
+        var converter = new ConfluenceConverter(metrics, properties);
+        var cache = new ConversionCache(new IncrementalConverter(converter, metrics, properties), properties);
+        return new ConverterTool(cache, properties, new ToolMetrics(registry), new AdmissionControl(properties, registry),
+                true);
+    }
+
+    /** 짧은 단락부터 조각으로 나뉘는 문서까지 여러 크기의 문서 */
+    private static List<String> documents() {
+        var random = new Random(20);
+        var documents = new ArrayList<String>();
+        for (int i = 0; i < 50; i++) {
+            documents.add(RandomMarkdown.generate(random, 1 + random.nextInt(i % 5 == 0 ? 200 : 10)));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,74 @@
+package com.cjenm.confluence.mcp.template;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateIndexTest {
+
+    private final TemplateIndex index = TemplateIndex.build(List.of(
+            new Template("weekly", "주간 보고", "팀 주간 업무 보고서", """
+                    # 이번 주 한 일
+                    ## 다음 주 계획
+                    """),
+            new Template("retro", "회고", "스프린트 회고", """
+                    # 잘한 점
+                    ```bash
+                    # 코드 블록 안의 주석은 제목이 아님
+                    ```
+                    ## 계획
+                    """),
+            new Template("api", "API 문서", "REST API 엔드포인트 문서", "# Endpoints\n")));
+
+    private List<String> search(String query) {
+        return index.search(query, 10).stream().map(Template::id).toList();
+    }
+
+    @Test
+    @DisplayName("이름, 설명, 제목에서 찾음")
+    void searchesFields() {
+        assertThat(search("주간")).containsExactly("weekly");
+        assertThat(search("스프린트")).containsExactly("retro");
+        assertThat(search("endpoints")).containsExactly("api");
+    }
+
+    @Test
+    @DisplayName("대소문자를 구분하지 않고 단어 앞부분으로도 찾음")
+    void matchesPrefixIgnoringCase() {
+        assertThat(search("Api")).containsExactly("api");
+        assertThat(search("엔드")).containsExactly("api");
+    }
+
+    @Test
+    @DisplayName("모든 단어가 들어 있는 템플릿만 반환")
+    void requiresAllTerms() {
+        assertThat(search("계획 회고")).containsExactly("retro");
+        assertThat(search("계획 없는단어")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이름에 나오는 템플릿이 제목에만 나오는 템플릿보다 앞")
+    void ranksNameAboveHeading() {
+        var index = TemplateIndex.build(List.of(
+                new Template("a", "일반 문서", "", "# 회의 안건\n"),
+                new Template("b", "회의 기록", "", "# 안건\n")));
+
+        assertThat(index.search("회의", 10)).extracting(Template::id).containsExactly("b", "a");
+    }
+
+    @Test
+    @DisplayName("코드 블록 안은 제목으로 색인하지 않음")
+    void skipsFencedCode() {
+        assertThat(TemplateIndex.headings("# 제목\n```\n# 주석\n```\n## 소제목\n")).containsExactly("제목", "소제목");
+        assertThat(search("주석")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("검색어에 단어가 없으면 빈 결과")
+    void emptyQuery() {
+        assertThat(search(" - ")).isEmpty();
+    }
+}
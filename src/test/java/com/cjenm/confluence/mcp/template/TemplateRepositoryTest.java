@@ -0,0 +1,141 @@
+package com.cjenm.confluence.mcp.template;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.TemplateProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private TemplateRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    private TemplateRepository repository(boolean watch) {
+        repository = new TemplateRepository(new TemplateProperties(directory.toString(), watch, 50));
+        return repository;
+    }
+
+    private void write(String fileName, String text) throws IOException {
+        Files.writeString(directory.resolve(fileName), text);
+    }
+
+    @Test
+    @DisplayName("디렉터리를 설정하지 않으면 내장 템플릿만 제공")
+    void builtInOnly() {
+        var repository = new TemplateRepository();
+
+        assertThat(repository.findAll()).extracting(Template::id)
+                .containsExactly("basic-doc", "table-doc", "api-doc", "meeting-note");
+    }
+
+    @Test
+    @DisplayName("머리말의 메타데이터와 본문을 읽음")
+    void parsesHeader() {
+        var template = TemplateFile.parse("weekly.md", """
+                ---
+                id: weekly-report
+                name: "주간 보고"
+                description: 팀 주간 업무 보고서
+                owner: platform
+                ---
+
+                # 이번 주 한 일
+                """);
+
+        assertThat(template).isEqualTo(new Template("weekly-report", "주간 보고", "팀 주간 업무 보고서", "# 이번 주 한 일\n"));
+    }
+
+    @Test
+    @DisplayName("머리말이 없으면 파일 이름이 ID와 이름")
+    void defaultsWithoutHeader() {
+        var template = TemplateFile.parse("retro.md", "# 회고\n");
+
+        assertThat(template).isEqualTo(new Template("retro", "retro", "", "# 회고\n"));
+    }
+
+    @Test
+    @DisplayName("닫히지 않은 머리말은 거부")
+    void rejectsUnterminatedHeader() {
+        assertThatThrownBy(() -> TemplateFile.parse("broken.md", "---\nname: 깨진 템플릿\n# 본문\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("broken.md");
+    }
+
+    @Test
+    @DisplayName("디렉터리 템플릿을 더하고 같은 ID의 내장 템플릿은 같은 자리에서 대신함")
+    void loadsDirectory() throws IOException {
+        write("weekly.md", "---\nname: 주간 보고\n---\n# 주간 보고\n");
+        write("basic-doc.md", "---\nname: 팀 기본 문서\n---\n# 팀 문서\n");
+        write("notes.txt", "템플릿이 아님");
+        write("broken.md", "---\nname: 깨진 템플릿\n");
+
+        var repository = repository(false);
+
+        assertThat(repository.findAll()).extracting(Template::id)
+                .containsExactly("basic-doc", "table-doc", "api-doc", "meeting-note", "weekly");
+        assertThat(repository.findById("basic-doc")).get().extracting(Template::name).isEqualTo("팀 기본 문서");
+    }
+
+    @Test
+    @DisplayName("없는 디렉터리는 거부")
+    void rejectsMissingDirectory() {
+        assertThatThrownBy(() -> new TemplateRepository(
+                new TemplateProperties(directory.resolve("missing").toString(), false, 50)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("다시 읽으면 새 스냅샷으로 바꾸고 이전 스냅샷은 그대로 둠")
+    void reloadSwapsSnapshot() throws IOException {
+        write("weekly.md", "# 주간 보고\n");
+        var repository = repository(false);
+        List<TemplateSnapshot> notified = new CopyOnWriteArrayList<>();
+        repository.addReloadListener(notified::add);
+        TemplateSnapshot before = repository.snapshot();
+
+        Files.delete(directory.resolve("weekly.md"));
+        write("retro.md", "# 회고\n");
+        TemplateSnapshot after = repository.reload();
+
+        assertThat(before.findById("weekly")).isPresent();
+        assertThat(after.findById("weekly")).isEmpty();
+        assertThat(repository.findById("retro")).isPresent();
+        assertThat(after.index().search("회고", 10)).extracting(Template::id).containsExactly("retro");
+        assertThat(notified).containsExactly(after);
+    }
+
+    @Test
+    @DisplayName("디렉터리가 바뀌면 감시 스레드가 다시 읽음")
+    void watchesDirectory() throws Exception {
+        var repository = repository(true);
+
+        write("weekly.md", "---\nname: 주간 보고\n---\n# 주간 보고\n");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (repository.findById("weekly").isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(repository.findById("weekly")).get().extracting(Template::name).isEqualTo("주간 보고");
+    }
+}
@@ -0,0 +1,253 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private AdmissionControl admission(int maxConcurrent, int maxInFlightChars, int maxQueued, long timeoutMillis) {
+        var defaults = ConverterProperties.defaults();
+        var properties = new ConverterProperties(defaults.cache(), defaults.batch(), defaults.incremental(),
+                defaults.parallel(), defaults.files(), defaults.export(),
+                new ConverterProperties.Admission(maxConcurrent, maxInFlightChars, 1000, maxQueued, timeoutMillis),
+                defaults.pages());
+        return new AdmissionControl(properties, registry);
+    }
+
+    /** 해제할 때까지 자리를 차지하는 호출을 시작한다 */
+    private Future<String> hold(AdmissionControl admission, long inputChars, CountDownLatch release)
+            throws InterruptedException {
+        var entered = new CountDownLatch(1);
+        Future<String> future = executor.submit(() -> admission.admit("convertMarkdown", inputChars, () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "held";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+
+    private double rejected(String reason) {
+        var counter = registry.find(AdmissionControl.REJECTED).tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    @DisplayName("여유가 있으면 바로 실행")
+    void admits() {
+        var admission = admission(2, 1000, 0, 0);
+
+        assertThat(admission.admit("convertMarkdown", 10, () -> "ok")).isEqualTo("ok");
+        assertThat(registry.get(AdmissionControl.ACTIVE).gauge().value()).isZero();
+        assertThat(registry.get(AdmissionControl.ACTIVE_CHARS).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 번에 받을 수 있는 크기를 넘는 입력은 거절")
+    void rejectsTooLargeInput() {
+        var admission = admission(2, 1000, 0, 0);
+
+        assertThatThrownBy(() -> admission.admit("convertMarkdown", 1001, () -> "ok"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1000");
+        assertThat(rejected("too_large")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 거절")
+    void rejectsWhenQueueIsFull() throws Exception {
+        var admission = admission(1, 1000, 0, 10_000);
+        var release = new CountDownLatch(1);
+        Future<String> running = hold(admission, 10, release);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> admission.admit("convertMarkdown", 10, () -> "ok"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("과부하");
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(rejected("queue_full")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+    }
+
+    @Test
+    @DisplayName("제한 시간 안에 자리가 나지 않으면 거절")
+    void rejectsAfterTimeout() throws Exception {
+        var admission = admission(1, 1000, 4, 50);
+        var release = new CountDownLatch(1);
+        hold(admission, 10, release);
+
+        assertThatThrownBy(() -> admission.admit("convertMarkdown", 10, () -> "ok"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(rejected("timeout")).isEqualTo(1);
+        assertThat(registry.get(AdmissionControl.QUEUED).gauge().value()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("기다리는 동안 자리가 나면 실행")
+    void admitsQueuedCallWhenSlotFrees() throws Exception {
+        var admission = admission(1, 1000, 4, 10_000);
+        var release = new CountDownLatch(1);
+        hold(admission, 10, release);
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(
+                () -> admission.admit("convertMarkdown", 10, () -> "queued"), executor);
+        while (registry.get(AdmissionControl.QUEUED).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(registry.get(AdmissionControl.WAIT).tag("tool", "convertMarkdown").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기다리는 호출이 있으면 나중에 온 호출은 여유가 있어도 앞지르지 않고 뒤에서 기다림")
+    void queuedCallerIsAdmittedFirst() throws Exception {
+        var admission = admission(3, 100, 4, 10_000);
+        var release = new CountDownLatch(1);
+        Future<String> running = hold(admission, 80, release);
+
+        // 실행 자리는 얻고 입력 크기 여유(50)를 기다리는 호출
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(
+                () -> admission.admit("convertMarkdown", 50, () -> "queued"), executor);
+        while (registry.get(AdmissionControl.ACTIVE).gauge().value() < 2) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(100);
+
+        // 남은 여유(20)로 충분하지만 먼저 기다리는 호출이 있으므로 대기열에 들어간다
+        CompletableFuture<String> later = CompletableFuture.supplyAsync(
+                () -> admission.admit("convertMarkdown", 10, () -> "later"), executor);
+        while (registry.get(AdmissionControl.QUEUED).gauge().value() < 2 && !later.isDone()) {
+            Thread.onSpinWait();
+        }
+        assertThat(later).isNotDone();
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(later.get(5, TimeUnit.SECONDS)).isEqualTo("later");
+        assertThat(registry.find(AdmissionControl.REJECTED).counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("실행 중인 입력 크기 합계를 제한")
+    void limitsInFlightChars() throws Exception {
+        var admission = admission(4, 100, 4, 50);
+        var release = new CountDownLatch(1);
+        hold(admission, 80, release);
+        assertThat(registry.get(AdmissionControl.ACTIVE_CHARS).gauge().value()).isEqualTo(80);
+
+        assertThatThrownBy(() -> admission.admit("convertMarkdown", 30, () -> "ok"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(admission.admit("convertMarkdown", 20, () -> "ok")).isEqualTo("ok");
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("입력 크기 여유를 기다리다 인터럽트되면 실행 자리를 돌려줌")
+    void releasesCallSlotWhenInterrupted() throws Exception {
+        var admission = admission(2, 100, 4, 10_000);
+        var release = new CountDownLatch(1);
+        Future<String> running = hold(admission, 80, release);
+
+        var result = new CompletableFuture<Throwable>();
+        var waiter = new Thread(() -> {
+            try {
+                admission.admit("convertMarkdown", 30, () -> "ok");
+                result.complete(null);
+            } catch (Throwable e) {
+                result.complete(e);
+            }
+        });
+        waiter.start();
+        // 실행 자리는 얻고 입력 크기 여유를 기다리는 상태
+        while (registry.get(AdmissionControl.ACTIVE).gauge().value() < 2) {
+            Thread.onSpinWait();
+        }
+        waiter.interrupt();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+        assertThat(rejected("interrupted")).isEqualTo(1);
+        assertThat(registry.get(AdmissionControl.ACTIVE).gauge().value()).isEqualTo(1);
+        assertThat(registry.get(AdmissionControl.QUEUED).gauge().value()).isZero();
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+        assertThat(registry.get(AdmissionControl.ACTIVE).gauge().value()).isZero();
+        assertThat(admission.admit("convertMarkdown", 100, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("일괄 작업 항목은 거절하지 않고 자리가 날 때까지 기다림")
+    void waitingCallDoesNotReject() throws Exception {
+        var admission = admission(1, 1000, 0, 0);
+        var release = new CountDownLatch(1);
+        hold(admission, 10, release);
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return admission.admitWaiting("exportMarkdownTree", 10, () -> "converted");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, executor);
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        release.countDown();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("converted");
+        assertThat(registry.get(AdmissionControl.ACTIVE).gauge().value()).isZero();
+        assertThat(registry.find(AdmissionControl.REJECTED).counters()).isEmpty();
+        assertThat(admission.admitFile("convertMarkdownFile", 5000, () -> "alone")).isEqualTo("alone");
+    }
+
+    @Test
+    @DisplayName("합계 상한보다 큰 입력도 혼자서는 실행")
+    void largeInputRunsAlone() {
+        var admission = admission(4, 100, 0, 0);
+
+        assertThat(admission.admit("convertMarkdown", 500, () -> "ok")).isEqualTo("ok");
+        assertThat(registry.get(AdmissionControl.ACTIVE_CHARS).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("도구가 실패해도 자리를 돌려줌")
+    void releasesOnFailure() {
+        var admission = admission(1, 100, 0, 0);
+
+        assertThatThrownBy(() -> admission.admit("convertMarkdown", 50, () -> {
+            throw new IllegalArgumentException("실패");
+        })).hasMessage("실패");
+        assertThat(admission.admit("convertMarkdown", 100, () -> "ok")).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,174 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.converter.ConversionCache;
+import com.cjenm.confluence.mcp.converter.ConversionMetrics;
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+import com.cjenm.confluence.mcp.converter.IncrementalConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConverterToolTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ConfluenceConverter converter = new ConfluenceConverter();
+
+    /** 동시에 변환 중인 문서 수의 최댓값 */
+    private final AtomicInteger maxConverting = new AtomicInteger();
+    private final AtomicInteger converting = new AtomicInteger();
+    private final List<Boolean> virtualThreads = new ArrayList<>();
+    /** "hold" 문서는 변환을 시작하면 entered를 열고 release가 열릴 때까지 자리를 차지한다 */
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ConverterTool tool(int maxItems, ConverterProperties.Admission limits, boolean virtual) {
+        var defaults = ConverterProperties.defaults();
+        var properties = new ConverterProperties(defaults.cache(), new ConverterProperties.Batch(2, maxItems),
+                defaults.incremental(), defaults.parallel(), defaults.files(), defaults.export(), limits,
+                defaults.pages());
+        var cache = new ConversionCache(new IncrementalConverter(converter, ConversionMetrics.noop(), properties),
+                properties) {
+            @Override
+            public String convert(String markdown, ConvertOptions options) {
+                maxConverting.accumulateAndGet(converting.incrementAndGet(), Math::max);
+                try {
+                    synchronized (virtualThreads) {
+                        virtualThreads.add(isVirtual(Thread.currentThread()));
+                    }
+                    if (markdown.equals("boom")) {
+                        throw new IllegalStateException("변환 실패");
+                    }
+                    if (markdown.equals("hold")) {
+                        entered.countDown();
+                        release.await();
+                    }
+                    Thread.sleep(5);
+                    return super.convert(markdown, options);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } finally {
+                    converting.decrementAndGet();
+                }
+            }
+        };
+        return new ConverterTool(cache, properties, new ToolMetrics(registry),
+                new AdmissionControl(properties, registry), virtual);
+    }
+
+    private ConverterTool tool(int maxItems) {
+        return tool(maxItems, ConverterProperties.defaults().admission(), false);
+    }
+
+    private static List<ConverterTool.BatchItem> items(int count) {
+        List<ConverterTool.BatchItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new ConverterTool.BatchItem("doc-" + i, "# 제목 " + i + "\n\n**본문** " + i, null));
+        }
+        return items;
+    }
+
+    /** Java 17로 컴파일되므로 {@code Thread.isVirtual()}은 리플렉션으로 호출한다 */
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("결과는 입력 순서대로 반환")
+    void keepsInputOrder() {
+        List<ConverterTool.BatchItem> items = items(20);
+
+        List<ConverterTool.BatchResult> results = tool(500).convertMarkdownBatch(items);
+
+        assertThat(results).extracting(ConverterTool.BatchResult::id)
+                .containsExactlyElementsOf(items.stream().map(ConverterTool.BatchItem::id).toList());
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(results.get(i).confluenceMarkup()).isEqualTo(converter.convert(items.get(i).markdown()));
+            assertThat(results.get(i).error()).isNull();
+        }
+        assertThat(maxConverting.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("실패한 문서는 error에 사유를 담고 나머지는 변환")
+    void reportsItemErrors() {
+        List<ConverterTool.BatchItem> items = new ArrayList<>(items(3));
+        items.add(1, new ConverterTool.BatchItem("broken", "boom", "RDark"));
+
+        List<ConverterTool.BatchResult> results = tool(500).convertMarkdownBatch(items);
+
+        assertThat(results).extracting(ConverterTool.BatchResult::id)
+                .containsExactly("doc-0", "broken", "doc-1", "doc-2");
+        assertThat(results.get(1).confluenceMarkup()).isNull();
+        assertThat(results.get(1).error()).isEqualTo("IllegalStateException: 변환 실패");
+        assertThat(results).filteredOn(result -> result.error() == null).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("목록이 없거나 문서 수가 상한을 넘으면 진입하기 전에 거절")
+    void rejectsBeforeAdmission() throws Exception {
+        // 진입 자리 하나를 붙잡아 두어, 진입을 시도하면 과부하로 거절되게 한다
+        var tool = tool(2, new ConverterProperties.Admission(1, 1_000_000, 1_000_000, 0, 0), false);
+        Future<List<ConverterTool.BatchResult>> running = executor.submit(() -> tool.convertMarkdownBatch(List.of(
+                new ConverterTool.BatchItem("held", "hold", null))));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> tool.convertMarkdownBatch(null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("items");
+            assertThatThrownBy(() -> tool.convertMarkdownBatch(items(3)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("(2)");
+            assertThat(registry.find(AdmissionControl.REJECTED).counters()).allSatisfy(
+                    counter -> assertThat(counter.count()).isZero());
+        } finally {
+            release.countDown();
+        }
+        assertThat(running.get(5, TimeUnit.SECONDS)).singleElement()
+                .satisfies(result -> assertThat(result.error()).isNull());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("가상 스레드를 쓰면 문서마다 가상 스레드에서 변환하고 동시 변환 수는 병렬도로 제한")
+    void virtualThreads() {
+        List<ConverterTool.BatchItem> items = items(20);
+
+        List<ConverterTool.BatchResult> results = tool(500, ConverterProperties.defaults().admission(), true)
+                .convertMarkdownBatch(items);
+
+        assertThat(results).extracting(ConverterTool.BatchResult::id)
+                .containsExactlyElementsOf(items.stream().map(ConverterTool.BatchItem::id).toList());
+        assertThat(virtualThreads).hasSize(20).containsOnly(true);
+        assertThat(maxConverting.get()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,135 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.workspace.ExportProgress;
+import com.cjenm.confluence.mcp.workspace.TreeExporter;
+import com.cjenm.confluence.mcp.workspace.WorkspaceFiles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportToolTest {
+
+    @TempDir
+    Path root;
+
+    private final RecordingExchange exchange = new RecordingExchange();
+    private final long[] now = {0};
+
+    private ExportTool tool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var defaults = ConverterProperties.defaults();
+        var properties = new ConverterProperties(defaults.cache(), defaults.batch(), defaults.incremental(),
+                defaults.parallel(), new ConverterProperties.FileAccess(root.toString(), 1024 * 1024, 1024 * 1024),
+                defaults.export(), defaults.admission(), defaults.pages());
+        var registry = new SimpleMeterRegistry();
+        var exporter = new TreeExporter(new ConfluenceConverter(), new WorkspaceFiles(properties),
+                new AdmissionControl(properties, registry), properties);
+        tool = new ExportTool(exporter, new ToolMetrics(registry), () -> now[0]);
+
+        for (String path : List.of("docs/a.md", "docs/b.md", "docs/sub/c.md")) {
+            Path file = root.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "# " + path + "\n");
+        }
+    }
+
+    private ToolContext context(Object token) {
+        return new ToolContext(Map.of(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchange,
+                ExportTool.PROGRESS_TOKEN_KEY, token));
+    }
+
+    @Test
+    @DisplayName("진행 알림은 간격마다 한 번만 보내고 마지막 파일은 항상 보냄")
+    void throttlesProgress() {
+        ExportProgress progress = tool.progressFor(context("token-1"));
+
+        progress.onFile(1, 10, "a.md");
+        progress.onFile(2, 10, "b.md");
+        now[0] += ExportTool.PROGRESS_INTERVAL_NANOS;
+        progress.onFile(3, 10, "c.md");
+        progress.onFile(4, 10, "d.md");
+        progress.onFile(10, 10, "j.md");
+
+        assertThat(exchange.sent).extracting(McpSchema.ProgressNotification::progress).containsExactly(3.0, 10.0);
+        assertThat(exchange.sent).allSatisfy(notification -> {
+            assertThat(notification.progressToken()).isEqualTo("token-1");
+            assertThat(notification.total()).isEqualTo(10.0);
+        });
+        assertThat(exchange.sent.get(0).message()).isEqualTo("c.md");
+    }
+
+    @Test
+    @DisplayName("진행 토큰이나 MCP 교환이 없으면 알리지 않음")
+    void noTokenNoProgress() {
+        tool.progressFor(new ToolContext(Map.of(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchange)))
+                .onFile(1, 1, "a.md");
+        tool.progressFor(new ToolContext(Map.of(ExportTool.PROGRESS_TOKEN_KEY, "token-1"))).onFile(1, 1, "a.md");
+        tool.progressFor(null).onFile(1, 1, "a.md");
+
+        assertThat(exchange.sent).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요청 메타데이터의 진행 토큰으로 진행 알림을 보냄")
+    void progressTokenFromRequest() {
+        SyncToolSpecification specification = tool.toolSpecifications().get(0);
+        assertThat(specification.tool().name()).isEqualTo("exportMarkdownTree");
+        Map<String, Object> arguments = Map.of("sourceDir", "docs", "outputDir", "out");
+
+        McpSchema.CallToolResult result = specification.callHandler().apply(exchange,
+                new McpSchema.CallToolRequest("exportMarkdownTree", arguments, Map.of("progressToken", 42)));
+
+        assertThat(result.isError()).isNotEqualTo(Boolean.TRUE);
+        assertThat(exchange.sent).singleElement().satisfies(notification -> {
+            assertThat(notification.progressToken()).isEqualTo(42);
+            assertThat(notification.progress()).isEqualTo(3.0);
+            assertThat(notification.total()).isEqualTo(3.0);
+        });
+
+        exchange.sent.clear();
+        result = specification.callHandler().apply(exchange,
+                new McpSchema.CallToolRequest("exportMarkdownTree", Map.of("sourceDir", "docs", "outputDir", "out2")));
+
+        assertThat(result.isError()).isNotEqualTo(Boolean.TRUE);
+        assertThat(exchange.sent).isEmpty();
+    }
+
+    /**
+     * 보낸 진행 알림을 기록하는 교환.
+     */
+    private static final class RecordingExchange extends McpSyncServerExchange {
+
+        private final List<McpSchema.ProgressNotification> sent = new ArrayList<>();
+
+        RecordingExchange() {
+            super(null);
+        }
+
+        @Override
+        public void progressNotification(McpSchema.ProgressNotification notification) {
+            sent.add(notification);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.workspace.WorkspaceFiles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileConverterToolTest {
+
+    private static final String MARKDOWN = "# 제목\n\n**본문** `code`\n";
+
+    private final ConfluenceConverter converter = new ConfluenceConverter();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path root;
+
+    private FileConverterTool tool(String root, long mmapThresholdBytes) {
+        return tool(root, mmapThresholdBytes, new AdmissionControl(ConverterProperties.defaults(), registry));
+    }
+
+    private FileConverterTool tool(String root, long mmapThresholdBytes, AdmissionControl admission) {
+        var defaults = ConverterProperties.defaults();
+        var properties = new ConverterProperties(defaults.cache(), defaults.batch(), defaults.incremental(),
+                defaults.parallel(), new ConverterProperties.FileAccess(root, mmapThresholdBytes, 1024 * 1024),
+                defaults.export(), defaults.admission(), defaults.pages());
+        return new FileConverterTool(converter, new WorkspaceFiles(properties), new ToolMetrics(registry), admission);
+    }
+
+    @Test
+    @DisplayName("파일을 읽어 결과를 반환")
+    void returnsMarkup() throws IOException {
+        Files.writeString(root.resolve("doc.md"), MARKDOWN);
+
+        var result = tool(root.toString(), 1024 * 1024).convertMarkdownFile("doc.md", null, null);
+
+        assertThat(result.confluenceMarkup()).isEqualTo(converter.convert(MARKDOWN));
+        assertThat(result.outputFile()).isNull();
+        assertThat(result.inputBytes()).isEqualTo(MARKDOWN.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("메모리 매핑으로 읽어도 같은 결과")
+    void memoryMapped() throws IOException {
+        Files.writeString(root.resolve("doc.md"), MARKDOWN);
+
+        var result = tool(root.toString(), 0).convertMarkdownFile("doc.md", false, "Midnight");
+
+        assertThat(result.confluenceMarkup()).isEqualTo(converter.convert(MARKDOWN));
+    }
+
+    @Test
+    @DisplayName("결과를 옆 .wiki 파일로 저장")
+    void writesSiblingFile() throws IOException {
+        Files.createDirectories(root.resolve("docs"));
+        Files.write(root.resolve("docs/doc.md"), ("﻿" + MARKDOWN).getBytes(StandardCharsets.UTF_8));
+
+        var result = tool(root.toString(), 1024 * 1024).convertMarkdownFile("docs/doc.md", true, null);
+
+        assertThat(result.outputFile()).isEqualTo(Path.of("docs", "doc.wiki").toString());
+        assertThat(result.confluenceMarkup()).isNull();
+        assertThat(Files.readString(root.resolve("docs/doc.wiki"))).isEqualTo(converter.convert(MARKDOWN));
+        try (var files = Files.list(root.resolve("docs"))) {
+            assertThat(files).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("루트 밖의 경로는 거부")
+    void rejectsPathOutsideRoot() throws IOException {
+        Path inside = Files.createDirectories(root.resolve("inside"));
+        Files.writeString(root.resolve("secret.md"), MARKDOWN);
+        var tool = tool(inside.toString(), 1024 * 1024);
+
+        assertThatThrownBy(() -> tool.convertMarkdownFile("../secret.md", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tool.convertMarkdownFile(root.resolve("secret.md").toString(), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("루트를 설정하지 않으면 사용할 수 없음")
+    void disabledWithoutRoot() {
+        assertThatThrownBy(() -> tool("", 1024 * 1024).convertMarkdownFile("doc.md", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("converter.files.root");
+    }
+
+    @Test
+    @DisplayName("UTF-8이 아닌 파일은 거부")
+    void rejectsMalformedInput() throws IOException {
+        Files.write(root.resolve("latin1.md"), new byte[]{'#', ' ', (byte) 0xE9, '\n'});
+
+        assertThatThrownBy(() -> tool(root.toString(), 1024 * 1024).convertMarkdownFile("latin1.md", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("실행 자리가 없으면 파일을 읽지 않고 거절")
+    void rejectsWhenOverloaded() throws Exception {
+        Files.writeString(root.resolve("doc.md"), MARKDOWN);
+        var defaults = ConverterProperties.defaults();
+        var admission = new AdmissionControl(new ConverterProperties(defaults.cache(), defaults.batch(),
+                defaults.incremental(), defaults.parallel(), defaults.files(), defaults.export(),
+                new ConverterProperties.Admission(1, 1024, 1024, 0, 0), defaults.pages()), registry);
+        var tool = tool(root.toString(), 1024 * 1024, admission);
+
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var holder = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> running = holder.submit(() -> admission.admit("convertMarkdown", 10, () -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "held";
+            }));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> tool.convertMarkdownFile("doc.md", null, null))
+                    .isInstanceOf(IllegalStateException.class);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+        } finally {
+            holder.shutdownNow();
+        }
+        // 파일 크기가 합계 상한을 넘어도 혼자서는 실행한다
+        Files.writeString(root.resolve("big.md"), MARKDOWN.repeat(100));
+        assertThat(tool.convertMarkdownFile("big.md", null, null).confluenceMarkup())
+                .isEqualTo(converter.convert(MARKDOWN.repeat(100)));
+    }
+}
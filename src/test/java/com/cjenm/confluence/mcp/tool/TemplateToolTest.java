@@ -0,0 +1,72 @@
+package com.cjenm.confluence.mcp.tool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+import com.cjenm.confluence.mcp.template.TemplateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateToolTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ConfluenceConverter converter = new ConfluenceConverter();
+    private final TemplateRepository repository = new TemplateRepository();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("과부하 중에도 미리 만든 결과는 반환하고, 새로 변환할 때만 거절")
+    void admitsOnlyConversions() throws Exception {
+        var defaults = ConverterProperties.defaults();
+        var properties = new ConverterProperties(defaults.cache(), defaults.batch(), defaults.incremental(),
+                defaults.parallel(), defaults.files(), defaults.export(),
+                new ConverterProperties.Admission(1, 1_000_000, 1_000_000, 0, 0), defaults.pages());
+        var admission = new AdmissionControl(properties, registry);
+        var tool = new TemplateTool(repository, converter, new ToolMetrics(registry), admission);
+
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Future<String> running = executor.submit(() -> admission.admit("convertMarkdown", 10, () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "held";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            String content = repository.findById("basic-doc").orElseThrow().content();
+            assertThat(tool.convertTemplate("basic-doc", "RDark").confluenceMarkup())
+                    .isEqualTo(converter.convert(content, ConvertOptions.withTheme("RDark")));
+            assertThat(tool.convertTemplate("basic-doc", null).confluenceMarkup())
+                    .isEqualTo(converter.convert(content));
+
+            assertThatThrownBy(() -> tool.convertTemplate("basic-doc", "Monokai"))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            release.countDown();
+        }
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+        assertThat(tool.convertTemplate("basic-doc", "Monokai").confluenceMarkup()).isNotEmpty();
+    }
+}
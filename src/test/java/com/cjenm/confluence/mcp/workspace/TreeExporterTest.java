@@ -0,0 +1,225 @@
+package com.cjenm.confluence.mcp.workspace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+import com.cjenm.confluence.mcp.converter.ConfluenceConverter;
+import com.cjenm.confluence.mcp.converter.ConvertOptions;
+import com.cjenm.confluence.mcp.tool.AdmissionControl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TreeExporterTest {
+
+    private final ConfluenceConverter converter = new ConfluenceConverter();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @TempDir
+    Path root;
+
+    private AdmissionControl admission;
+    private TreeExporter exporter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var defaults = ConverterProperties.defaults();
+        // 큐를 작게 두어 단계 사이의 대기(배압)가 일어나도록 한다
+        var properties = new ConverterProperties(defaults.cache(), defaults.batch(), defaults.incremental(),
+                defaults.parallel(), new ConverterProperties.FileAccess(root.toString(), 1024 * 1024, 1024 * 1024),
+                new ConverterProperties.Export(4, 2, 1000, 1),
+                new ConverterProperties.Admission(2, 1024 * 1024, 1024 * 1024, 0, 0), defaults.pages());
+        admission = new AdmissionControl(properties, new SimpleMeterRegistry());
+        exporter = new TreeExporter(converter, new WorkspaceFiles(properties), admission, properties);
+
+        write("docs/a.md", "# 가\n\n**본문** 1\n");
+        write("docs/sub/b.markdown", "- 항목\n  - 하위\n");
+        write("docs/sub/deep/c.md", "```java\nint x = 1;\n```\n");
+        write("docs/notes.txt", "변환 대상 아님");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private ExportSummary export(ConvertOptions options) throws IOException {
+        return exporter.export("docs", "out", options, false, ExportProgress.none());
+    }
+
+    @Test
+    @DisplayName("원본과 같은 상대 경로에 .wiki 파일로 내보냄")
+    void exportsTree() throws IOException {
+        ExportSummary summary = export(ConvertOptions.defaults());
+
+        assertThat(summary.files()).isEqualTo(3);
+        assertThat(summary.converted()).isEqualTo(3);
+        assertThat(summary.failed()).isZero();
+        assertThat(summary.inputBytes()).isPositive();
+        assertThat(Files.readString(root.resolve("out/a.wiki")))
+                .isEqualTo(converter.convert(Files.readString(root.resolve("docs/a.md"))));
+        assertThat(Files.readString(root.resolve("out/sub/b.wiki")))
+                .isEqualTo(converter.convert(Files.readString(root.resolve("docs/sub/b.markdown"))));
+        assertThat(Files.readString(root.resolve("out/sub/deep/c.wiki")))
+                .isEqualTo(converter.convert(Files.readString(root.resolve("docs/sub/deep/c.md"))));
+        assertThat(root.resolve("out/notes.wiki")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("바뀌지 않은 파일은 건너뛰고 바뀐 파일만 변환")
+    void skipsUnchangedFiles() throws IOException {
+        export(ConvertOptions.defaults());
+
+        assertThat(export(ConvertOptions.defaults()).skipped()).isEqualTo(3);
+
+        write("docs/a.md", "# 고친 제목\n");
+        ExportSummary edited = export(ConvertOptions.defaults());
+        assertThat(edited.converted()).isEqualTo(1);
+        assertThat(edited.skipped()).isEqualTo(2);
+        assertThat(Files.readString(root.resolve("out/a.wiki"))).isEqualTo(converter.convert("# 고친 제목\n"));
+    }
+
+    @Test
+    @DisplayName("수정 시각만 바뀌면 내용 해시로 판단하여 건너뜀")
+    void touchedFileWithSameContentIsSkipped() throws IOException {
+        export(ConvertOptions.defaults());
+        Path file = root.resolve("docs/a.md");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+
+        ExportSummary summary = export(ConvertOptions.defaults());
+
+        assertThat(summary.converted()).isZero();
+        assertThat(summary.skipped()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("옵션이 바뀌거나 결과 파일이 없거나 force이면 다시 변환")
+    void reconverts() throws IOException {
+        export(ConvertOptions.defaults());
+
+        assertThat(export(ConvertOptions.withTheme("Midnight")).converted()).isEqualTo(3);
+
+        Files.delete(root.resolve("out/sub/b.wiki"));
+        assertThat(export(ConvertOptions.withTheme("Midnight")).converted()).isEqualTo(1);
+
+        assertThat(exporter.export("docs", "out", ConvertOptions.withTheme("Midnight"), true,
+                ExportProgress.none()).converted()).isEqualTo(3);
+
+        var withoutTables = ConvertOptions.withTheme("Midnight")
+                .withExtensions(EnumSet.of(ConvertOptions.Extension.STRIKETHROUGH));
+        assertThat(export(withoutTables).converted()).isEqualTo(3);
+        assertThat(export(withoutTables).converted()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패한 파일은 요약에 기록하고 나머지는 계속 변환")
+    void recordsFailures() throws IOException {
+        Files.write(root.resolve("docs/latin1.md"), new byte[]{'#', ' ', (byte) 0xE9, '\n'});
+
+        ExportSummary summary = export(ConvertOptions.defaults());
+
+        assertThat(summary.converted()).isEqualTo(3);
+        assertThat(summary.failed()).isEqualTo(1);
+        assertThat(summary.failures()).singleElement()
+                .satisfies(failure -> assertThat(failure.path()).isEqualTo("latin1.md"));
+        // 실패한 파일은 매니페스트에 남지 않으므로 다음에 다시 시도한다
+        assertThat(export(ConvertOptions.defaults()).failed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("큐보다 많은 파일을 모두 처리하고 진행 상황을 알림")
+    void manyFilesWithProgress() throws IOException {
+        for (int i = 0; i < 200; i++) {
+            write("docs/many/" + i + ".md", "## 문서 " + i + "\n\n본문 `" + i + "`\n");
+        }
+        List<Integer> completed = new ArrayList<>();
+
+        ExportSummary summary = exporter.export("docs", "out", ConvertOptions.defaults(), false,
+                (done, total, path) -> completed.add(done));
+
+        assertThat(summary.converted()).isEqualTo(203);
+        assertThat(completed).hasSize(203).endsWith(203);
+        assertThat(Files.readString(root.resolve("out/many/199.wiki")))
+                .isEqualTo(converter.convert("## 문서 199\n\n본문 `199`\n"));
+    }
+
+    @Test
+    @DisplayName("동시에 실행할 수 있는 수를 넘는 내보내기는 바로 거절")
+    void rejectsConcurrentExport() throws Exception {
+        var progressed = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Future<ExportSummary> running = executor.submit(() -> exporter.export("docs", "out",
+                ConvertOptions.defaults(), false, (done, total, path) -> {
+                    progressed.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(progressed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> exporter.export("docs", "out2", ConvertOptions.defaults(), false,
+                ExportProgress.none()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("(1)");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).converted()).isEqualTo(3);
+        assertThat(exporter.export("docs", "out2", ConvertOptions.defaults(), false, ExportProgress.none())
+                .converted()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("파일마다 진입 제어의 자리를 기다렸다가 변환")
+    void waitsForAdmissionPerFile() throws Exception {
+        var entered = new CountDownLatch(2);
+        var release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> admission.admit("convertMarkdown", 10, () -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "held";
+            }));
+        }
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<ExportSummary> running = executor.submit(() -> export(ConvertOptions.defaults()));
+        Thread.sleep(200);
+        assertThat(running).isNotDone();
+        assertThat(root.resolve("out/a.wiki")).doesNotExist();
+
+        release.countDown();
+        ExportSummary summary = running.get(5, TimeUnit.SECONDS);
+        assertThat(summary.converted()).isEqualTo(3);
+        assertThat(summary.failed()).isZero();
+    }
+}
@@ -0,0 +1,41 @@
+package com.cjenm.confluence.mcp.workspace;
+
+import java.nio.file.Path;
+
+import com.cjenm.confluence.mcp.config.ConverterProperties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkspaceFilesTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("루트 밖에는 디렉터리를 만들지 않음")
+    void rejectsDirectoryOutsideRoot() {
+        var defaults = ConverterProperties.defaults();
+        var files = new WorkspaceFiles(new ConverterProperties(defaults.cache(), defaults.batch(),
+                defaults.incremental(), defaults.parallel(),
+                new ConverterProperties.FileAccess(root.resolve("inside").toString(), 1024, 1024),
+                defaults.export(), defaults.admission(), defaults.pages()));
+        root.resolve("inside").toFile().mkdirs();
+
+        assertThatThrownBy(() -> files.createDirectories("../outside"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(root.resolve("outside")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("출력 파일 이름")
+    void outputName() {
+        assertThat(WorkspaceFiles.outputName("doc.md")).isEqualTo("doc.wiki");
+        assertThat(WorkspaceFiles.outputName("README")).isEqualTo("README.wiki");
+        assertThat(WorkspaceFiles.outputName(".hidden")).isEqualTo(".hidden.wiki");
+    }
+}